@@ -0,0 +1,85 @@
+package com.ejlchina.searcher.benchmark;
+
+import com.ejlchina.searcher.BeanMeta;
+import com.ejlchina.searcher.BeanReflector;
+import com.ejlchina.searcher.FieldMeta;
+import com.ejlchina.searcher.implement.DefaultBeanReflector;
+import com.ejlchina.searcher.implement.DefaultMetaResolver;
+import com.ejlchina.searcher.implement.FastBeanReflector;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 结果映射：{@link BeanReflector#reflect(BeanMeta, List, java.util.function.Function)}，
+ * 对比 {@link DefaultBeanReflector} 与 {@link FastBeanReflector}
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanReflectorBenchmark {
+
+	@Param({ "narrow", "wide" })
+	private String bean;
+
+	@Param({ "default", "fast" })
+	private String reflector;
+
+	private BeanReflector beanReflector;
+
+	private BeanMeta<?> beanMeta;
+
+	private List<String> fetchFields;
+
+	/**
+	 * 模拟一行查询结果：列别名 -> 值（类型与 JDBC 驱动返回的一致）
+	 */
+	private final Map<String, Object> row = new HashMap<>();
+
+	@Setup
+	public void setup() {
+		beanReflector = "fast".equals(reflector) ? new FastBeanReflector() : new DefaultBeanReflector();
+		beanMeta = new DefaultMetaResolver().resolve(Fixtures.beanClass(bean));
+		fetchFields = new ArrayList<>(beanMeta.getFieldSet());
+		for (FieldMeta meta : beanMeta.getFieldMetas()) {
+			row.put(meta.getDbAlias(), sampleValue(meta.getType()));
+		}
+	}
+
+	private static Object sampleValue(Class<?> type) {
+		if (type == Long.class) {
+			return 1024L;
+		}
+		if (type == Integer.class) {
+			return 32;
+		}
+		if (type == Double.class) {
+			return 8500.0;
+		}
+		if (type == BigDecimal.class) {
+			return BigDecimal.valueOf(12345, 2);
+		}
+		if (type == java.util.Date.class) {
+			return new Date(1500000000000L);
+		}
+		return "value";
+	}
+
+	@Benchmark
+	public Object reflect() {
+		return beanReflector.reflect(beanMeta, fetchFields, row::get);
+	}
+
+}
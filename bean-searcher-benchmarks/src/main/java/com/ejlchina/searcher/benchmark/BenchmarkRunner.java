@@ -0,0 +1,31 @@
+package com.ejlchina.searcher.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 在 IDE 中直接运行全部（或匹配的）基准测试，并开启 GC 分析器以输出每次操作的内存分配量
+ * 命令行下请使用 <code>java -jar target/benchmarks.jar -prof gc</code>
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public class BenchmarkRunner {
+
+	/**
+	 * @param args 可选，基准测试名的正则，如：SqlResolver
+	 * @throws RunnerException 运行异常
+	 */
+	public static void main(String[] args) throws RunnerException {
+		String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*";
+		Options options = new OptionsBuilder()
+				.include(include)
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.ejlchina.searcher.benchmark;
+
+import com.ejlchina.searcher.bean.SearchBean;
+
+/**
+ * 窄实体：4 个字段，单表
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+@SearchBean(tables = "employee", autoMapTo = "employee")
+public class Employee {
+
+	private Long id;
+
+	private String name;
+
+	private Integer age;
+
+	private Integer status;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public Integer getAge() {
+		return age;
+	}
+
+	public void setAge(Integer age) {
+		this.age = age;
+	}
+
+	public Integer getStatus() {
+		return status;
+	}
+
+	public void setStatus(Integer status) {
+		this.status = status;
+	}
+
+}
@@ -0,0 +1,180 @@
+package com.ejlchina.searcher.benchmark;
+
+import com.ejlchina.searcher.bean.DbField;
+import com.ejlchina.searcher.bean.SearchBean;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * 宽实体：16 个字段，两表关联，其中一个字段为带嵌入参数的子查询
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+@SearchBean(tables = "employee e, department d", joinCond = "e.dept_id = d.id", autoMapTo = "e")
+public class EmployeeDetail {
+
+	private Long id;
+
+	private String name;
+
+	private Integer age;
+
+	private Integer status;
+
+	private Integer gender;
+
+	private String email;
+
+	private String phone;
+
+	private Double salary;
+
+	private BigDecimal bonus;
+
+	private Long deptId;
+
+	private String title;
+
+	private Integer level;
+
+	private String city;
+
+	private Date joinDate;
+
+	@DbField("d.name")
+	private String deptName;
+
+	@DbField("(select count(*) from employee x where x.dept_id = d.id and x.age > :minAge)")
+	private Long peerCount;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public Integer getAge() {
+		return age;
+	}
+
+	public void setAge(Integer age) {
+		this.age = age;
+	}
+
+	public Integer getStatus() {
+		return status;
+	}
+
+	public void setStatus(Integer status) {
+		this.status = status;
+	}
+
+	public Integer getGender() {
+		return gender;
+	}
+
+	public void setGender(Integer gender) {
+		this.gender = gender;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public String getPhone() {
+		return phone;
+	}
+
+	public void setPhone(String phone) {
+		this.phone = phone;
+	}
+
+	public Double getSalary() {
+		return salary;
+	}
+
+	public void setSalary(Double salary) {
+		this.salary = salary;
+	}
+
+	public BigDecimal getBonus() {
+		return bonus;
+	}
+
+	public void setBonus(BigDecimal bonus) {
+		this.bonus = bonus;
+	}
+
+	public Long getDeptId() {
+		return deptId;
+	}
+
+	public void setDeptId(Long deptId) {
+		this.deptId = deptId;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public Integer getLevel() {
+		return level;
+	}
+
+	public void setLevel(Integer level) {
+		this.level = level;
+	}
+
+	public String getCity() {
+		return city;
+	}
+
+	public void setCity(String city) {
+		this.city = city;
+	}
+
+	public Date getJoinDate() {
+		return joinDate;
+	}
+
+	public void setJoinDate(Date joinDate) {
+		this.joinDate = joinDate;
+	}
+
+	public String getDeptName() {
+		return deptName;
+	}
+
+	public void setDeptName(String deptName) {
+		this.deptName = deptName;
+	}
+
+	public Long getPeerCount() {
+		return peerCount;
+	}
+
+	public void setPeerCount(Long peerCount) {
+		this.peerCount = peerCount;
+	}
+
+}
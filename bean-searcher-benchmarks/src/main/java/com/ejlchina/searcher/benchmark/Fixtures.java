@@ -0,0 +1,165 @@
+package com.ejlchina.searcher.benchmark;
+
+import com.ejlchina.searcher.param.Operator;
+import com.ejlchina.searcher.util.MapUtils;
+import org.h2.jdbcx.JdbcConnectionPool;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * 基准测试的公共夹具：实体类、检索参数 与 H2 内存数据库
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public final class Fixtures {
+
+	/**
+	 * 员工表的行数
+	 */
+	public static final int EMPLOYEE_ROWS = 10_000;
+
+	/**
+	 * 部门表的行数
+	 */
+	public static final int DEPARTMENT_ROWS = 20;
+
+	private Fixtures() { }
+
+	/**
+	 * @param bean 实体名：narrow（4 个字段）或 wide（16 个字段）
+	 * @return 实体类
+	 */
+	public static Class<?> beanClass(String bean) {
+		switch (bean) {
+			case "narrow":
+				return Employee.class;
+			case "wide":
+				return EmployeeDetail.class;
+		}
+		throw new IllegalArgumentException("Unknown bean: " + bean);
+	}
+
+	/**
+	 * 检索参数，各场景使用的运算符不同，但都带有排序与分页
+	 * @param scenario 场景名：none | eq | range | like | multi
+	 * @return 检索参数
+	 */
+	public static Map<String, Object> params(String scenario) {
+		switch (scenario) {
+			case "none":
+				return MapUtils.builder()
+						.put("minAge", 30)
+						.orderBy("id", "asc")
+						.page(0, 15)
+						.build();
+			case "eq":
+				return MapUtils.builder()
+						.put("minAge", 30)
+						.field("status", 1)
+						.field("name", "name-1").op(Operator.Equal)
+						.orderBy("id", "asc")
+						.page(0, 15)
+						.build();
+			case "range":
+				return MapUtils.builder()
+						.put("minAge", 30)
+						.field("age", 20, 40).op(Operator.Between)
+						.field("status", 0).op(Operator.GreaterThan)
+						.orderBy("age", "desc")
+						.page(2, 15)
+						.build();
+			case "like":
+				return MapUtils.builder()
+						.put("minAge", 30)
+						.field("name", "NAME-1").op(Operator.StartWith).ic()
+						.field("status", 2).op(Operator.NotEqual)
+						.orderBy("name", "asc")
+						.page(0, 15)
+						.build();
+			case "multi":
+				return MapUtils.builder()
+						.put("minAge", 30)
+						.field("age", 21, 23, 25, 27, 29, 31, 33, 35).op(Operator.MultiValue)
+						.field("status", 1, 2).op(Operator.MultiValue)
+						.orderBy("id", "desc")
+						.page(0, 15)
+						.build();
+		}
+		throw new IllegalArgumentException("Unknown scenario: " + scenario);
+	}
+
+	/**
+	 * 创建并填充 H2 内存数据库（MySQL 兼容模式，以使用默认的 MySqlDialect）
+	 * @param name 数据库名
+	 * @return 连接池
+	 */
+	public static JdbcConnectionPool createDataSource(String name) {
+		JdbcConnectionPool pool = JdbcConnectionPool.create(
+				"jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+		pool.setMaxConnections(64);
+		try {
+			initDatabase(pool);
+		} catch (SQLException e) {
+			pool.dispose();
+			throw new IllegalStateException("Can not init the benchmark database", e);
+		}
+		return pool;
+	}
+
+	private static void initDatabase(DataSource dataSource) throws SQLException {
+		try (Connection conn = dataSource.getConnection()) {
+			try (Statement stmt = conn.createStatement()) {
+				stmt.execute("drop table if exists employee");
+				stmt.execute("drop table if exists department");
+				stmt.execute("create table department (id bigint primary key, name varchar(64))");
+				stmt.execute("create table employee (id bigint primary key, name varchar(64), age int, status int, "
+						+ "gender int, email varchar(128), phone varchar(32), salary double, bonus decimal(12, 2), "
+						+ "dept_id bigint, title varchar(64), level int, city varchar(64), join_date date)");
+				stmt.execute("create index idx_employee_dept on employee (dept_id)");
+			}
+			conn.setAutoCommit(false);
+			try (PreparedStatement ps = conn.prepareStatement("insert into department values (?, ?)")) {
+				for (int i = 1; i <= DEPARTMENT_ROWS; i++) {
+					ps.setLong(1, i);
+					ps.setString(2, "dept-" + i);
+					ps.addBatch();
+				}
+				ps.executeBatch();
+			}
+			try (PreparedStatement ps = conn.prepareStatement(
+					"insert into employee values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+				for (int i = 1; i <= EMPLOYEE_ROWS; i++) {
+					ps.setLong(1, i);
+					ps.setString(2, "name-" + i);
+					ps.setInt(3, 20 + i % 40);
+					ps.setInt(4, i % 3);
+					ps.setInt(5, i % 2);
+					ps.setString(6, "user" + i + "@example.com");
+					ps.setString(7, "1380000" + (1000 + i % 9000));
+					ps.setDouble(8, 5000 + (i % 100) * 100);
+					ps.setBigDecimal(9, BigDecimal.valueOf(i % 1000, 1));
+					ps.setLong(10, 1 + i % DEPARTMENT_ROWS);
+					ps.setString(11, "title-" + i % 10);
+					ps.setInt(12, i % 8);
+					ps.setString(13, "city-" + i % 30);
+					ps.setDate(14, new Date(1500000000000L + i * 86400000L));
+					ps.addBatch();
+					if (i % 1000 == 0) {
+						ps.executeBatch();
+					}
+				}
+				ps.executeBatch();
+			}
+			conn.commit();
+		}
+	}
+
+}
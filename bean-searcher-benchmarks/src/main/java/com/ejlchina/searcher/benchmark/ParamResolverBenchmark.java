@@ -0,0 +1,53 @@
+package com.ejlchina.searcher.benchmark;
+
+import com.ejlchina.searcher.BeanMeta;
+import com.ejlchina.searcher.ParamResolver;
+import com.ejlchina.searcher.SearchParam;
+import com.ejlchina.searcher.implement.DefaultMetaResolver;
+import com.ejlchina.searcher.implement.DefaultParamResolver;
+import com.ejlchina.searcher.param.FetchType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 参数解析：{@link DefaultParamResolver#resolve(BeanMeta, FetchType, Map)}
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParamResolverBenchmark {
+
+	@Param({ "narrow", "wide" })
+	private String bean;
+
+	@Param({ "none", "eq", "range", "like", "multi" })
+	private String scenario;
+
+	private final ParamResolver paramResolver = new DefaultParamResolver();
+
+	private final FetchType fetchType = new FetchType(FetchType.ALL);
+
+	private BeanMeta<?> beanMeta;
+
+	private Map<String, Object> paraMap;
+
+	@Setup
+	public void setup() {
+		beanMeta = new DefaultMetaResolver().resolve(Fixtures.beanClass(bean));
+		paraMap = Fixtures.params(scenario);
+	}
+
+	@Benchmark
+	public SearchParam resolve() {
+		return paramResolver.resolve(beanMeta, fetchType, paraMap);
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.ejlchina.searcher.benchmark;
+
+import com.ejlchina.searcher.BeanSearcher;
+import com.ejlchina.searcher.MapSearcher;
+import com.ejlchina.searcher.SearchResult;
+import com.ejlchina.searcher.SearcherBuilder;
+import com.ejlchina.searcher.implement.DefaultSqlExecutor;
+import com.ejlchina.searcher.implement.FastBeanReflector;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 端到端检索：参数解析、SQL 解析、在 H2 内存数据库上执行 与 结果映射 的总耗时
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+	@Param({ "narrow", "wide" })
+	private String bean;
+
+	@Param({ "none", "eq", "range", "like", "multi" })
+	private String scenario;
+
+	private JdbcConnectionPool dataSource;
+
+	private BeanSearcher beanSearcher;
+
+	private MapSearcher mapSearcher;
+
+	private Class<?> beanClass;
+
+	private Map<String, Object> paraMap;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		dataSource = Fixtures.createDataSource("bench");
+		DefaultSqlExecutor sqlExecutor = new DefaultSqlExecutor(dataSource);
+		beanSearcher = SearcherBuilder.beanSearcher()
+				.sqlExecutor(sqlExecutor)
+				.beanReflector(new FastBeanReflector())
+				.build();
+		mapSearcher = SearcherBuilder.mapSearcher()
+				.sqlExecutor(sqlExecutor)
+				.build();
+		beanClass = Fixtures.beanClass(bean);
+		paraMap = Fixtures.params(scenario);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		dataSource.dispose();
+	}
+
+	/**
+	 * 列表 + 总条数
+	 */
+	@Benchmark
+	public SearchResult<?> beanSearch() {
+		return beanSearcher.search(beanClass, paraMap);
+	}
+
+	/**
+	 * 只查列表
+	 */
+	@Benchmark
+	public List<?> beanSearchList() {
+		return beanSearcher.searchList(beanClass, paraMap);
+	}
+
+	/**
+	 * 列表 + 总条数（Map 结果）
+	 */
+	@Benchmark
+	public SearchResult<Map<String, Object>> mapSearch() {
+		return mapSearcher.search(beanClass, paraMap);
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.ejlchina.searcher.benchmark;
+
+import com.ejlchina.searcher.SnippetResolver;
+import com.ejlchina.searcher.SqlSnippet;
+import com.ejlchina.searcher.implement.DefaultSnippetResolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 片段解析：{@link DefaultSnippetResolver#resolve(String)}，片段中嵌入参数的个数不同
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnippetResolverBenchmark {
+
+	@Param({ "plain", "oneParam", "manyParams" })
+	private String fragment;
+
+	private final SnippetResolver snippetResolver = new DefaultSnippetResolver();
+
+	private String snippet;
+
+	@Setup
+	public void setup() {
+		switch (fragment) {
+			case "plain":
+				snippet = "employee e, department d";
+				break;
+			case "oneParam":
+				snippet = "(select count(*) from employee x where x.dept_id = d.id and x.age > :minAge)";
+				break;
+			case "manyParams":
+				snippet = "(select sum(x.salary) from employee x where x.dept_id = d.id and x.age between :minAge and :maxAge "
+						+ "and x.city = :city and x.title like ':title:%' and x.level in (:level1, :level2, :level3))";
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown fragment: " + fragment);
+		}
+	}
+
+	@Benchmark
+	public SqlSnippet resolve() {
+		return snippetResolver.resolve(snippet);
+	}
+
+}
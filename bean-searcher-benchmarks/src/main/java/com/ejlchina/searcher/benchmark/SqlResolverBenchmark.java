@@ -0,0 +1,60 @@
+package com.ejlchina.searcher.benchmark;
+
+import com.ejlchina.searcher.BeanMeta;
+import com.ejlchina.searcher.SearchParam;
+import com.ejlchina.searcher.SearchSql;
+import com.ejlchina.searcher.implement.DefaultMetaResolver;
+import com.ejlchina.searcher.implement.DefaultParamResolver;
+import com.ejlchina.searcher.implement.DefaultSqlResolver;
+import com.ejlchina.searcher.param.FetchType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 解析：{@link DefaultSqlResolver#resolve(BeanMeta, SearchParam)}，
+ * 分别在启用与禁用 SQL 模板缓存时测量
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlResolverBenchmark {
+
+	@Param({ "narrow", "wide" })
+	private String bean;
+
+	@Param({ "none", "eq", "range", "like", "multi" })
+	private String scenario;
+
+	/**
+	 * SQL 模板缓存条数，0 表示不缓存
+	 */
+	@Param({ "512", "0" })
+	private int templateCacheSize;
+
+	private final DefaultSqlResolver sqlResolver = new DefaultSqlResolver();
+
+	private BeanMeta<?> beanMeta;
+
+	private SearchParam searchParam;
+
+	@Setup
+	public void setup() {
+		sqlResolver.setTemplateCacheSize(templateCacheSize);
+		beanMeta = new DefaultMetaResolver().resolve(Fixtures.beanClass(bean));
+		searchParam = new DefaultParamResolver().resolve(beanMeta,
+				new FetchType(FetchType.ALL), Fixtures.params(scenario));
+	}
+
+	@Benchmark
+	public SearchSql<?> resolve() {
+		return sqlResolver.resolve(beanMeta, searchParam);
+	}
+
+}
@@ -9,9 +9,12 @@ import com.ejlchina.searcher.dialect.Dialect;
 import com.ejlchina.searcher.dialect.MySqlDialect;
 import com.ejlchina.searcher.dialect.OracleDialect;
 import com.ejlchina.searcher.implement.*;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
@@ -24,15 +27,25 @@ import javax.sql.DataSource;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 
 
 @Configuration
 @ConditionalOnBean(DataSource.class)
-@AutoConfigureAfter({ DataSourceAutoConfiguration.class })
+@AutoConfigureAfter(value = { DataSourceAutoConfiguration.class },
+		name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
 @EnableConfigurationProperties(BeanSearcherProperties.class)
 public class BeanSearcherAutoConfiguration {
 
+	/**
+	 * 异步检索线程池的 Bean 名称，用户可声明同名的 Executor Bean 来替换它
+	 */
+	public static final String ASYNC_EXECUTOR_BEAN_NAME = "beanSearcherAsyncExecutor";
+
 	@Bean
 	@ConditionalOnMissingBean(PageExtractor.class)
 	public PageExtractor pageExtractor(BeanSearcherProperties config) {
@@ -48,8 +61,14 @@ public class BeanSearcherAutoConfiguration {
 			PageOffsetExtractor p = new PageOffsetExtractor();
 			p.setOffsetName(conf.getOffset());
 			extractor = p;
+		} else
+		if (Params.PaginationProps.TYPE_SEEK.equals(type)) {
+			PageSeekExtractor p = new PageSeekExtractor();
+			p.setSeekField(conf.getSeekField());
+			p.setSeekValuesName(conf.getAfter());
+			extractor = p;
 		} else {
-			throw new SearchException("配置项 [bean-searcher.params.pagination.type] 只能为 page 或 offset！");
+			throw new SearchException("配置项 [bean-searcher.params.pagination.type] 只能为 page、offset 或 seek！");
 		}
 		extractor.setMaxAllowedSize(conf.getMaxAllowedSize());
 		extractor.setSizeName(conf.getSize());
@@ -107,8 +126,18 @@ public class BeanSearcherAutoConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean(SqlExecutor.class)
-	public SqlExecutor sqlExecutor(DataSource dataSource, ObjectProvider<List<NamedDataSource>> namedDataSources) {
+	public SqlExecutor sqlExecutor(DataSource dataSource, ObjectProvider<List<NamedDataSource>> namedDataSources,
+								   ObjectProvider<SearchMetrics> metrics, BeanSearcherProperties config) {
 		DefaultSqlExecutor executor = new DefaultSqlExecutor(dataSource);
+		Sql sql = config.getSql();
+		Integer streamFetchSize = sql.getStreamFetchSize();
+		if (streamFetchSize != null) {
+			executor.setStreamFetchSize(streamFetchSize);
+		} else if (Sql.DIALECT_MYSQL.equalsIgnoreCase(sql.getDialect())) {
+			executor.setStreamFetchSize(Integer.MIN_VALUE);
+		}
+		executor.setQueryTimeout(sql.getQueryTimeout());
+		ifAvailable(metrics, executor::setMetrics);
 		ifAvailable(namedDataSources, ndsList -> {
 			for (NamedDataSource nds: ndsList) {
 				executor.setDataSource(nds.getName(), nds.getDataSource());
@@ -167,9 +196,9 @@ public class BeanSearcherAutoConfiguration {
 	public BeanReflector beanReflector(ObjectProvider<List<BFieldConvertor>> convertorsProvider) {
 		List<BFieldConvertor> convertors = convertorsProvider.getIfAvailable();
 		if (convertors != null) {
-			return new DefaultBeanReflector(convertors);
+			return new FastBeanReflector(convertors);
 		}
-		return new DefaultBeanReflector();
+		return new FastBeanReflector();
 	}
 
 	@Bean
@@ -190,6 +219,57 @@ public class BeanSearcherAutoConfiguration {
 		return metaResolver;
 	}
 
+	@Bean
+	@ConditionalOnMissingBean(ClusterResultCache.class)
+	public ClusterResultCache clusterResultCache(BeanSearcherProperties config) {
+		ClusterResultCache cache = new ClusterResultCache();
+		cache.setMaxEntries(config.getSql().getClusterCacheMaxEntries());
+		return cache;
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(ResultCache.class)
+	public ResultCache resultCache(BeanSearcherProperties config) {
+		DefaultResultCache cache = new DefaultResultCache();
+		cache.setMaxEntries(config.getSql().getResultCacheMaxEntries());
+		return cache;
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "bean-searcher.sql.slow-search-threshold")
+	@ConditionalOnMissingBean(SlowSearchLog.class)
+	public SlowSearchLog slowSearchLog(BeanSearcherProperties config) {
+		SlowSearchLog slowSearchLog = new SlowSearchLog();
+		slowSearchLog.setThreshold(config.getSql().getSlowSearchThreshold());
+		slowSearchLog.setTopN(config.getSql().getSlowSearchTopN());
+		return slowSearchLog;
+	}
+
+	/**
+	 * BeanSearcher 与 MapSearcher 共用的异步检索线程池，容器关闭时一并关闭
+	 */
+	@Bean(name = ASYNC_EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+	@ConditionalOnMissingBean(name = ASYNC_EXECUTOR_BEAN_NAME)
+	public ExecutorService beanSearcherAsyncExecutor(BeanSearcherProperties config) {
+		BeanSearcherProperties.Async conf = config.getAsync();
+		String type = conf.getExecutor();
+		if (BeanSearcherProperties.Async.EXECUTOR_FIXED.equals(type)) {
+			return AbstractSearcher.DefaultAsyncExecutor.create(conf.getMaxThreads(), conf.getQueueSize());
+		}
+		if (BeanSearcherProperties.Async.EXECUTOR_VIRTUAL.equals(type)) {
+			try {
+				return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			} catch (ReflectiveOperationException e) {
+				throw new SearchException("配置项【bean-searcher.async.executor】为 virtual 时需要 JDK 21 及以上版本", e);
+			}
+		}
+		if (BeanSearcherProperties.Async.EXECUTOR_COMMON.equals(type)) {
+			// 公共线程池的 shutdown() 不会生效
+			return ForkJoinPool.commonPool();
+		}
+		throw new SearchException("配置项【bean-searcher.async.executor】只能为 common、fixed 或 virtual！");
+	}
+
 	@Bean
 	@ConditionalOnMissingBean(BeanSearcher.class)
 	@ConditionalOnProperty(name = "bean-searcher.use-bean-searcher", havingValue = "true", matchIfMissing = true)
@@ -198,14 +278,26 @@ public class BeanSearcherAutoConfiguration {
 									 SqlResolver sqlResolver,
 									 SqlExecutor sqlExecutor,
 									 BeanReflector beanReflector,
-									 ObjectProvider<List<SqlInterceptor>> interceptors) {
+									 ClusterResultCache clusterResultCache,
+									 ResultCache resultCache,
+									 BeanSearcherProperties config,
+									 @Qualifier(ASYNC_EXECUTOR_BEAN_NAME) Executor asyncExecutor,
+									 ObjectProvider<List<SqlInterceptor>> interceptors,
+									 ObjectProvider<SearchMetrics> metrics,
+									 ObjectProvider<SlowSearchLog> slowSearchLog) {
 		DefaultBeanSearcher searcher = new DefaultBeanSearcher();
 		searcher.setMetaResolver(metaResolver);
 		searcher.setParamResolver(paramResolver);
 		searcher.setSqlResolver(sqlResolver);
 		searcher.setSqlExecutor(sqlExecutor);
 		searcher.setBeanReflector(beanReflector);
+		searcher.setClusterResultCache(clusterResultCache);
+		searcher.setResultCache(resultCache);
+		searcher.setAsyncExecutor(asyncExecutor);
+		searcher.setCountElision(config.getSql().isCountElision());
 		ifAvailable(interceptors, searcher::setInterceptors);
+		ifAvailable(metrics, searcher::setMetrics);
+		ifAvailable(slowSearchLog, searcher::setSlowSearchLog);
 		return searcher;
 	}
 
@@ -233,18 +325,45 @@ public class BeanSearcherAutoConfiguration {
 								   ParamResolver paramResolver,
 								   SqlResolver sqlResolver,
 								   SqlExecutor sqlExecutor,
+								   ClusterResultCache clusterResultCache,
+								   ResultCache resultCache,
+								   BeanSearcherProperties config,
+								   @Qualifier(ASYNC_EXECUTOR_BEAN_NAME) Executor asyncExecutor,
 								   ObjectProvider<List<SqlInterceptor>> interceptors,
-								   ObjectProvider<List<MFieldConvertor>> convertors) {
+								   ObjectProvider<List<MFieldConvertor>> convertors,
+								   ObjectProvider<SearchMetrics> metrics,
+								   ObjectProvider<SlowSearchLog> slowSearchLog) {
 		DefaultMapSearcher searcher = new DefaultMapSearcher();
 		searcher.setMetaResolver(metaResolver);
 		searcher.setParamResolver(paramResolver);
 		searcher.setSqlResolver(sqlResolver);
 		searcher.setSqlExecutor(sqlExecutor);
+		searcher.setClusterResultCache(clusterResultCache);
+		searcher.setResultCache(resultCache);
+		searcher.setAsyncExecutor(asyncExecutor);
+		searcher.setCountElision(config.getSql().isCountElision());
 		ifAvailable(interceptors, searcher::setInterceptors);
 		ifAvailable(convertors, searcher::setConvertors);
+		searcher.setCompactMap(config.isUseCompactMap());
+		ifAvailable(metrics, searcher::setMetrics);
+		ifAvailable(slowSearchLog, searcher::setSlowSearchLog);
 		return searcher;
 	}
 
+	@Configuration
+	@ConditionalOnClass(MeterRegistry.class)
+	@ConditionalOnProperty(name = "bean-searcher.use-micrometer", havingValue = "true", matchIfMissing = true)
+	static class MicrometerConfiguration {
+
+		@Bean
+		@ConditionalOnBean(MeterRegistry.class)
+		@ConditionalOnMissingBean(SearchMetrics.class)
+		public SearchMetrics searchMetrics(MeterRegistry registry) {
+			return new MicrometerSearchMetrics(registry);
+		}
+
+	}
+
 	private <T> void ifAvailable(ObjectProvider<T> provider, Consumer<T> consumer) {
 		// 为了兼容 1.x 的 SpringBoot，最低兼容到 v1.4
 		// 不直接使用 ObjectProvider.ifAvailable 方法
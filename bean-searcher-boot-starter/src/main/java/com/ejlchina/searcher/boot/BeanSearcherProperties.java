@@ -25,12 +25,24 @@ public class BeanSearcherProperties {
 	 */
 	private final FieldConvertor fieldConvertor = new FieldConvertor();
 
+	/**
+	 * 异步检索配置
+	 * @since v3.3.0
+	 */
+	private final Async async = new Async();
+
 	// 使用 MapSearcher 检索器
 	private boolean useMapSearcher = true;
 
 	// 使用 BeanSearcher 检索器
 	private boolean useBeanSearcher = true;
 
+	// 存在 Micrometer 的 MeterRegistry 时，是否收集检索指标（@since v3.3.0）
+	private boolean useMicrometer = true;
+
+	// MapSearcher 是否以 CompactMap 呈现数据（共享键结构，每行只持有一个值数组）（@since v3.3.0）
+	private boolean useCompactMap = false;
+
 
 	public Params getParams() {
 		return params;
@@ -44,6 +56,10 @@ public class BeanSearcherProperties {
 		return fieldConvertor;
 	}
 
+	public Async getAsync() {
+		return async;
+	}
+
 	public static class Params {
 
 		/**
@@ -153,13 +169,15 @@ public class BeanSearcherProperties {
 
 			public static final String TYPE_OFFSET = "offset";
 
+			public static final String TYPE_SEEK = "seek";
+
 			/**
 			 * 默认分页大小
 			 */
 			private int defaultSize = 15;
 
 			/**
-			 * 分页类型: page 和 offset
+			 * 分页类型: page、offset 和 seek（键集分页）
 			 * */
 			private String type = TYPE_PAGE;
 
@@ -180,6 +198,20 @@ public class BeanSearcherProperties {
 			 */
 			private String offset = "offset";
 
+			/**
+			 * 键集分页的唯一键字段（Bean 属性名）
+			 * 在 type = seek 时有效
+			 * @since v3.3.0
+			 */
+			private String seekField = "id";
+
+			/**
+			 * 键集分页的游标参数名（上一页最后一条数据的键值，多个值以英文逗号分隔）
+			 * 在 type = seek 时有效
+			 * @since v3.3.0
+			 */
+			private String after = "after";
+
 			/**
 			 * 起始页码或起始偏移量
 			 */
@@ -247,6 +279,22 @@ public class BeanSearcherProperties {
 				this.maxAllowedSize = maxAllowedSize;
 			}
 
+			public String getSeekField() {
+				return seekField;
+			}
+
+			public void setSeekField(String seekField) {
+				this.seekField = seekField;
+			}
+
+			public String getAfter() {
+				return after;
+			}
+
+			public void setAfter(String after) {
+				this.after = after;
+			}
+
 		}
 
 	}
@@ -261,6 +309,48 @@ public class BeanSearcherProperties {
 		 */
 		private String dialect = DIALECT_MYSQL;
 
+		/**
+		 * 流式检索时列表查询语句的 fetchSize，为空时根据方言取默认值（MySQL 为 Integer.MIN_VALUE，其它为 0，即驱动默认值）
+		 * @since v3.3.0
+		 */
+		private Integer streamFetchSize = null;
+
+		/**
+		 * 默认的 SQL 执行超时时间（秒），为 0 表示不限制，可被 @SearchBean(queryTimeout) 覆盖
+		 * @since v3.3.0
+		 */
+		private int queryTimeout = 0;
+
+		/**
+		 * 慢检索阈值（毫秒），为空时（默认）不记录慢检索
+		 * @since v3.3.0
+		 */
+		private Long slowSearchThreshold = null;
+
+		/**
+		 * 慢检索日志保留的最慢 SQL 形状数
+		 * @since v3.3.0
+		 */
+		private int slowSearchTopN = 20;
+
+		/**
+		 * 是否开启总数省略：同时检索列表与总数时，若本页未取满，则直接推算出总数，省去总数查询
+		 * @since v3.3.0
+		 */
+		private boolean countElision = false;
+
+		/**
+		 * 聚族查询结果（总条数与统计值）缓存的最大条数，只对 @SearchBean(clusterCacheTtl > 0) 的实体类生效
+		 * @since v3.3.0
+		 */
+		private int clusterCacheMaxEntries = 1024;
+
+		/**
+		 * 检索结果缓存的最大条数，只对 @SearchBean(resultCacheTtl > 0) 的实体类生效
+		 * @since v3.3.0
+		 */
+		private int resultCacheMaxEntries = 1024;
+
 		private final DefaultMapping defaultMapping = new DefaultMapping();
 
 		public String getDialect() {
@@ -271,6 +361,62 @@ public class BeanSearcherProperties {
 			this.dialect = dialect;
 		}
 
+		public Integer getStreamFetchSize() {
+			return streamFetchSize;
+		}
+
+		public void setStreamFetchSize(Integer streamFetchSize) {
+			this.streamFetchSize = streamFetchSize;
+		}
+
+		public int getQueryTimeout() {
+			return queryTimeout;
+		}
+
+		public void setQueryTimeout(int queryTimeout) {
+			this.queryTimeout = queryTimeout;
+		}
+
+		public Long getSlowSearchThreshold() {
+			return slowSearchThreshold;
+		}
+
+		public void setSlowSearchThreshold(Long slowSearchThreshold) {
+			this.slowSearchThreshold = slowSearchThreshold;
+		}
+
+		public int getSlowSearchTopN() {
+			return slowSearchTopN;
+		}
+
+		public void setSlowSearchTopN(int slowSearchTopN) {
+			this.slowSearchTopN = slowSearchTopN;
+		}
+
+		public boolean isCountElision() {
+			return countElision;
+		}
+
+		public void setCountElision(boolean countElision) {
+			this.countElision = countElision;
+		}
+
+		public int getClusterCacheMaxEntries() {
+			return clusterCacheMaxEntries;
+		}
+
+		public void setClusterCacheMaxEntries(int clusterCacheMaxEntries) {
+			this.clusterCacheMaxEntries = clusterCacheMaxEntries;
+		}
+
+		public int getResultCacheMaxEntries() {
+			return resultCacheMaxEntries;
+		}
+
+		public void setResultCacheMaxEntries(int resultCacheMaxEntries) {
+			this.resultCacheMaxEntries = resultCacheMaxEntries;
+		}
+
 		public DefaultMapping getDefaultMapping() {
 			return defaultMapping;
 		}
@@ -300,6 +446,55 @@ public class BeanSearcherProperties {
 
 	}
 
+	public static class Async {
+
+		public static final String EXECUTOR_COMMON = "common";
+		public static final String EXECUTOR_FIXED = "fixed";
+		public static final String EXECUTOR_VIRTUAL = "virtual";
+
+		/**
+		 * 异步检索的线程池类型，可选：fixed（默认，固定大小、队列有界的专用线程池）、virtual（每个任务一个虚拟线程，需 JDK 21+）、
+		 * common（ForkJoinPool.commonPool()，阻塞的 JDBC 调用可能耗尽公共线程池，不建议使用）
+		 * 若容器中存在名为 beanSearcherAsyncExecutor 的 Executor，则优先使用它
+		 */
+		private String executor = EXECUTOR_FIXED;
+
+		/**
+		 * 线程池大小，在 executor = fixed 时有效
+		 */
+		private int maxThreads = 8;
+
+		/**
+		 * 线程池的队列大小，在 executor = fixed 时有效，队列已满时在提交检索的线程中直接执行
+		 */
+		private int queueSize = 1024;
+
+		public String getExecutor() {
+			return executor;
+		}
+
+		public void setExecutor(String executor) {
+			this.executor = executor;
+		}
+
+		public int getMaxThreads() {
+			return maxThreads;
+		}
+
+		public void setMaxThreads(int maxThreads) {
+			this.maxThreads = maxThreads;
+		}
+
+		public int getQueueSize() {
+			return queueSize;
+		}
+
+		public void setQueueSize(int queueSize) {
+			this.queueSize = queueSize;
+		}
+
+	}
+
 	public static class FieldConvertor {
 
 		/**
@@ -438,4 +633,20 @@ public class BeanSearcherProperties {
 		this.useBeanSearcher = useBeanSearcher;
 	}
 
+	public boolean isUseMicrometer() {
+		return useMicrometer;
+	}
+
+	public void setUseMicrometer(boolean useMicrometer) {
+		this.useMicrometer = useMicrometer;
+	}
+
+	public boolean isUseCompactMap() {
+		return useCompactMap;
+	}
+
+	public void setUseCompactMap(boolean useCompactMap) {
+		this.useCompactMap = useCompactMap;
+	}
+
 }
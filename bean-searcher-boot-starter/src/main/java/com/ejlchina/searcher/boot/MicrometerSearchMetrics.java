@@ -0,0 +1,87 @@
+package com.ejlchina.searcher.boot;
+
+import com.ejlchina.searcher.SearchMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于 Micrometer 的检索指标收集器
+ * 各阶段耗时记录在计时器 bean.searcher.stage 上，映射行数记录在分布摘要 bean.searcher.rows 上，
+ * 标签 bean 为 SearchBean 的类名，标签 stage 为检索阶段（小写），两者的取值个数都是有限的
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public class MicrometerSearchMetrics implements SearchMetrics {
+
+	public static final String STAGE_TIMER = "bean.searcher.stage";
+	public static final String ROWS_SUMMARY = "bean.searcher.rows";
+
+	private static final Stage[] STAGES = Stage.values();
+
+	private final MeterRegistry registry;
+
+	/**
+	 * 每个 SearchBean 的指标，避免每次记录时都到注册表中查找
+	 */
+	private final Map<Class<?>, Meters> metersMap = new ConcurrentHashMap<>();
+
+	public MicrometerSearchMetrics(MeterRegistry registry) {
+		this.registry = Objects.requireNonNull(registry);
+	}
+
+	@Override
+	public void recordTime(Class<?> beanClass, Stage stage, long nanos) {
+		getMeters(beanClass).timers[stage.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void recordRows(Class<?> beanClass, int rows) {
+		getMeters(beanClass).rows.record(rows);
+	}
+
+	private Meters getMeters(Class<?> beanClass) {
+		Meters meters = metersMap.get(beanClass);
+		if (meters == null) {
+			meters = metersMap.computeIfAbsent(beanClass, this::createMeters);
+		}
+		return meters;
+	}
+
+	private Meters createMeters(Class<?> beanClass) {
+		String bean = beanClass.getName();
+		Timer[] timers = new Timer[STAGES.length];
+		for (Stage stage : STAGES) {
+			timers[stage.ordinal()] = Timer.builder(STAGE_TIMER)
+					.description("Time spent in each stage of bean searcher")
+					.tag("bean", bean)
+					.tag("stage", stage.name().toLowerCase())
+					.register(registry);
+		}
+		DistributionSummary rows = DistributionSummary.builder(ROWS_SUMMARY)
+				.description("Rows mapped per search")
+				.tag("bean", bean)
+				.register(registry);
+		return new Meters(timers, rows);
+	}
+
+	static class Meters {
+
+		final Timer[] timers;
+
+		final DistributionSummary rows;
+
+		Meters(Timer[] timers, DistributionSummary rows) {
+			this.timers = timers;
+			this.rows = rows;
+		}
+
+	}
+
+}
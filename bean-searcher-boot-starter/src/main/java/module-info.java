@@ -6,6 +6,7 @@ module bean.searcher.boot {
     requires spring.context;
     requires spring.boot;
     requires spring.boot.autoconfigure;
+    requires static micrometer.core;
 
     exports com.ejlchina.searcher.boot;
 
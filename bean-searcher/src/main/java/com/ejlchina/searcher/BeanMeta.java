@@ -1,5 +1,7 @@
 package com.ejlchina.searcher;
 
+import com.ejlchina.searcher.util.SqlUtils;
+
 import java.util.*;
 
 /**
@@ -40,6 +42,46 @@ public class BeanMeta<T> {
 	 * */
 	private final boolean distinct;
 
+	/**
+	 * 聚族查询结果的缓存时长（秒），为 0 表示不缓存
+	 * @since v3.3.0
+	 */
+	private long clusterCacheTtl;
+
+	/**
+	 * 检索结果的缓存时长（秒），为 0 表示不缓存
+	 * @since v3.3.0
+	 */
+	private long resultCacheTtl;
+
+	/**
+	 * 检索优先级，值越大越优先
+	 * @since v3.3.0
+	 */
+	private int priority;
+
+	/**
+	 * 检索 SQL 的执行超时时间（秒），为 0 表示不限制
+	 * @since v3.3.0
+	 */
+	private int queryTimeout;
+
+	/**
+	 * 总数的上限，为 0 表示不限制
+	 * @since v3.3.0
+	 */
+	private long countLimit;
+
+	/**
+	 * 从表片段中解析出的表名，用作检索结果缓存的失效标签
+	 */
+	private Set<String> tableNames;
+
+	/**
+	 * 类型为 boolean 或 Boolean 的字段名
+	 */
+	private Set<String> boolFieldSet;
+
 	/**
 	 * 映射: Bean属性 -> 属性元信息
 	 * */
@@ -61,6 +103,7 @@ public class BeanMeta<T> {
 			throw new SearchException("不可以重复添加字段：" + field);
 		}
 		fieldMetaMap.put(field, meta);
+		boolFieldSet = null;
 	}
 
 	public Class<T> getBeanClass() {
@@ -75,6 +118,10 @@ public class BeanMeta<T> {
 		return tableSnippet;
 	}
 
+	public SqlSnippet getJoinCondSnippet() {
+		return joinCondSnippet;
+	}
+
 	public String getJoinCond() {
 		return joinCondSnippet.getSnippet();
 	}
@@ -83,6 +130,10 @@ public class BeanMeta<T> {
 		return joinCondSnippet.getParams();
 	}
 
+	public SqlSnippet getGroupBySnippet() {
+		return groupBySnippet;
+	}
+
 	public String getGroupBy() {
 		return groupBySnippet.getSnippet();
 	}
@@ -95,10 +146,83 @@ public class BeanMeta<T> {
 		return distinct;
 	}
 
+	public long getClusterCacheTtl() {
+		return clusterCacheTtl;
+	}
+
+	public void setClusterCacheTtl(long clusterCacheTtl) {
+		this.clusterCacheTtl = clusterCacheTtl;
+	}
+
+	public long getResultCacheTtl() {
+		return resultCacheTtl;
+	}
+
+	public void setResultCacheTtl(long resultCacheTtl) {
+		this.resultCacheTtl = resultCacheTtl;
+	}
+
+	public int getPriority() {
+		return priority;
+	}
+
+	public void setPriority(int priority) {
+		this.priority = priority;
+	}
+
+	public int getQueryTimeout() {
+		return queryTimeout;
+	}
+
+	public void setQueryTimeout(int queryTimeout) {
+		this.queryTimeout = queryTimeout;
+	}
+
+	public long getCountLimit() {
+		return countLimit;
+	}
+
+	public void setCountLimit(long countLimit) {
+		this.countLimit = countLimit;
+	}
+
+	/**
+	 * @return 从表片段中解析出的（规范化后的）表名
+	 * @since v3.3.0
+	 */
+	public Set<String> getTableNames() {
+		Set<String> names = tableNames;
+		if (names == null) {
+			names = SqlUtils.tableNames(tableSnippet.getSnippet());
+			tableNames = names;
+		}
+		return names;
+	}
+
 	public Set<String> getFieldSet() {
 		return Collections.unmodifiableSet(fieldMetaMap.keySet());
 	}
 
+	/**
+	 * @return 类型为 boolean 或 Boolean 的字段名（首次调用时计算并缓存）
+	 * @since v3.3.0
+	 */
+	public Set<String> getBoolFieldSet() {
+		Set<String> fields = boolFieldSet;
+		if (fields == null) {
+			fields = new HashSet<>();
+			for (FieldMeta meta : fieldMetaMap.values()) {
+				Class<?> type = meta.getType();
+				if (type == boolean.class || type == Boolean.class) {
+					fields.add(meta.getName());
+				}
+			}
+			fields = fields.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(fields);
+			boolFieldSet = fields;
+		}
+		return fields;
+	}
+
 	public int getFieldCount() {
 		return fieldMetaMap.size();
 	}
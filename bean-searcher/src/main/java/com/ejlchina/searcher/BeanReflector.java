@@ -1,5 +1,7 @@
 package com.ejlchina.searcher;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.function.Function;
 
@@ -20,4 +22,24 @@ public interface BeanReflector {
 	 */
 	<T> T reflect(BeanMeta<T> beanMeta, List<String> fetchFields, Function<String, Object> valueGetter);
 
+	/**
+	 * 从结果集的当前行按列下标取值并反射
+	 * @param <T> bean 类型
+	 * @param beanMeta 元信息
+	 * @param fetchFields Bean 中需要反射赋值的字段
+	 * @param columnIndexes 与 fetchFields 一一对应的列下标（从 1 开始）
+	 * @param resultSet 结果集（已指向当前行）
+	 * @return 反射的对象
+	 * @since v3.3.0
+	 */
+	default <T> T reflect(BeanMeta<T> beanMeta, List<String> fetchFields, int[] columnIndexes, ResultSet resultSet) {
+		return reflect(beanMeta, fetchFields, dbAlias -> {
+			try {
+				return resultSet.getObject(dbAlias);
+			} catch (SQLException e) {
+				throw new SearchException("A exception occurred when collecting sql result!", e);
+			}
+		});
+	}
+
 }
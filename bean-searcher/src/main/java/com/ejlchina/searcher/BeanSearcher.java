@@ -2,6 +2,9 @@ package com.ejlchina.searcher;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Bean 对象检索器接口
@@ -55,5 +58,70 @@ public interface BeanSearcher extends Searcher {
 	 * @return Bean 数据列表
 	 * */
 	<T> List<T> searchAll(Class<T> beanClass, Map<String, Object> paraMap);
-	
+
+	/**
+	 * 流式检索满足条件的所有数据，不支持偏移，数据在遍历时才逐行读取与转换，适合大数据量的导出
+	 * 注意：返回的 Stream 持有数据库连接，使用完毕后必须关闭（推荐使用 try-with-resources）
+	 * 默认不支持，由实现类覆盖
+	 * @param <T> bean 类型
+	 * @param beanClass 要检索的 bean 类型
+	 * @param paraMap 检索参数（包括排序参数）
+	 * @return Bean 数据流
+	 * @throws SearchException 实现类不支持流式检索时
+	 * @since v3.3.0
+	 * */
+	default <T> Stream<T> searchStream(Class<T> beanClass, Map<String, Object> paraMap) {
+		throw new SearchException(getClass().getName() + " does not support streaming search.");
+	}
+
+	/**
+	 * 流式检索满足条件的所有数据，并逐条消费，消费完毕后自动释放连接
+	 * @param <T> bean 类型
+	 * @param beanClass 要检索的 bean 类型
+	 * @param paraMap 检索参数（包括排序参数）
+	 * @param consumer Bean 数据消费者
+	 * @since v3.3.0
+	 * */
+	default <T> void forEach(Class<T> beanClass, Map<String, Object> paraMap, Consumer<T> consumer) {
+		try (Stream<T> stream = searchStream(beanClass, paraMap)) {
+			stream.forEach(consumer);
+		}
+	}
+
+	/**
+	 * 异步的 {@link #search(Class, Map)}，{@link com.ejlchina.searcher.implement.AbstractSearcher} 在
+	 * {@link com.ejlchina.searcher.implement.AbstractSearcher#getAsyncExecutor()} 中执行，
+	 * 其它实现默认在 ForkJoinPool.commonPool() 中执行
+	 * @param <T> bean 类型
+	 * @param beanClass 要检索的 bean 类型
+	 * @param paraMap 检索参数
+	 * @return 总条数，Bean 数据列表
+	 * @since v3.3.0
+	 * */
+	default <T> CompletableFuture<SearchResult<T>> searchAsync(Class<T> beanClass, Map<String, Object> paraMap) {
+		return CompletableFuture.supplyAsync(() -> search(beanClass, paraMap));
+	}
+
+	/**
+	 * 异步的 {@link #searchList(Class, Map)}
+	 * @param <T> bean 类型
+	 * @param beanClass 要检索的 bean 类型
+	 * @param paraMap 检索参数
+	 * @return Bean 数据列表
+	 * @since v3.3.0
+	 * */
+	default <T> CompletableFuture<List<T>> searchListAsync(Class<T> beanClass, Map<String, Object> paraMap) {
+		return CompletableFuture.supplyAsync(() -> searchList(beanClass, paraMap));
+	}
+
+	/**
+	 * 创建一个批量检索，批次内同一数据源的检索共用一个数据库连接
+	 * @return 批量检索
+	 * @since v3.3.0
+	 * */
+	@Override
+	default SearchBatch<BeanSearcher> batch() {
+		return SearchBatch.sequential(this);
+	}
+
 }
@@ -0,0 +1,80 @@
+package com.ejlchina.searcher;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 检索的取消句柄
+ * 通过 {@link com.ejlchina.searcher.util.MapBuilder#cancelToken(CancelToken)} 传给检索器，
+ * 之后可在任意线程调用 {@link #cancel()}（例如 HTTP 客户端断开连接时），正在执行的 JDBC 语句将被 {@link Statement#cancel()}，
+ * 执行检索的线程随即抛出 {@link SearchException} 并归还连接；尚未开始执行的检索将直接抛出 {@link SearchException}
+ * 同一个句柄可用于多次检索，一经取消，不可恢复
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public class CancelToken {
+
+	private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean cancelled = false;
+
+	/**
+	 * 取消所有使用该句柄、正在执行的检索
+	 */
+	public void cancel() {
+		cancelled = true;
+		for (Statement statement : statements) {
+			cancel(statement);
+		}
+	}
+
+	/**
+	 * @return 是否已取消
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * 若已取消，则抛出异常
+	 * @throws SearchException 已取消
+	 */
+	public void throwIfCancelled() {
+		if (cancelled) {
+			throw new SearchException("The search has been cancelled!");
+		}
+	}
+
+	/**
+	 * 登记正在执行的语句（由 {@link SqlExecutor} 调用），若已取消，则立即取消该语句
+	 * @param statement JDBC 语句
+	 */
+	public void register(Statement statement) {
+		statements.add(statement);
+		if (cancelled) {
+			cancel(statement);
+		}
+	}
+
+	/**
+	 * 注销已结束的语句（由 {@link SqlExecutor} 调用）
+	 * @param statement JDBC 语句
+	 */
+	public void unregister(Statement statement) {
+		if (statement != null) {
+			statements.remove(statement);
+		}
+	}
+
+	private void cancel(Statement statement) {
+		try {
+			statement.cancel();
+		} catch (SQLException ignored) {
+			// 语句已结束 或 驱动不支持取消
+		}
+	}
+
+}
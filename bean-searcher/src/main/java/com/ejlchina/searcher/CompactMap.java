@@ -0,0 +1,314 @@
+package com.ejlchina.searcher;
+
+import java.util.*;
+
+/**
+ * 紧凑的检索结果 Map
+ * 同一次检索的所有行共享一个不可变的 {@link Schema}（字段名及其下标），每行只持有一个值数组，
+ * 避免每行都创建 HashMap 及其 Entry 并重复计算字段名的哈希
+ * 它仍是一个普通的 Map，可被任意 JSON 库序列化为对象；
+ * 如需序列化为数组，可使用 {@link Schema#getKeys()} 作为表头，{@link #toArray()} 作为行数据
+ * 放入 Schema 之外的键 或 移除键 时也能正常工作，只是不再紧凑
+ *
+ * @see com.ejlchina.searcher.implement.DefaultMapSearcher#setCompactMap(boolean)
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public class CompactMap extends AbstractMap<String, Object> {
+
+	/**
+	 * 表示该键已被移除
+	 */
+	private static final Object ABSENT = new Object();
+
+	private final Schema schema;
+
+	private final Object[] values;
+
+	/**
+	 * Schema 之外的键值，按需创建
+	 */
+	private Map<String, Object> extras;
+
+	/**
+	 * 被移除的 Schema 键的个数
+	 */
+	private int absents;
+
+	private EntrySet entrySet;
+
+	/**
+	 * @param schema 键结构
+	 * @param values 与 {@link Schema#getKeys()} 一一对应的值（不复制）
+	 */
+	public CompactMap(Schema schema, Object[] values) {
+		if (schema.keys.length != values.length) {
+			throw new IllegalArgumentException("The length of values does not match the schema");
+		}
+		this.schema = schema;
+		this.values = values;
+	}
+
+	public Schema getSchema() {
+		return schema;
+	}
+
+	/**
+	 * @return 与 {@link Schema#getKeys()} 一一对应的值的副本（已被移除的键的值为 null）
+	 */
+	public Object[] toArray() {
+		Object[] array = Arrays.copyOf(values, values.length);
+		if (absents > 0) {
+			for (int i = 0; i < array.length; i++) {
+				if (array[i] == ABSENT) {
+					array[i] = null;
+				}
+			}
+		}
+		return array;
+	}
+
+	@Override
+	public int size() {
+		return values.length - absents + (extras != null ? extras.size() : 0);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		int index = schema.indexOf(key);
+		if (index >= 0) {
+			return values[index] != ABSENT;
+		}
+		return extras != null && extras.containsKey(key);
+	}
+
+	@Override
+	public Object get(Object key) {
+		int index = schema.indexOf(key);
+		if (index >= 0) {
+			Object value = values[index];
+			return value != ABSENT ? value : null;
+		}
+		return extras != null ? extras.get(key) : null;
+	}
+
+	@Override
+	public Object put(String key, Object value) {
+		int index = schema.indexOf(key);
+		if (index >= 0) {
+			Object old = values[index];
+			values[index] = value;
+			if (old == ABSENT) {
+				absents--;
+				return null;
+			}
+			return old;
+		}
+		if (extras == null) {
+			extras = new LinkedHashMap<>();
+		}
+		return extras.put(key, value);
+	}
+
+	@Override
+	public Object remove(Object key) {
+		int index = schema.indexOf(key);
+		if (index >= 0) {
+			return removeAt(index);
+		}
+		return extras != null ? extras.remove(key) : null;
+	}
+
+	private Object removeAt(int index) {
+		Object old = values[index];
+		if (old == ABSENT) {
+			return null;
+		}
+		values[index] = ABSENT;
+		absents++;
+		return old;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(values, ABSENT);
+		absents = values.length;
+		extras = null;
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		EntrySet es = entrySet;
+		if (es == null) {
+			entrySet = es = new EntrySet();
+		}
+		return es;
+	}
+
+	class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+		@Override
+		public int size() {
+			return CompactMap.this.size();
+		}
+
+		@Override
+		public Iterator<Entry<String, Object>> iterator() {
+			return new EntryIterator();
+		}
+
+	}
+
+	class EntryIterator implements Iterator<Entry<String, Object>> {
+
+		/**
+		 * 下一个 Schema 键的下标
+		 */
+		private int next = nextIndex(0);
+
+		/**
+		 * 上一次返回的 Schema 键的下标，为 -1 时表示上一次返回的是 extras 中的键
+		 */
+		private int last = -1;
+
+		private Iterator<Entry<String, Object>> extraIterator;
+
+		private int nextIndex(int from) {
+			while (from < values.length && values[from] == ABSENT) {
+				from++;
+			}
+			return from;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next < values.length) {
+				return true;
+			}
+			if (extraIterator == null) {
+				if (extras == null) {
+					return false;
+				}
+				extraIterator = extras.entrySet().iterator();
+			}
+			return extraIterator.hasNext();
+		}
+
+		@Override
+		public Entry<String, Object> next() {
+			if (next < values.length) {
+				last = next;
+				next = nextIndex(next + 1);
+				return new IndexEntry(last);
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			last = -1;
+			return extraIterator.next();
+		}
+
+		@Override
+		public void remove() {
+			if (last >= 0) {
+				if (values[last] == ABSENT) {
+					throw new IllegalStateException();
+				}
+				removeAt(last);
+			} else if (extraIterator != null) {
+				extraIterator.remove();
+			} else {
+				throw new IllegalStateException();
+			}
+		}
+
+	}
+
+	class IndexEntry implements Entry<String, Object> {
+
+		private final int index;
+
+		IndexEntry(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public String getKey() {
+			return schema.keys[index];
+		}
+
+		@Override
+		public Object getValue() {
+			Object value = values[index];
+			return value != ABSENT ? value : null;
+		}
+
+		@Override
+		public Object setValue(Object value) {
+			return put(getKey(), value);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Entry)) {
+				return false;
+			}
+			Entry<?, ?> e = (Entry<?, ?>) o;
+			return getKey().equals(e.getKey()) && Objects.equals(getValue(), e.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return getKey().hashCode() ^ Objects.hashCode(getValue());
+		}
+
+		@Override
+		public String toString() {
+			return getKey() + "=" + getValue();
+		}
+
+	}
+
+	/**
+	 * 键结构（不可变），可被多个 {@link CompactMap} 共享
+	 */
+	public static class Schema {
+
+		private final String[] keys;
+
+		private final Map<String, Integer> indexes;
+
+		public Schema(String... keys) {
+			this.keys = keys.clone();
+			Map<String, Integer> indexes = new HashMap<>(this.keys.length * 2);
+			for (int i = 0; i < this.keys.length; i++) {
+				if (indexes.put(Objects.requireNonNull(this.keys[i]), i) != null) {
+					throw new IllegalArgumentException("Duplicate key: " + this.keys[i]);
+				}
+			}
+			this.indexes = indexes;
+		}
+
+		/**
+		 * @return 键的副本
+		 */
+		public String[] getKeys() {
+			return keys.clone();
+		}
+
+		public int size() {
+			return keys.length;
+		}
+
+		/**
+		 * @param key 键
+		 * @return 键的下标，不存在时返回 -1
+		 */
+		public int indexOf(Object key) {
+			Integer index = indexes.get(key);
+			return index != null ? index : -1;
+		}
+
+	}
+
+}
@@ -72,6 +72,36 @@ public interface DbMapping {
          * */
         private final boolean distinct;
 
+        /**
+         * 聚族查询结果的缓存时长（秒），为 0 表示不缓存
+         * @since v3.3.0
+         */
+        private long clusterCacheTtl;
+
+        /**
+         * 检索结果的缓存时长（秒），为 0 表示不缓存
+         * @since v3.3.0
+         */
+        private long resultCacheTtl;
+
+        /**
+         * 检索优先级，值越大越优先
+         * @since v3.3.0
+         */
+        private int priority;
+
+        /**
+         * 检索 SQL 的执行超时时间（秒），为 0 表示不限制
+         * @since v3.3.0
+         */
+        private int queryTimeout;
+
+        /**
+         * 总数的上限，为 0 表示不限制
+         * @since v3.3.0
+         */
+        private long countLimit;
+
 
         public Table(String dataSource, String tables, String joinCond, String groupBy, boolean distinct) {
             this.dataSource = dataSource;
@@ -101,6 +131,46 @@ public interface DbMapping {
             return distinct;
         }
 
+        public long getClusterCacheTtl() {
+            return clusterCacheTtl;
+        }
+
+        public void setClusterCacheTtl(long clusterCacheTtl) {
+            this.clusterCacheTtl = clusterCacheTtl;
+        }
+
+        public long getResultCacheTtl() {
+            return resultCacheTtl;
+        }
+
+        public void setResultCacheTtl(long resultCacheTtl) {
+            this.resultCacheTtl = resultCacheTtl;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        public void setPriority(int priority) {
+            this.priority = priority;
+        }
+
+        public int getQueryTimeout() {
+            return queryTimeout;
+        }
+
+        public void setQueryTimeout(int queryTimeout) {
+            this.queryTimeout = queryTimeout;
+        }
+
+        public long getCountLimit() {
+            return countLimit;
+        }
+
+        public void setCountLimit(long countLimit) {
+            this.countLimit = countLimit;
+        }
+
     }
 
     /**
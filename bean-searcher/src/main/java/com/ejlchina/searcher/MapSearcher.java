@@ -1,7 +1,15 @@
 package com.ejlchina.searcher;
 
+import com.ejlchina.searcher.util.JsonUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Map 对象检索器接口
@@ -55,5 +63,171 @@ public interface MapSearcher extends Searcher {
 	 * @return Bean 数据列表
 	 * */
 	<T> List<Map<String, Object>> searchAll(Class<T> beanClass, Map<String, Object> paraMap);
-	
+
+	/**
+	 * 流式检索满足条件的所有数据，不支持偏移，数据在遍历时才逐行读取与转换，适合大数据量的导出
+	 * 注意：返回的 Stream 持有数据库连接，使用完毕后必须关闭（推荐使用 try-with-resources）
+	 * 默认不支持，由实现类覆盖
+	 * @param <T> bean 类型
+	 * @param beanClass 要检索的 bean 类型
+	 * @param paraMap 检索参数（包括排序参数）
+	 * @return Map 数据流
+	 * @throws SearchException 实现类不支持流式检索时
+	 * @since v3.3.0
+	 * */
+	default <T> Stream<Map<String, Object>> searchStream(Class<T> beanClass, Map<String, Object> paraMap) {
+		throw new SearchException(getClass().getName() + " does not support streaming search.");
+	}
+
+	/**
+	 * 流式检索满足条件的所有数据，并逐条消费，消费完毕后自动释放连接
+	 * @param <T> bean 类型
+	 * @param beanClass 要检索的 bean 类型
+	 * @param paraMap 检索参数（包括排序参数）
+	 * @param consumer Map 数据消费者
+	 * @since v3.3.0
+	 * */
+	default <T> void forEach(Class<T> beanClass, Map<String, Object> paraMap, Consumer<Map<String, Object>> consumer) {
+		try (Stream<Map<String, Object>> stream = searchStream(beanClass, paraMap)) {
+			stream.forEach(consumer);
+		}
+	}
+
+	/**
+	 * 分页检索，并把结果（包括总条数）直接从结果集写出为 JSON，不构建中间的 Map 与 {@link SearchResult}，
+	 * 输出的结构与 {@link SearchResult} 一致：{"totalCount":..,"dataList":[..],"summaries":[..]}
+	 * 写出完毕后会 flush writer，但不会关闭它
+	 * 默认先执行 {@link #search(Class, Map)} 再写出结果，实现类可覆盖
+	 * @param <T> bean 类型
+	 * @param beanClass 要检索的 bean 类型
+	 * @param paraMap 检索参数（包括排序分页参数）
+	 * @param writer JSON 输出
+	 * @since v3.3.0
+	 * */
+	default <T> void searchJson(Class<T> beanClass, Map<String, Object> paraMap, Writer writer) {
+		SearchResult<Map<String, Object>> result = search(beanClass, paraMap);
+		try {
+			JsonUtils.writeResult(writer, result);
+			writer.flush();
+		} catch (IOException e) {
+			throw new SearchException("A exception occurred when writing json!", e);
+		}
+	}
+
+	/**
+	 * 分页检索，并把结果（包括总条数与统计信息）直接从结果集写出为 JSON
+	 * @param <T> bean 类型
+	 * @param beanClass 要检索的 bean 类型
+	 * @param paraMap 检索参数（包括排序分页参数）
+	 * @param summaryFields 统计字段
+	 * @param writer JSON 输出
+	 * @see #searchJson(Class, Map, Writer)
+	 * @since v3.3.0
+	 * */
+	default <T> void searchJson(Class<T> beanClass, Map<String, Object> paraMap, String[] summaryFields, Writer writer) {
+		SearchResult<Map<String, Object>> result = search(beanClass, paraMap, summaryFields);
+		try {
+			JsonUtils.writeResult(writer, result);
+			writer.flush();
+		} catch (IOException e) {
+			throw new SearchException("A exception occurred when writing json!", e);
+		}
+	}
+
+	/**
+	 * 流式检索满足条件的所有数据，逐行写出为 JSON 数组，内存占用与数据量无关，适合大数据量的导出
+	 * 写出完毕后会 flush writer，但不会关闭它
+	 * 默认先执行 {@link #searchAll(Class, Map)} 再写出结果，实现类可覆盖
+	 * @param <T> bean 类型
+	 * @param beanClass 要检索的 bean 类型
+	 * @param paraMap 检索参数（包括排序参数）
+	 * @param writer JSON 输出
+	 * @since v3.3.0
+	 * */
+	default <T> void searchAllJson(Class<T> beanClass, Map<String, Object> paraMap, Writer writer) {
+		List<Map<String, Object>> dataList = searchAll(beanClass, paraMap);
+		try {
+			JsonUtils.writeValue(writer, dataList);
+			writer.flush();
+		} catch (IOException e) {
+			throw new SearchException("A exception occurred when writing json!", e);
+		}
+	}
+
+	/**
+	 * 以 UTF-8 编码写出 JSON 到输出流，写出完毕后会 flush 输出流，但不会关闭它
+	 * @param <T> bean 类型
+	 * @param beanClass 要检索的 bean 类型
+	 * @param paraMap 检索参数（包括排序分页参数）
+	 * @param out JSON 输出流
+	 * @see #searchJson(Class, Map, Writer)
+	 * @since v3.3.0
+	 * */
+	default <T> void searchJson(Class<T> beanClass, Map<String, Object> paraMap, OutputStream out) {
+		searchJson(beanClass, paraMap, JsonUtils.utf8Writer(out));
+	}
+
+	/**
+	 * 以 UTF-8 编码写出 JSON 到输出流，写出完毕后会 flush 输出流，但不会关闭它
+	 * @param <T> bean 类型
+	 * @param beanClass 要检索的 bean 类型
+	 * @param paraMap 检索参数（包括排序分页参数）
+	 * @param summaryFields 统计字段
+	 * @param out JSON 输出流
+	 * @see #searchJson(Class, Map, String[], Writer)
+	 * @since v3.3.0
+	 * */
+	default <T> void searchJson(Class<T> beanClass, Map<String, Object> paraMap, String[] summaryFields, OutputStream out) {
+		searchJson(beanClass, paraMap, summaryFields, JsonUtils.utf8Writer(out));
+	}
+
+	/**
+	 * 以 UTF-8 编码写出 JSON 数组到输出流，写出完毕后会 flush 输出流，但不会关闭它
+	 * @param <T> bean 类型
+	 * @param beanClass 要检索的 bean 类型
+	 * @param paraMap 检索参数（包括排序参数）
+	 * @param out JSON 输出流
+	 * @see #searchAllJson(Class, Map, Writer)
+	 * @since v3.3.0
+	 * */
+	default <T> void searchAllJson(Class<T> beanClass, Map<String, Object> paraMap, OutputStream out) {
+		searchAllJson(beanClass, paraMap, JsonUtils.utf8Writer(out));
+	}
+
+	/**
+	 * 异步的 {@link #search(Class, Map)}，{@link com.ejlchina.searcher.implement.AbstractSearcher} 在
+	 * {@link com.ejlchina.searcher.implement.AbstractSearcher#getAsyncExecutor()} 中执行，
+	 * 其它实现默认在 ForkJoinPool.commonPool() 中执行
+	 * @param <T> bean 类型
+	 * @param beanClass 要检索的 bean 类型
+	 * @param paraMap 检索参数
+	 * @return 总条数，Map 数据列表
+	 * @since v3.3.0
+	 * */
+	default <T> CompletableFuture<SearchResult<Map<String, Object>>> searchAsync(Class<T> beanClass, Map<String, Object> paraMap) {
+		return CompletableFuture.supplyAsync(() -> search(beanClass, paraMap));
+	}
+
+	/**
+	 * 异步的 {@link #searchList(Class, Map)}
+	 * @param <T> bean 类型
+	 * @param beanClass 要检索的 bean 类型
+	 * @param paraMap 检索参数
+	 * @return Map 数据列表
+	 * @since v3.3.0
+	 * */
+	default <T> CompletableFuture<List<Map<String, Object>>> searchListAsync(Class<T> beanClass, Map<String, Object> paraMap) {
+		return CompletableFuture.supplyAsync(() -> searchList(beanClass, paraMap));
+	}
+
+	/**
+	 * 创建一个批量检索，批次内同一数据源的检索共用一个数据库连接
+	 * @return 批量检索
+	 * @since v3.3.0
+	 * */
+	@Override
+	default SearchBatch<MapSearcher> batch() {
+		return SearchBatch.sequential(this);
+	}
+
 }
@@ -4,6 +4,7 @@ import java.util.Map;
 
 /**
  * 检索参数过滤器
+ * 过滤器不应修改传入的检索参数，需要改写时应在副本上改写（参数无需改写时可直接返回原参数，避免复制）
  * @author Troy.Zhou @ 2021-10-30
  */
 public interface ParamFilter {
@@ -15,5 +16,15 @@ public interface ParamFilter {
 	 * @return 过滤后的检索参数
 	 */
 	<T> Map<String, Object> doFilter(BeanMeta<T> beanMeta, Map<String, Object> paraMap);
+
+	/**
+	 * 是否需要过滤该实体类的检索参数，返回 false 时将跳过 {@link #doFilter(BeanMeta, Map)}
+	 * @param beanMeta 元信息
+	 * @return 默认返回 true
+	 * @since v3.3.0
+	 */
+	default boolean supports(BeanMeta<?> beanMeta) {
+		return true;
+	}
 	
 }
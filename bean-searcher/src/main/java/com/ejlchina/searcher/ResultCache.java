@@ -0,0 +1,112 @@
+package com.ejlchina.searcher;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * 检索结果缓存
+ * 只对 {@link com.ejlchina.searcher.bean.SearchBean#resultCacheTtl()} 大于 0 的 SearchBean 生效，
+ * 每个缓存条目带有若干个表名标签（由 {@link BeanMeta#getTableSnippet()} 解析得到），
+ * 写入数据后可调用 {@link #evictByTable(String)} 使相关的缓存失效
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public interface ResultCache {
+
+	/**
+	 * @param key 缓存 Key
+	 * @param <R> 数据类型
+	 * @return 未过期的检索结果，未命中时返回 null
+	 */
+	<R> SearchResult<R> get(Key key);
+
+	/**
+	 * @param key 缓存 Key
+	 * @param result 检索结果
+	 * @param tags 表名标签（规范化后的表名，见 {@link com.ejlchina.searcher.util.SqlUtils#normalizeTable(String)}）
+	 * @param ttl 缓存时长（秒）
+	 */
+	void put(Key key, SearchResult<?> result, Set<String> tags, long ttl);
+
+	/**
+	 * 获取这些表当前的失效版本，任意一个表失效（{@link #evictByTable(String)} 或 {@link #clear()}）后，版本随之改变
+	 * 检索器在执行检索前获取版本，写入结果时传给 {@link #put(Key, SearchResult, Set, long, long)}
+	 * @param tags 表名标签
+	 * @return 失效版本，不支持时返回 0
+	 */
+	default long version(Set<String> tags) {
+		return 0;
+	}
+
+	/**
+	 * 写入检索结果，若这些表的失效版本已不是 version（检索执行期间有表被失效），则不写入，避免过时的结果在失效后仍被缓存
+	 * @param key 缓存 Key
+	 * @param result 检索结果
+	 * @param tags 表名标签
+	 * @param ttl 缓存时长（秒）
+	 * @param version 执行检索前由 {@link #version(Set)} 获取的失效版本
+	 */
+	default void put(Key key, SearchResult<?> result, Set<String> tags, long ttl, long version) {
+		if (version(tags) == version) {
+			put(key, result, tags, ttl);
+		}
+	}
+
+	/**
+	 * 使所有涉及该表的缓存失效
+	 * @param table 表名（忽略大小写，可带 schema 前缀）
+	 */
+	void evictByTable(String table);
+
+	/**
+	 * 清空缓存
+	 */
+	void clear();
+
+	/**
+	 * 缓存 Key：由检索器类型、数据源 与 最终执行的 SQL 及参数决定
+	 */
+	final class Key {
+
+		private final Object[] parts;
+
+		private final int hash;
+
+		public Key(Class<?> searcherType, SearchSql<?> searchSql) {
+			this.parts = new Object[] {
+					searcherType,
+					searchSql.getBeanMeta().getDataSource(),
+					searchSql.isShouldQueryList() ? searchSql.getListSqlString() : null,
+					searchSql.isShouldQueryList() ? searchSql.getListSqlParams().toArray() : null,
+					searchSql.isShouldQueryCluster() ? searchSql.getClusterSqlString() : null,
+					searchSql.isShouldQueryCluster() ? searchSql.getClusterSqlParams().toArray() : null
+			};
+			this.hash = Arrays.deepHashCode(parts);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key that = (Key) o;
+			return hash == that.hash && Arrays.deepEquals(parts, that.parts);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public String toString() {
+			return Arrays.deepToString(parts);
+		}
+
+	}
+
+}
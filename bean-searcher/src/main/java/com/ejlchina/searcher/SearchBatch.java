@@ -0,0 +1,214 @@
+package com.ejlchina.searcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 批量检索
+ * 批次内同一数据源的检索共用一个数据库连接依次执行（需 {@link SqlExecutor#executeBatch(Runnable)} 支持），
+ * 多个 {@link #addCount(Class, Map)} 会按数据源合并为一条 UNION ALL 语句，一次往返即可取回所有总数。
+ * 用法：
+ * <pre>
+ * SearchBatch&lt;BeanSearcher&gt; batch = beanSearcher.batch();
+ * SearchBatch.Result&lt;Number&gt; userCount = batch.addCount(User.class, params1);
+ * SearchBatch.Result&lt;List&lt;Order&gt;&gt; orders = batch.add(s -&gt; s.searchList(Order.class, params2));
+ * batch.execute();
+ * </pre>
+ * 注意：批次结束时连接即被关闭，故批次内不可使用流式检索
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public class SearchBatch<S extends Searcher> {
+
+	private final S searcher;
+
+	private final Runner runner;
+
+	private final List<Result<?>> results = new ArrayList<>();
+
+	private boolean executed = false;
+
+	public SearchBatch(S searcher, Runner runner) {
+		this.searcher = Objects.requireNonNull(searcher);
+		this.runner = Objects.requireNonNull(runner);
+	}
+
+	/**
+	 * 创建一个逐个执行的批量检索：批次内的检索各自获取连接，总数检索也逐个执行，
+	 * 用作不支持批量执行的检索器的默认实现
+	 * @param searcher 检索器
+	 * @param <S> 检索器类型
+	 * @return 批量检索
+	 */
+	public static <S extends Searcher> SearchBatch<S> sequential(S searcher) {
+		return new SearchBatch<>(searcher, new Runner() {
+
+			@Override
+			public void run(Runnable task) {
+				task.run();
+			}
+
+			@Override
+			public Number[] searchCounts(List<Class<?>> beanClasses, List<Map<String, Object>> paraMaps) {
+				Number[] counts = new Number[beanClasses.size()];
+				for (int i = 0; i < counts.length; i++) {
+					counts[i] = searcher.searchCount(beanClasses.get(i), paraMaps.get(i));
+				}
+				return counts;
+			}
+
+		});
+	}
+
+	/**
+	 * 添加一个分页检索，结果为 {@link Searcher#search(Class, Map)} 的返回值
+	 * @param beanClass 要检索的 bean 类型
+	 * @param paraMap 检索参数
+	 * @return SearchBatch
+	 */
+	public SearchBatch<S> add(Class<?> beanClass, Map<String, Object> paraMap) {
+		add(s -> s.search(beanClass, paraMap));
+		return this;
+	}
+
+	/**
+	 * 添加一个任意的检索
+	 * @param search 检索逻辑，如：s -&gt; s.searchList(User.class, params)
+	 * @param <R> 结果类型
+	 * @return 检索结果，批次执行后可用
+	 */
+	public <R> Result<R> add(Function<S, R> search) {
+		Objects.requireNonNull(search);
+		return addResult(new Result<>(() -> search.apply(searcher), null, null));
+	}
+
+	/**
+	 * 添加一个总数检索，同一数据源的总数检索会合并为一条 SQL 执行
+	 * @param beanClass 要检索的 bean 类型
+	 * @param paraMap 检索参数
+	 * @return 检索结果，批次执行后可用
+	 */
+	public Result<Number> addCount(Class<?> beanClass, Map<String, Object> paraMap) {
+		return addResult(new Result<>(null, Objects.requireNonNull(beanClass), paraMap));
+	}
+
+	private <R> Result<R> addResult(Result<R> result) {
+		if (executed) {
+			throw new SearchException("The batch has already been executed.");
+		}
+		results.add(result);
+		return result;
+	}
+
+	/**
+	 * 执行批次内的所有检索
+	 * @return 所有检索的结果，顺序与添加的顺序一致
+	 */
+	public List<Object> execute() {
+		if (executed) {
+			throw new SearchException("The batch has already been executed.");
+		}
+		executed = true;
+		List<Result<?>> countResults = new ArrayList<>();
+		List<Class<?>> beanClasses = new ArrayList<>();
+		List<Map<String, Object>> paraMaps = new ArrayList<>();
+		for (Result<?> result : results) {
+			if (result.search == null) {
+				countResults.add(result);
+				beanClasses.add(result.beanClass);
+				paraMaps.add(result.paraMap);
+			}
+		}
+		runner.run(() -> {
+			if (beanClasses.size() > 0) {
+				Number[] counts = runner.searchCounts(beanClasses, paraMaps);
+				for (int i = 0; i < counts.length; i++) {
+					countResults.get(i).complete(counts[i]);
+				}
+			}
+			for (Result<?> result : results) {
+				if (result.search != null) {
+					result.complete();
+				}
+			}
+		});
+		List<Object> values = new ArrayList<>(results.size());
+		for (Result<?> result : results) {
+			values.add(result.get());
+		}
+		return values;
+	}
+
+	/**
+	 * 批次中单个检索的结果
+	 * @param <R> 结果类型
+	 */
+	public static class Result<R> {
+
+		private final Supplier<R> search;
+
+		private final Class<?> beanClass;
+
+		private final Map<String, Object> paraMap;
+
+		private Object value;
+
+		private boolean done = false;
+
+		Result(Supplier<R> search, Class<?> beanClass, Map<String, Object> paraMap) {
+			this.search = search;
+			this.beanClass = beanClass;
+			this.paraMap = paraMap;
+		}
+
+		void complete() {
+			value = search.get();
+			done = true;
+		}
+
+		void complete(Number count) {
+			value = count;
+			done = true;
+		}
+
+		/**
+		 * @return 检索结果
+		 * @throws SearchException 批次还未执行时
+		 */
+		@SuppressWarnings("unchecked")
+		public R get() {
+			if (!done) {
+				throw new SearchException("The batch has not been executed yet.");
+			}
+			return (R) value;
+		}
+
+	}
+
+	/**
+	 * 批次的执行者，由检索器提供
+	 */
+	public interface Runner {
+
+		/**
+		 * 以批次的方式执行
+		 * @param task 批次内的检索逻辑
+		 */
+		void run(Runnable task);
+
+		/**
+		 * 检索多个总数
+		 * @param beanClasses 要检索的 bean 类型
+		 * @param paraMaps 检索参数，与 beanClasses 一一对应
+		 * @return 总数，与 beanClasses 一一对应
+		 */
+		Number[] searchCounts(List<Class<?>> beanClasses, List<Map<String, Object>> paraMaps);
+
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.ejlchina.searcher;
+
+/**
+ * 检索指标收集器
+ * 记录每个 SearchBean 在检索管道各阶段的耗时与映射的行数，可对接 Micrometer 等监控系统，
+ * 指标只以 SearchBean 类型 与 {@link Stage} 为维度，维度的取值个数是有限的
+ * 实现需是线程安全的，且应尽量轻量，因为它在每次检索时都会被调用
+ *
+ * @see com.ejlchina.searcher.implement.AbstractSearcher#setMetrics(SearchMetrics)
+ * @see com.ejlchina.searcher.implement.DefaultSqlExecutor#setMetrics(SearchMetrics)
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public interface SearchMetrics {
+
+	/**
+	 * 检索阶段
+	 */
+	enum Stage {
+
+		/**
+		 * 检索参数解析（{@link ParamResolver}）
+		 */
+		PARAM_RESOLVE,
+
+		/**
+		 * SQL 生成（{@link SqlResolver} 与 {@link SqlInterceptor}）
+		 */
+		SQL_RESOLVE,
+
+		/**
+		 * 获取数据库连接（包括在并发限制上的排队）
+		 */
+		CONNECTION_ACQUIRE,
+
+		/**
+		 * 执行列表查询
+		 */
+		LIST_EXECUTE,
+
+		/**
+		 * 执行聚族（总数与统计）查询
+		 */
+		CLUSTER_EXECUTE,
+
+		/**
+		 * 把结果集映射为 Bean 或 Map（{@link BeanReflector}）
+		 */
+		RESULT_MAPPING
+
+	}
+
+	/**
+	 * 记录某阶段的耗时
+	 * @param beanClass SearchBean 类型
+	 * @param stage 检索阶段
+	 * @param nanos 耗时（纳秒）
+	 */
+	void recordTime(Class<?> beanClass, Stage stage, long nanos);
+
+	/**
+	 * 记录一次检索映射的数据行数
+	 * @param beanClass SearchBean 类型
+	 * @param rows 行数
+	 */
+	void recordRows(Class<?> beanClass, int rows);
+
+}
@@ -45,6 +45,24 @@ public class SearchParam {
 	 */
 	private OrderBy orderBy;
 
+	/**
+	 * 本次检索 SQL 的执行超时时间（秒），为 null 时使用 SearchBean 的配置
+	 * @since v3.3.0
+	 */
+	private Integer queryTimeout;
+
+	/**
+	 * 取消句柄
+	 * @since v3.3.0
+	 */
+	private CancelToken cancelToken;
+
+	/**
+	 * 本次检索总数的上限，为 null 时使用 SearchBean 的配置
+	 * @since v3.3.0
+	 */
+	private Long countLimit;
+
 
 	public SearchParam(Map<String, Object> paraMap, FetchType fetchType, List<String> fetchFields, List<FieldParam> fieldParams) {
 		this.paraMap = paraMap;
@@ -98,4 +116,28 @@ public class SearchParam {
 		this.orderBy = orderBy;
 	}
 
+	public Integer getQueryTimeout() {
+		return queryTimeout;
+	}
+
+	public void setQueryTimeout(Integer queryTimeout) {
+		this.queryTimeout = queryTimeout;
+	}
+
+	public CancelToken getCancelToken() {
+		return cancelToken;
+	}
+
+	public void setCancelToken(CancelToken cancelToken) {
+		this.cancelToken = cancelToken;
+	}
+
+	public Long getCountLimit() {
+		return countLimit;
+	}
+
+	public void setCountLimit(Long countLimit) {
+		this.countLimit = countLimit;
+	}
+
 }
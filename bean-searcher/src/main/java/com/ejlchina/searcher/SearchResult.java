@@ -17,6 +17,19 @@ public class SearchResult<T> {
 	
 	private Number[] summaries;
 
+	/**
+	 * 键集分页时下一页的游标（本页最后一条数据的键值），没有下一页时为 null
+	 * @since v3.3.0
+	 */
+	private Object[] nextSeekValues;
+
+	/**
+	 * 总数是否达到了上限（{@link com.ejlchina.searcher.bean.SearchBean#countLimit()}），
+	 * 为 true 时实际的总数大于 {@link #getTotalCount()}，可展示为 "10000+"
+	 * @since v3.3.0
+	 */
+	private boolean countCapped;
+
 	public SearchResult() {
 		this(0, new Number[]{});
 	}
@@ -68,6 +81,22 @@ public class SearchResult<T> {
 		}
 	}
 
+	public Object[] getNextSeekValues() {
+		return nextSeekValues;
+	}
+
+	public void setNextSeekValues(Object[] nextSeekValues) {
+		this.nextSeekValues = nextSeekValues;
+	}
+
+	public boolean isCountCapped() {
+		return countCapped;
+	}
+
+	public void setCountCapped(boolean countCapped) {
+		this.countCapped = countCapped;
+	}
+
 	public String toString() {
 		StringBuilder str = new StringBuilder("totalCount = " + totalCount + "\n");
 		for (T data: dataList) {
@@ -75,5 +104,5 @@ public class SearchResult<T> {
 		}
 		return str.toString();
 	}
-	
+
 }
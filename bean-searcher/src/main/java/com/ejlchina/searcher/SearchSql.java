@@ -1,5 +1,7 @@
 package com.ejlchina.searcher;
 
+import com.ejlchina.searcher.param.Paging;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -51,6 +53,49 @@ public class SearchSql<T> {
 	 */
 	private final List<String> summaryAliases = new ArrayList<>();
 
+	/**
+	 * 列表查询的列下标计划：第 i 个 Select 字段在结果集中的列下标（从 1 开始）
+	 * 为 null 时只能按字段别名取值；若 SqlInterceptor 改变了 Select 列的顺序，应将其置为 null
+	 * @since v3.3.0
+	 */
+	private int[] listColumnIndexes;
+
+	/**
+	 * 是否流式读取列表数据（使用只进游标，并按 SqlExecutor 配置的 fetchSize 分批拉取）
+	 * @since v3.3.0
+	 */
+	private boolean streaming;
+
+	/**
+	 * SQL 的执行超时时间（秒），为 0 表示不限制
+	 * @since v3.3.0
+	 */
+	private int queryTimeout;
+
+	/**
+	 * 取消句柄，可为 null
+	 * @since v3.3.0
+	 */
+	private CancelToken cancelToken;
+
+	/**
+	 * 总数的上限，为 0 表示总数查询是精确计数
+	 * @since v3.3.0
+	 */
+	private long countLimit;
+
+	/**
+	 * 列表查询的分页参数
+	 * @since v3.3.0
+	 */
+	private Paging paging;
+
+	/**
+	 * 键集分页的键字段（排序字段、唯一键字段），非键集分页时为 null
+	 * @since v3.3.0
+	 */
+	private String[] seekFields;
+
 	/**
 	 * 是否应该查询总条数
 	 * */
@@ -127,6 +172,46 @@ public class SearchSql<T> {
 		return summaryAliases;
 	}
 
+	public int[] getListColumnIndexes() {
+		return listColumnIndexes;
+	}
+
+	public void setListColumnIndexes(int[] listColumnIndexes) {
+		this.listColumnIndexes = listColumnIndexes;
+	}
+
+	public boolean isStreaming() {
+		return streaming;
+	}
+
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	public int getQueryTimeout() {
+		return queryTimeout;
+	}
+
+	public void setQueryTimeout(int queryTimeout) {
+		this.queryTimeout = queryTimeout;
+	}
+
+	public CancelToken getCancelToken() {
+		return cancelToken;
+	}
+
+	public void setCancelToken(CancelToken cancelToken) {
+		this.cancelToken = cancelToken;
+	}
+
+	public long getCountLimit() {
+		return countLimit;
+	}
+
+	public void setCountLimit(long countLimit) {
+		this.countLimit = countLimit;
+	}
+
 	public boolean isShouldQueryCluster() {
 		return shouldQueryCluster;
 	}
@@ -142,5 +227,21 @@ public class SearchSql<T> {
 	public void setShouldQueryList(boolean shouldQueryList) {
 		this.shouldQueryList = shouldQueryList;
 	}
-	
+
+	public Paging getPaging() {
+		return paging;
+	}
+
+	public void setPaging(Paging paging) {
+		this.paging = paging;
+	}
+
+	public String[] getSeekFields() {
+		return seekFields;
+	}
+
+	public void setSeekFields(String[] seekFields) {
+		this.seekFields = seekFields;
+	}
+
 }
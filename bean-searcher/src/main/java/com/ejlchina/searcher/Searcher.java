@@ -2,6 +2,7 @@ package com.ejlchina.searcher;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 检索器接口
@@ -83,5 +84,28 @@ public interface Searcher {
 	 * @return 字段求和统计
 	 * */
 	<T> Number[] searchSum(Class<T> beanClass, Map<String, Object> paraMap, String[] fields);
-	
+
+	/**
+	 * 异步的 {@link #searchCount(Class, Map)}
+	 * 默认在 ForkJoinPool.commonPool() 中执行，实现类应覆盖该方法以使用专用的线程池
+	 * @param <T> bean 类型
+	 * @param beanClass 要检索的 bean 类型
+	 * @param paraMap 检索参数
+	 * @return 数据个数
+	 * @since v3.3.0
+	 * */
+	default <T> CompletableFuture<Number> searchCountAsync(Class<T> beanClass, Map<String, Object> paraMap) {
+		return CompletableFuture.supplyAsync(() -> searchCount(beanClass, paraMap));
+	}
+
+	/**
+	 * 创建一个批量检索，批次内同一数据源的检索共用一个数据库连接
+	 * 默认逐个执行批次内的检索（见 {@link SearchBatch#sequential(Searcher)}），实现类可覆盖
+	 * @return 批量检索
+	 * @since v3.3.0
+	 * */
+	default SearchBatch<? extends Searcher> batch() {
+		return SearchBatch.sequential(this);
+	}
+
 }
@@ -2,11 +2,15 @@ package com.ejlchina.searcher;
 
 import com.ejlchina.searcher.FieldConvertor.MFieldConvertor;
 import com.ejlchina.searcher.implement.AbstractSearcher;
+import com.ejlchina.searcher.implement.ClusterResultCache;
 import com.ejlchina.searcher.implement.DefaultBeanSearcher;
 import com.ejlchina.searcher.implement.DefaultMapSearcher;
+import com.ejlchina.searcher.implement.DefaultSqlExecutor;
+import com.ejlchina.searcher.implement.SlowSearchLog;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /***
  * 检索器 Builder
@@ -45,6 +49,18 @@ public class SearcherBuilder {
 
 		private final List<SqlInterceptor> interceptors = new ArrayList<>();
 
+		private ClusterResultCache clusterResultCache;
+
+		private ResultCache resultCache;
+
+		private Executor asyncExecutor;
+
+		private SearchMetrics metrics;
+
+		private SlowSearchLog slowSearchLog;
+
+		private Boolean countElision;
+
 		public Builder paramResolver(ParamResolver paramResolver) {
 			this.paramResolver = paramResolver;
 			return (Builder) this;
@@ -72,6 +88,42 @@ public class SearcherBuilder {
 			return (Builder) this;
 		}
 
+		public Builder clusterResultCache(ClusterResultCache clusterResultCache) {
+			this.clusterResultCache = clusterResultCache;
+			return (Builder) this;
+		}
+
+		public Builder resultCache(ResultCache resultCache) {
+			this.resultCache = resultCache;
+			return (Builder) this;
+		}
+
+		public Builder asyncExecutor(Executor asyncExecutor) {
+			this.asyncExecutor = asyncExecutor;
+			return (Builder) this;
+		}
+
+		/**
+		 * 设置检索指标收集器，若 SqlExecutor 是 {@link DefaultSqlExecutor } 且未设置指标收集器，则一并设置给它
+		 * @param metrics 指标收集器
+		 * @return Builder
+		 * @since v3.3.0
+		 */
+		public Builder metrics(SearchMetrics metrics) {
+			this.metrics = metrics;
+			return (Builder) this;
+		}
+
+		public Builder slowSearchLog(SlowSearchLog slowSearchLog) {
+			this.slowSearchLog = slowSearchLog;
+			return (Builder) this;
+		}
+
+		public Builder countElision(boolean countElision) {
+			this.countElision = countElision;
+			return (Builder) this;
+		}
+
 		protected void buildInternal(AbstractSearcher mainSearcher) {
 			if (paramResolver != null) {
 				mainSearcher.setParamResolver(paramResolver);
@@ -87,6 +139,28 @@ public class SearcherBuilder {
 			if (metaResolver != null) {
 				mainSearcher.setMetaResolver(metaResolver);
 			}
+			if (clusterResultCache != null) {
+				mainSearcher.setClusterResultCache(clusterResultCache);
+			}
+			if (resultCache != null) {
+				mainSearcher.setResultCache(resultCache);
+			}
+			if (asyncExecutor != null) {
+				mainSearcher.setAsyncExecutor(asyncExecutor);
+			}
+			if (metrics != null) {
+				mainSearcher.setMetrics(metrics);
+				SqlExecutor executor = mainSearcher.getSqlExecutor();
+				if (executor instanceof DefaultSqlExecutor && ((DefaultSqlExecutor) executor).getMetrics() == null) {
+					((DefaultSqlExecutor) executor).setMetrics(metrics);
+				}
+			}
+			if (slowSearchLog != null) {
+				mainSearcher.setSlowSearchLog(slowSearchLog);
+			}
+			if (countElision != null) {
+				mainSearcher.setCountElision(countElision);
+			}
 			mainSearcher.setInterceptors(interceptors);
 		}
 
@@ -117,13 +191,25 @@ public class SearcherBuilder {
 
 		private final List<MFieldConvertor> convertors = new ArrayList<>();
 
+		private boolean compactMap = false;
+
 		public MapSearcher build() {
 			DefaultMapSearcher beanSearcher = new DefaultMapSearcher();
 			buildInternal(beanSearcher);
 			beanSearcher.setConvertors(convertors);
+			beanSearcher.setCompactMap(compactMap);
 			return beanSearcher;
 		}
 
+		/**
+		 * @param compactMap 是否以 {@link CompactMap} 呈现数据
+		 * @since v3.3.0
+		 */
+		public MapSearcherBuilder compactMap(boolean compactMap) {
+			this.compactMap = compactMap;
+			return this;
+		}
+
 		public MapSearcherBuilder addFieldConvertor(MFieldConvertor convertor) {
 			if (convertor != null) {
 				this.convertors.add(convertor);
@@ -13,5 +13,15 @@ public interface SqlExecutor {
 	 * @return 执行结果
 	 */
 	<T> SqlResult<T> execute(SearchSql<T> searchSql);
+
+	/**
+	 * 以批次的方式执行：task 内的 {@link #execute(SearchSql)} 调用属于同一批次，
+	 * 实现类可让同一批次内同一数据源的 SQL 共用一个数据库连接，默认直接执行 task
+	 * @param task 批次内的检索逻辑
+	 * @since v3.3.0
+	 */
+	default void executeBatch(Runnable task) {
+		task.run();
+	}
 	
 }
@@ -2,8 +2,10 @@ package com.ejlchina.searcher;
 
 import java.io.Closeable;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 
 /**
  * SQL 执行结果
@@ -28,6 +30,16 @@ public class SqlResult<T> implements Closeable {
     // clusterResult 是否已未执行过 next 方法
     private boolean clusterNotReady = true;
 
+    /**
+     * 聚族查询结果：[总条数, 统计值1, 统计值2, ...]
+     * 命中聚族结果缓存时由缓存填充（此时不会执行聚族查询）
+     * @since v3.3.0
+     */
+    private Number[] clusterValues;
+
+    // 校验后的列表查询列下标
+    private int[] listColumnIndexes;
+
     /**
      * 列表查询语句
      */
@@ -38,6 +50,18 @@ public class SqlResult<T> implements Closeable {
      */
     private Statement clusterStatement;
 
+    /**
+     * 各检索阶段的耗时（纳秒），下标为 {@link SearchMetrics.Stage#ordinal()}
+     * @since v3.3.0
+     */
+    private final long[] stageNanos = new long[SearchMetrics.Stage.values().length];
+
+    /**
+     * 映射的数据行数，为 -1 表示未知
+     * @since v3.3.0
+     */
+    private int rowCount = -1;
+
 
     public SqlResult(SearchSql<T> searchSql) {
         this.searchSql = searchSql;
@@ -63,6 +87,12 @@ public class SqlResult<T> implements Closeable {
             }
         } catch (SQLException e) {
             throw new SearchException("Can not close statement or resultSet!", e);
+        } finally {
+            CancelToken cancelToken = searchSql.getCancelToken();
+            if (cancelToken != null) {
+                cancelToken.unregister(listStatement);
+                cancelToken.unregister(clusterStatement);
+            }
         }
     }
 
@@ -79,6 +109,36 @@ public class SqlResult<T> implements Closeable {
         this.listStatement = listStatement;
     }
 
+    /**
+     * 获取 Select 字段在列表结果集中的列下标（与 {@link SearchSql#getFetchFields()} 一一对应，从 1 开始）
+     * 优先使用 {@link SearchSql#getListColumnIndexes()} 的计划（对每个结果集只用元信息校验一次），
+     * 计划不可用时按字段别名查找列下标，从而逐行取值时无需再按别名查找
+     * @return 列下标，无列表结果集时返回 null
+     * @throws SQLException 访问结果集元信息出错
+     * @since v3.3.0
+     */
+    public int[] getListColumnIndexes() throws SQLException {
+        if (listColumnIndexes == null && listResult != null) {
+            List<String> fetchFields = searchSql.getFetchFields();
+            BeanMeta<T> beanMeta = searchSql.getBeanMeta();
+            int[] planned = searchSql.getListColumnIndexes();
+            ResultSetMetaData metaData = listResult.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            int[] indexes = new int[fetchFields.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                String dbAlias = beanMeta.requireFieldMeta(fetchFields.get(i)).getDbAlias();
+                if (planned != null && planned.length == indexes.length && planned[i] <= columnCount
+                        && dbAlias.equalsIgnoreCase(metaData.getColumnLabel(planned[i]))) {
+                    indexes[i] = planned[i];
+                } else {
+                    indexes[i] = listResult.findColumn(dbAlias);
+                }
+            }
+            listColumnIndexes = indexes;
+        }
+        return listColumnIndexes;
+    }
+
     public ResultSet getAlreadyClusterResult() throws SQLException {
         if (clusterResult != null) {
             // 为了兼容 ShardingSphere，这里不能使用 ResultSet#isBeforeFirst() 方法，因为 ShardingSphere 没有实现它
@@ -95,4 +155,47 @@ public class SqlResult<T> implements Closeable {
         this.clusterStatement = clusterStatement;
     }
 
+    /**
+     * @return 是否有聚族查询结果（执行了聚族查询 或 命中了聚族结果缓存）
+     * @since v3.3.0
+     */
+    public boolean hasClusterResult() {
+        return clusterResult != null || clusterValues != null;
+    }
+
+    public Number[] getClusterValues() {
+        return clusterValues;
+    }
+
+    public void setClusterValues(Number[] clusterValues) {
+        this.clusterValues = clusterValues;
+    }
+
+    /**
+     * @param stage 检索阶段
+     * @return 该阶段的耗时（纳秒）
+     * @since v3.3.0
+     */
+    public long getStageNanos(SearchMetrics.Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    /**
+     * 累加某检索阶段的耗时（由 SqlExecutor 与 检索器 调用）
+     * @param stage 检索阶段
+     * @param nanos 耗时（纳秒）
+     * @since v3.3.0
+     */
+    public void addStageNanos(SearchMetrics.Stage stage, long nanos) {
+        stageNanos[stage.ordinal()] += nanos;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public void setRowCount(int rowCount) {
+        this.rowCount = rowCount;
+    }
+
 }
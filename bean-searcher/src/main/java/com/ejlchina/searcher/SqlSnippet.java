@@ -2,6 +2,7 @@ package com.ejlchina.searcher;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 
 /**
@@ -20,6 +21,11 @@ public class SqlSnippet {
 	 * 内嵌参数
 	 */
 	private final List<Param> params = new ArrayList<>();
+
+	/**
+	 * 编译后的片段，片段或参数变化时置空
+	 */
+	private Segments segments;
 	
 	public String getSnippet() {
 		return snippet;
@@ -27,6 +33,7 @@ public class SqlSnippet {
 
 	public void setSnippet(String snippet) {
 		this.snippet = snippet;
+		this.segments = null;
 	}
 
 	public List<Param> getParams() {
@@ -35,6 +42,82 @@ public class SqlSnippet {
 
 	public void addParam(Param param) {
 		this.params.add(param);
+		this.segments = null;
+	}
+
+	/**
+	 * 将片段编译为 字面量 与 非 JDBC 内嵌参数 交替的形式，之后每次渲染只需顺序拼接
+	 * @since v3.3.0
+	 */
+	public void compile() {
+		segments();
+	}
+
+	/**
+	 * 渲染片段：非 JDBC 内嵌参数（如 :name:）替换为参数值（为 null 时替换为空串），JDBC 参数保持为 ?
+	 * @param builder 渲染目标
+	 * @param paramLookup 内嵌参数名 -> 参数值
+	 * @since v3.3.0
+	 */
+	public void appendTo(StringBuilder builder, Function<String, Object> paramLookup) {
+		Segments segments = segments();
+		String[] literals = segments.literals;
+		Param[] slots = segments.slots;
+		for (int i = 0; i < slots.length; i++) {
+			builder.append(literals[i]);
+			Object value = paramLookup.apply(slots[i].getName());
+			if (value != null) {
+				builder.append(value);
+			}
+		}
+		builder.append(literals[slots.length]);
+	}
+
+	private Segments segments() {
+		Segments segments = this.segments;
+		if (segments == null) {
+			segments = new Segments(snippet, params);
+			this.segments = segments;
+		}
+		return segments;
+	}
+
+	/**
+	 * 编译后的片段：literals[i] 与 slots[i] 交替排列，literals 比 slots 多一个
+	 */
+	static class Segments {
+
+		final String[] literals;
+
+		final Param[] slots;
+
+		Segments(String snippet, List<Param> params) {
+			List<String> literals = new ArrayList<>();
+			List<Param> slots = new ArrayList<>();
+			int from = 0;
+			if (snippet != null) {
+				// 内嵌参数按其在片段中出现的先后顺序排列
+				for (Param param : params) {
+					if (param.isJdbcPara()) {
+						continue;
+					}
+					String sqlName = param.getSqlName();
+					int index = snippet.indexOf(sqlName, from);
+					if (index < 0) {
+						continue;
+					}
+					literals.add(snippet.substring(from, index));
+					slots.add(param);
+					from = index + sqlName.length();
+				}
+				literals.add(snippet.substring(from));
+			} else {
+				literals.add("");
+			}
+			this.literals = literals.toArray(new String[0]);
+			this.slots = slots.toArray(new Param[0]);
+		}
+
 	}
 
 	/**
@@ -72,5 +72,54 @@ public @interface SearchBean {
 	 */
 	InheritType inheritType() default InheritType.DEFAULT;
 
+	/**
+	 * 聚族查询结果（总条数 与 统计值）的缓存时长（单位：秒），默认为 0 表示不缓存
+	 * 开启后，相同过滤条件的翻页检索（第 2..N 页）将直接使用缓存的总条数与统计值，不再执行聚族查询
+	 * 适用于数据变化不频繁、或可接受总条数短时延迟的场景
+	 * @see com.ejlchina.searcher.implement.ClusterResultCache
+	 * @since v3.3.0
+	 * @return 缓存时长（秒）
+	 */
+	long clusterCacheTtl() default 0;
+
+	/**
+	 * 检索结果的缓存时长（单位：秒），默认为 0 表示不缓存
+	 * 开启后，执行相同 SQL 与参数的检索将直接返回缓存的结果（缓存的数据对象在多次检索之间共享，请勿修改）
+	 * 写入数据后可调用 {@link com.ejlchina.searcher.ResultCache#evictByTable(String)} 使相关的缓存失效
+	 * 注意：实现了 {@link ParamAware } 的 SearchBean 不使用该缓存
+	 * @see com.ejlchina.searcher.ResultCache
+	 * @since v3.3.0
+	 * @return 缓存时长（秒）
+	 */
+	long resultCacheTtl() default 0;
+
+	/**
+	 * 检索优先级，默认为 0，值越大越优先
+	 * 当数据源设置了并发限制（{@link com.ejlchina.searcher.implement.Bulkhead }）且需要排队时，优先级高的检索先获得执行许可，
+	 * 例如可将耗时的报表类检索设为负数，使其让位于对延迟敏感的检索
+	 * @since v3.3.0
+	 * @return 优先级
+	 */
+	int priority() default 0;
+
+	/**
+	 * 检索 SQL 的执行超时时间（单位：秒），默认为 0 表示不限制
+	 * 将设置到 JDBC 语句的 {@link java.sql.Statement#setQueryTimeout(int)} 上，超时的检索将抛出 {@link com.ejlchina.searcher.SearchException }，
+	 * 单次检索可通过 {@link com.ejlchina.searcher.util.MapBuilder#queryTimeout(int)} 覆盖该值
+	 * @since v3.3.0
+	 * @return 超时时间（秒）
+	 */
+	int queryTimeout() default 0;
+
+	/**
+	 * 总数的上限，默认为 0 表示不限制（精确计数）
+	 * 大于 0 时，总数查询最多只数到 countLimit + 1 行（例如：select count(*) from (select 1 from ... limit ?, ?)），
+	 * 若超过上限，检索结果的总数为 countLimit，且 {@link com.ejlchina.searcher.SearchResult#isCountCapped()} 为 true，即可展示为 "10000+"
+	 * 适用于数据量巨大、精确计数耗时的表；同时检索统计值时不生效；searchCount 方法在超过上限时返回 countLimit + 1；单次检索可通过 {@link com.ejlchina.searcher.util.MapBuilder#countLimit(long)} 覆盖该值
+	 * @since v3.3.0
+	 * @return 总数的上限
+	 */
+	long countLimit() default 0;
+
 }
 
@@ -51,6 +51,17 @@ public interface Dialect {
 	 */
 	PaginateSql forPaginate(String fieldSelectSql, String fromWhereSql, Paging paging);
 
+	/**
+	 * 分页参数（只计算参数，不生成 SQL），用于 SQL 模板缓存命中时绑定参数
+	 * 默认实现要求 {@link #forPaginate } 生成的参数只与 paging 有关
+	 * @param paging 分页参数
+	 * @return 分页 SQL 的 JDBC 参数
+	 * @since v3.3.0
+	 */
+	default List<Object> paginateParams(Paging paging) {
+		return forPaginate("", "", paging).getParams();
+	}
+
 	
 	/**
 	 * 分页 SQL
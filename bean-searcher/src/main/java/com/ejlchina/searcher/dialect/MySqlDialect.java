@@ -3,6 +3,10 @@ package com.ejlchina.searcher.dialect;
 
 import com.ejlchina.searcher.param.Paging;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * MySql 方言实现
  *  
@@ -45,4 +49,12 @@ public class MySqlDialect implements Dialect {
 		return paginateSql;
 	}
 
+	@Override
+	public List<Object> paginateParams(Paging paging) {
+		if (paging == null) {
+			return Collections.emptyList();
+		}
+		return Arrays.asList(paging.getOffset(), paging.getSize());
+	}
+
 }
@@ -2,6 +2,10 @@ package com.ejlchina.searcher.dialect;
 
 import com.ejlchina.searcher.param.Paging;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Oracle 方言实现
  * 
@@ -73,4 +77,13 @@ public class OracleDialect implements Dialect {
 		return paginateSql;
 	}
 
+	@Override
+	public List<Object> paginateParams(Paging paging) {
+		if (paging == null) {
+			return Collections.emptyList();
+		}
+		long offset = paging.getOffset();
+		return Arrays.asList(offset + paging.getSize(), offset);
+	}
+
 }
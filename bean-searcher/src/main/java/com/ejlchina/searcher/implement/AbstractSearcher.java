@@ -2,11 +2,23 @@ package com.ejlchina.searcher.implement;
 
 import com.ejlchina.searcher.*;
 import com.ejlchina.searcher.SearchParam;
+import com.ejlchina.searcher.bean.ParamAware;
 import com.ejlchina.searcher.param.FetchType;
+import com.ejlchina.searcher.param.Paging;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /***
  * 自动检索器 根据 Bean 的 Class 和请求参数，自动检索 Bean
@@ -25,6 +37,43 @@ public abstract class AbstractSearcher implements Searcher {
 
 	private List<SqlInterceptor> interceptors = new ArrayList<>();
 
+	/**
+	 * 聚族查询结果缓存，只对 {@link com.ejlchina.searcher.bean.SearchBean#clusterCacheTtl()} 大于 0 的 SearchBean 生效
+	 * @since v3.3.0
+	 */
+	private ClusterResultCache clusterResultCache = new ClusterResultCache();
+
+	/**
+	 * 检索结果缓存，只对 {@link com.ejlchina.searcher.bean.SearchBean#resultCacheTtl()} 大于 0 的 SearchBean 生效
+	 * @since v3.3.0
+	 */
+	private ResultCache resultCache;
+
+	/**
+	 * 异步检索使用的线程池，为 null 时（默认）使用所有检索器共用的有界专用线程池（见 {@link DefaultAsyncExecutor}）
+	 * 由于 JDBC 调用是阻塞的，不使用 ForkJoinPool.commonPool()，以免耗尽公共线程池（JDK 21+ 也可设置为 Executors.newVirtualThreadPerTaskExecutor()）
+	 * @since v3.3.0
+	 */
+	private Executor asyncExecutor;
+
+	/**
+	 * 检索指标收集器，为 null 时（默认）不收集
+	 * @since v3.3.0
+	 */
+	private SearchMetrics metrics;
+
+	/**
+	 * 慢检索日志，为 null 时（默认）不记录
+	 * @since v3.3.0
+	 */
+	private SlowSearchLog slowSearchLog;
+
+	/**
+	 * 是否开启总数省略：同时检索列表与总数时，先执行列表查询，若本页未取满，则直接推算出总数，省去总数查询
+	 * @since v3.3.0
+	 */
+	private boolean countElision = false;
+
 	public AbstractSearcher() {
 	}
 
@@ -34,13 +83,36 @@ public abstract class AbstractSearcher implements Searcher {
 
 	@Override
 	public <T> Number searchCount(Class<T> beanClass, Map<String, Object> paraMap) {
-		try (SqlResult<T> result = doSearch(beanClass, paraMap, new FetchType(FetchType.ONLY_TOTAL))) {
-			return getCountFromSqlResult(result);
+		return searchCount(resolveSearchSql(beanClass, paraMap, new FetchType(FetchType.ONLY_TOTAL)));
+	}
+
+	/**
+	 * 检索总数，超过总数上限（{@link SearchSql#getCountLimit()}）时返回上限值
+	 * @since v3.3.0
+	 */
+	protected Number searchCount(SearchSql<?> searchSql) {
+		return capCount(searchSql, queryCount(searchSql));
+	}
+
+	/**
+	 * 执行总数查询，设置了总数上限时，结果最多为 上限 + 1
+	 */
+	private Number queryCount(SearchSql<?> searchSql) {
+		long start = System.nanoTime();
+		try (SqlResult<?> result = doSearch(searchSql)) {
+			Number count = getCountFromSqlResult(result);
+			recordSlowSearch(result, start);
+			return count;
 		} catch (SQLException e) {
 			throw new SearchException("A exception occurred when collect sql result!", e);
 		}
 	}
 
+	@Override
+	public <T> CompletableFuture<Number> searchCountAsync(Class<T> beanClass, Map<String, Object> paraMap) {
+		return async(() -> searchCount(beanClass, paraMap));
+	}
+
 	@Override
 	public <T> Number searchSum(Class<T> beanClass, Map<String, Object> paraMap, String field) {
 		String[] fields = { Objects.requireNonNull(field) };
@@ -54,18 +126,56 @@ public abstract class AbstractSearcher implements Searcher {
 			throw new SearchException("检索该 Bean【" + beanClass.getName()
 			+ "】的统计信息时，必须要指定需要统计的属性！");
 		}
+		long start = System.nanoTime();
 		try (SqlResult<T> result = doSearch(beanClass, paraMap, new FetchType(FetchType.ONLY_SUMMARY, fields))) {
-			return getSummaryFromSqlResult(result);
+			Number[] summaries = getSummaryFromSqlResult(result);
+			recordSlowSearch(result, start);
+			return summaries;
 		} catch (SQLException e) {
 			throw new SearchException("A exception occurred when collect sql result!", e);
 		}
 	}
 
 	protected Number getCountFromSqlResult(SqlResult<?> sqlResult) throws SQLException {
+		Number[] clusterValues = sqlResult.getClusterValues();
+		if (clusterValues != null) {
+			return clusterValues[0];
+		}
 		return (Number) sqlResult.getAlreadyClusterResult().getObject(sqlResult.getSearchSql().getCountAlias());
 	}
 
+	/**
+	 * 设置检索结果的总数，若超过了总数上限（{@link SearchSql#getCountLimit()}），则总数取上限值，并标记为已达上限
+	 * @param result 检索结果
+	 * @param searchSql 检索的 SQL 信息
+	 * @param count 总数查询的结果
+	 * @since v3.3.0
+	 */
+	protected void setTotalCount(SearchResult<?> result, SearchSql<?> searchSql, Number count) {
+		Number capped = capCount(searchSql, count);
+		result.setTotalCount(capped);
+		result.setCountCapped(capped != count);
+	}
+
+	/**
+	 * @param searchSql 检索的 SQL 信息
+	 * @param count 总数查询的结果
+	 * @return 超过了总数上限时返回上限值，否则返回 count 本身
+	 * @since v3.3.0
+	 */
+	protected Number capCount(SearchSql<?> searchSql, Number count) {
+		long countLimit = searchSql.getCountLimit();
+		if (countLimit > 0 && count != null && count.longValue() > countLimit) {
+			return countLimit;
+		}
+		return count;
+	}
+
 	protected Number[] getSummaryFromSqlResult(SqlResult<?> sqlResult) throws SQLException {
+		Number[] clusterValues = sqlResult.getClusterValues();
+		if (clusterValues != null) {
+			return Arrays.copyOfRange(clusterValues, 1, clusterValues.length);
+		}
 		List<String> summaryAliases = sqlResult.getSearchSql().getSummaryAliases();
 		ResultSet countResultSet = sqlResult.getAlreadyClusterResult();
 		Number[] summaries = new Number[summaryAliases.size()];
@@ -77,13 +187,391 @@ public abstract class AbstractSearcher implements Searcher {
 	}
 
 	protected <T> SqlResult<T> doSearch(Class<T> beanClass, Map<String, Object> paraMap, FetchType fetchType) {
+		return doSearch(resolveSearchSql(beanClass, paraMap, fetchType));
+	}
+
+	/**
+	 * 解析检索 SQL（已经过 SqlInterceptor 拦截）
+	 * @since v3.3.0
+	 */
+	protected <T> SearchSql<T> resolveSearchSql(Class<T> beanClass, Map<String, Object> paraMap, FetchType fetchType) {
 		if (sqlExecutor == null) {
 			throw new SearchException("you must set a sqlExecutor before search.");
 		}
 		BeanMeta<T> beanMeta = metaResolver.resolve(beanClass);
+		if (metrics == null) {
+			SearchParam searchParam = paramResolver.resolve(beanMeta, fetchType, paraMap);
+			return intercept(sqlResolver.resolve(beanMeta, searchParam), paraMap);
+		}
+		long start = System.nanoTime();
 		SearchParam searchParam = paramResolver.resolve(beanMeta, fetchType, paraMap);
-		SearchSql<T> searchSql = sqlResolver.resolve(beanMeta, searchParam);
-		return sqlExecutor.execute(intercept(searchSql, paraMap));
+		long resolved = System.nanoTime();
+		metrics.recordTime(beanClass, SearchMetrics.Stage.PARAM_RESOLVE, resolved - start);
+		SearchSql<T> searchSql = intercept(sqlResolver.resolve(beanMeta, searchParam), paraMap);
+		metrics.recordTime(beanClass, SearchMetrics.Stage.SQL_RESOLVE, System.nanoTime() - resolved);
+		return searchSql;
+	}
+
+	/**
+	 * 记录结果映射的耗时与行数
+	 * @param sqlResult SQL 执行结果
+	 * @param startNanos 映射开始的时间（{@link System#nanoTime()}）
+	 * @param rows 映射的行数
+	 * @since v3.3.0
+	 */
+	protected void recordMapping(SqlResult<?> sqlResult, long startNanos, int rows) {
+		long nanos = System.nanoTime() - startNanos;
+		sqlResult.addStageNanos(SearchMetrics.Stage.RESULT_MAPPING, nanos);
+		sqlResult.setRowCount(rows);
+		if (metrics != null) {
+			Class<?> beanClass = sqlResult.getSearchSql().getBeanMeta().getBeanClass();
+			metrics.recordTime(beanClass, SearchMetrics.Stage.RESULT_MAPPING, nanos);
+			metrics.recordRows(beanClass, rows);
+		}
+	}
+
+	/**
+	 * 检索完成后调用，若耗时超过阈值，则记录到慢检索日志
+	 * @param sqlResult SQL 执行结果
+	 * @param startNanos 检索开始执行的时间（{@link System#nanoTime()}）
+	 * @since v3.3.0
+	 */
+	protected void recordSlowSearch(SqlResult<?> sqlResult, long startNanos) {
+		if (slowSearchLog != null) {
+			slowSearchLog.record(sqlResult, System.nanoTime() - startNanos);
+		}
+	}
+
+	/**
+	 * 执行检索 SQL
+	 * @since v3.3.0
+	 */
+	protected <T> SqlResult<T> doSearch(SearchSql<T> searchSql) {
+		long clusterCacheTtl = searchSql.getBeanMeta().getClusterCacheTtl();
+		if (clusterResultCache != null && clusterCacheTtl > 0 && searchSql.isShouldQueryCluster()) {
+			return executeWithClusterCache(searchSql, clusterCacheTtl);
+		}
+		return sqlExecutor.execute(searchSql);
+	}
+
+	/**
+	 * 使用聚族结果缓存执行检索：命中时跳过聚族查询，未命中时执行后写入缓存
+	 * @param searchSql 检索的 SQL 信息
+	 * @param ttl 缓存时长（秒）
+	 * @since v3.3.0
+	 */
+	protected <T> SqlResult<T> executeWithClusterCache(SearchSql<T> searchSql, long ttl) {
+		Number[] clusterValues = clusterResultCache.get(searchSql);
+		if (clusterValues != null) {
+			searchSql.setShouldQueryCluster(false);
+			SqlResult<T> sqlResult = sqlExecutor.execute(searchSql);
+			sqlResult.setClusterValues(clusterValues);
+			return sqlResult;
+		}
+		SqlResult<T> sqlResult = sqlExecutor.execute(searchSql);
+		try {
+			if (sqlResult.getAlreadyClusterResult() != null) {
+				Number count = searchSql.getCountAlias() != null ? getCountFromSqlResult(sqlResult) : null;
+				Number[] summaries = getSummaryFromSqlResult(sqlResult);
+				clusterValues = new Number[summaries.length + 1];
+				clusterValues[0] = count;
+				System.arraycopy(summaries, 0, clusterValues, 1, summaries.length);
+				clusterResultCache.put(searchSql, clusterValues, ttl);
+				sqlResult.setClusterValues(clusterValues);
+			}
+		} catch (SQLException e) {
+			sqlResult.close();
+			throw new SearchException("A exception occurred when collecting sql result!", e);
+		}
+		return sqlResult;
+	}
+
+	/**
+	 * 创建批量检索
+	 * @param searcher 当前检索器
+	 * @param <S> 检索器类型
+	 * @return 批量检索
+	 * @since v3.3.0
+	 */
+	protected <S extends Searcher> SearchBatch<S> newBatch(S searcher) {
+		return new SearchBatch<>(searcher, new SearchBatch.Runner() {
+
+			@Override
+			public void run(Runnable task) {
+				if (sqlExecutor == null) {
+					throw new SearchException("you must set a sqlExecutor before search.");
+				}
+				sqlExecutor.executeBatch(task);
+			}
+
+			@Override
+			public Number[] searchCounts(List<Class<?>> beanClasses, List<Map<String, Object>> paraMaps) {
+				return AbstractSearcher.this.searchCounts(beanClasses, paraMaps);
+			}
+
+		});
+	}
+
+	/**
+	 * 检索多个总数：同一数据源且不使用聚族结果缓存的总数检索，合并为一条 UNION ALL 语句执行，例如：
+	 * select 0 b_i, t0.* from (select count(*) ...) t0 union all select 1 b_i, t1.* from (select count(*) ...) t1
+	 * @param beanClasses 要检索的 bean 类型
+	 * @param paraMaps 检索参数，与 beanClasses 一一对应
+	 * @return 总数，与 beanClasses 一一对应
+	 * @since v3.3.0
+	 */
+	protected Number[] searchCounts(List<Class<?>> beanClasses, List<Map<String, Object>> paraMaps) {
+		Number[] counts = new Number[beanClasses.size()];
+		List<SearchSql<?>> searchSqls = new ArrayList<>(counts.length);
+		// 数据源名 -> 检索下标
+		Map<String, List<Integer>> groups = new LinkedHashMap<>();
+		for (int i = 0; i < counts.length; i++) {
+			SearchSql<?> searchSql = resolveSearchSql(beanClasses.get(i), paraMaps.get(i), new FetchType(FetchType.ONLY_TOTAL));
+			searchSqls.add(searchSql);
+			BeanMeta<?> beanMeta = searchSql.getBeanMeta();
+			boolean cached = clusterResultCache != null && beanMeta.getClusterCacheTtl() > 0;
+			if (searchSql.isShouldQueryCluster() && !searchSql.isShouldQueryList() && !cached) {
+				String dataSource = beanMeta.getDataSource() != null ? beanMeta.getDataSource().trim() : "";
+				groups.computeIfAbsent(dataSource, k -> new ArrayList<>()).add(i);
+			} else {
+				counts[i] = searchCount(searchSql);
+			}
+		}
+		for (List<Integer> indexes : groups.values()) {
+			if (indexes.size() == 1) {
+				int index = indexes.get(0);
+				counts[index] = searchCount(searchSqls.get(index));
+				continue;
+			}
+			List<SearchSql<?>> groupSqls = new ArrayList<>(indexes.size());
+			for (int index : indexes) {
+				groupSqls.add(searchSqls.get(index));
+			}
+			Number[] groupCounts = searchMergedCounts(groupSqls);
+			for (int i = 0; i < groupCounts.length; i++) {
+				counts[indexes.get(i)] = groupCounts[i];
+			}
+		}
+		return counts;
+	}
+
+	private <T> Number[] searchMergedCounts(List<SearchSql<?>> searchSqls) {
+		@SuppressWarnings("unchecked")
+		BeanMeta<T> beanMeta = (BeanMeta<T>) searchSqls.get(0).getBeanMeta();
+		SearchSql<T> mergedSql = new SearchSql<>(beanMeta, Collections.emptyList());
+		mergedSql.setShouldQueryList(false);
+		mergedSql.setShouldQueryCluster(true);
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < searchSqls.size(); i++) {
+			SearchSql<?> searchSql = searchSqls.get(i);
+			// 合并后的 SQL 取各检索中最长的超时时间（有一个不限制则不限制），及第一个取消句柄
+			int timeout = searchSql.getQueryTimeout();
+			if (i == 0 || mergedSql.getQueryTimeout() > 0 && (timeout == 0 || timeout > mergedSql.getQueryTimeout())) {
+				mergedSql.setQueryTimeout(timeout);
+			}
+			if (mergedSql.getCancelToken() == null) {
+				mergedSql.setCancelToken(searchSql.getCancelToken());
+			}
+			if (i > 0) {
+				builder.append(" union all ");
+			}
+			builder.append("select ").append(i).append(" b_i, t").append(i).append(".* from (")
+					.append(searchSql.getClusterSqlString()).append(") t").append(i);
+			for (Object param : searchSql.getClusterSqlParams()) {
+				mergedSql.addClusterSqlParam(param);
+			}
+		}
+		mergedSql.setClusterSqlString(builder.toString());
+		Number[] counts = new Number[searchSqls.size()];
+		try (SqlResult<T> sqlResult = sqlExecutor.execute(mergedSql)) {
+			ResultSet resultSet = sqlResult.getAlreadyClusterResult();
+			for (int i = 0; i < counts.length; i++) {
+				int index = resultSet.getInt(1);
+				counts[index] = capCount(searchSqls.get(index), (Number) resultSet.getObject(2));
+				if (!resultSet.next()) {
+					break;
+				}
+			}
+		} catch (SQLException e) {
+			throw new SearchException("A exception occurred when collect sql result!", e);
+		}
+		return counts;
+	}
+
+	/**
+	 * 在异步检索线程池中执行检索
+	 * @param search 检索逻辑
+	 * @param <R> 检索结果类型
+	 * @return CompletableFuture
+	 * @since v3.3.0
+	 */
+	protected <R> CompletableFuture<R> async(Supplier<R> search) {
+		return CompletableFuture.supplyAsync(search, getAsyncExecutor());
+	}
+
+	/**
+	 * 使用检索结果缓存执行检索：命中时直接返回缓存的结果（数据列表为缓存的浅拷贝），未命中时执行检索并写入缓存
+	 * 流式检索、实现了 {@link ParamAware } 的 SearchBean 不使用缓存
+	 * @param searchSql 检索的 SQL 信息
+	 * @param search 实际的检索逻辑
+	 * @param <R> 数据类型
+	 * @return 检索结果
+	 * @since v3.3.0
+	 */
+	protected <R> SearchResult<R> searchWithResultCache(SearchSql<?> searchSql, Supplier<SearchResult<R>> search) {
+		BeanMeta<?> beanMeta = searchSql.getBeanMeta();
+		long ttl = beanMeta.getResultCacheTtl();
+		if (resultCache == null || ttl <= 0 || searchSql.isStreaming()
+				|| ParamAware.class.isAssignableFrom(beanMeta.getBeanClass())) {
+			return search.get();
+		}
+		ResultCache.Key key = new ResultCache.Key(getClass(), searchSql);
+		SearchResult<R> cached = resultCache.get(key);
+		if (cached == null) {
+			Set<String> tags = beanMeta.getTableNames();
+			// 检索执行期间若有表被失效，则不写入该结果
+			long version = resultCache.version(tags);
+			cached = search.get();
+			resultCache.put(key, cached, tags, ttl, version);
+		}
+		SearchResult<R> result = new SearchResult<>(new ArrayList<>(cached.getDataList()));
+		result.setTotalCount(cached.getTotalCount());
+		result.setSummaries(cached.getSummaries() != null ? cached.getSummaries().clone() : null);
+		result.setNextSeekValues(cached.getNextSeekValues());
+		result.setCountCapped(cached.isCountCapped());
+		return result;
+	}
+
+	/**
+	 * 总数省略：先只执行列表查询，若本页未取满，且本页有数据或是第一页，则总数 = 偏移量 + 本页行数，否则再执行总数查询
+	 * 只对 检索了总数但没有检索统计值、且非键集分页 的检索生效
+	 * @param searchSql 检索的 SQL 信息
+	 * @param search 实际的检索逻辑
+	 * @param <R> 数据类型
+	 * @return 检索结果
+	 * @since v3.3.0
+	 */
+	protected <R> SearchResult<R> searchWithCountElision(SearchSql<?> searchSql, Supplier<SearchResult<R>> search) {
+		Paging paging = searchSql.getPaging();
+		if (!countElision || !searchSql.isShouldQueryList() || !searchSql.isShouldQueryCluster() || paging == null
+				|| paging.isSeek() || searchSql.getCountAlias() == null || !searchSql.getSummaryAliases().isEmpty()) {
+			return search.get();
+		}
+		searchSql.setShouldQueryCluster(false);
+		SearchResult<R> result = search.get();
+		int rows = result.getDataList().size();
+		if (rows < paging.getSize() && (rows > 0 || paging.getOffset() == 0)) {
+			setTotalCount(result, searchSql, paging.getOffset() + rows);
+		} else {
+			searchSql.setShouldQueryList(false);
+			searchSql.setShouldQueryCluster(true);
+			setTotalCount(result, searchSql, queryCount(searchSql));
+		}
+		result.setSummaries(new Number[0]);
+		return result;
+	}
+
+	/**
+	 * 键集分页时，若本页已取满，则取最后一条数据的键值作为下一页的游标
+	 * @param searchSql 检索的 SQL 信息
+	 * @param dataList 本页数据
+	 * @param valueGetter 字段值获取器：(数据, 字段名) -> 字段值
+	 * @param <R> 数据类型
+	 * @return 下一页的游标，非键集分页或没有下一页时为 null
+	 * @since v3.3.0
+	 */
+	protected <R> Object[] nextSeekValues(SearchSql<?> searchSql, List<R> dataList, BiFunction<R, String, Object> valueGetter) {
+		String[] seekFields = searchSql.getSeekFields();
+		Paging paging = searchSql.getPaging();
+		if (seekFields == null || paging == null || dataList.isEmpty() || dataList.size() < paging.getSize()) {
+			return null;
+		}
+		R last = dataList.get(dataList.size() - 1);
+		Object[] values = new Object[seekFields.length];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = valueGetter.apply(last, seekFields[i]);
+		}
+		return values;
+	}
+
+	/**
+	 * 把列表结果集包装为惰性的数据流，数据流关闭时记录结果映射的耗时与行数（以及慢检索），并关闭 sqlResult
+	 * 映射耗时只累计读取与转换行数据的时间，不包括消费数据的时间
+	 * @param sqlResult SQL 执行结果
+	 * @param rowMapper 行映射器
+	 * @param searchStart 检索开始执行的时间（{@link System#nanoTime()}）
+	 * @param <R> 行数据类型
+	 * @return 数据流
+	 * @since v3.3.0
+	 */
+	protected <R> Stream<R> toStream(SqlResult<?> sqlResult, RowMapper<R> rowMapper, long searchStart) {
+		long executeNanos = System.nanoTime() - searchStart;
+		ResultSet listResult = sqlResult.getListResult();
+		if (listResult == null) {
+			recordStream(sqlResult, executeNanos, 0, 0);
+			return Stream.<R>empty();
+		}
+		class RowIterator implements Iterator<R> {
+
+			// 为 null 表示还未移动游标
+			private Boolean hasNext;
+
+			private long mappingNanos;
+
+			private int rows;
+
+			@Override
+			public boolean hasNext() {
+				if (hasNext == null) {
+					long start = System.nanoTime();
+					try {
+						hasNext = listResult.next();
+					} catch (SQLException e) {
+						throw new SearchException("A exception occurred when collecting sql result!", e);
+					} finally {
+						mappingNanos += System.nanoTime() - start;
+					}
+				}
+				return hasNext;
+			}
+
+			@Override
+			public R next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				hasNext = null;
+				long start = System.nanoTime();
+				try {
+					R row = rowMapper.map(listResult);
+					rows++;
+					return row;
+				} catch (SQLException e) {
+					throw new SearchException("A exception occurred when collecting sql result!", e);
+				} finally {
+					mappingNanos += System.nanoTime() - start;
+				}
+			}
+
+		}
+		RowIterator iterator = new RowIterator();
+		Spliterator<R> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false)
+				.onClose(() -> recordStream(sqlResult, executeNanos, iterator.mappingNanos, iterator.rows));
+	}
+
+	/**
+	 * 流式检索结束时记录结果映射与慢检索，并关闭 sqlResult
+	 */
+	private void recordStream(SqlResult<?> sqlResult, long executeNanos, long mappingNanos, int rows) {
+		try {
+			long now = System.nanoTime();
+			// 换算成开始时间，使记录的耗时不包括消费数据的时间
+			recordMapping(sqlResult, now - mappingNanos, rows);
+			recordSlowSearch(sqlResult, now - executeNanos - mappingNanos);
+		} finally {
+			sqlResult.close();
+		}
 	}
 
 	protected <T> SearchSql<T> intercept(SearchSql<T> searchSql, Map<String, Object> paraMap) {
@@ -133,4 +621,130 @@ public abstract class AbstractSearcher implements Searcher {
 		this.interceptors = Objects.requireNonNull(interceptors);
 	}
 
+	public ResultCache getResultCache() {
+		return resultCache;
+	}
+
+	/**
+	 * 设置检索结果缓存
+	 * @param resultCache 检索结果缓存，为 null（默认）时表示不使用缓存
+	 * @since v3.3.0
+	 */
+	public void setResultCache(ResultCache resultCache) {
+		this.resultCache = resultCache;
+	}
+
+	public Executor getAsyncExecutor() {
+		Executor executor = asyncExecutor;
+		return executor != null ? executor : DefaultAsyncExecutor.INSTANCE;
+	}
+
+	/**
+	 * 设置异步检索使用的线程池
+	 * @param asyncExecutor 线程池
+	 * @since v3.3.0
+	 */
+	public void setAsyncExecutor(Executor asyncExecutor) {
+		this.asyncExecutor = Objects.requireNonNull(asyncExecutor);
+	}
+
+	/**
+	 * 默认的异步检索线程池（首次使用时创建）：最多 {@value #THREADS} 个守护线程，空闲 60 秒后回收，
+	 * 最多排队 {@value #QUEUE_SIZE} 个检索，队列已满时在提交检索的线程中直接执行
+	 * @since v3.3.0
+	 */
+	public static class DefaultAsyncExecutor {
+
+		public static final int THREADS = 8;
+
+		public static final int QUEUE_SIZE = 1024;
+
+		static final Executor INSTANCE = create(THREADS, QUEUE_SIZE);
+
+		/**
+		 * 以默认线程池的设置创建一个新的有界线程池，用完后需由调用者关闭
+		 * @param threads 线程数
+		 * @param queueSize 队列大小
+		 * @return 线程池
+		 */
+		public static ThreadPoolExecutor create(int threads, int queueSize) {
+			AtomicInteger index = new AtomicInteger();
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+					new ArrayBlockingQueue<>(queueSize), runnable -> {
+						Thread thread = new Thread(runnable, "bean-searcher-async-" + index.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}, new ThreadPoolExecutor.CallerRunsPolicy());
+			executor.allowCoreThreadTimeOut(true);
+			return executor;
+		}
+
+	}
+
+	public SearchMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * 设置检索指标收集器，用于记录参数解析、SQL 生成 与 结果映射 阶段的指标
+	 * 获取连接与执行 SQL 阶段的指标由 {@link DefaultSqlExecutor#setMetrics(SearchMetrics)} 记录
+	 * @param metrics 指标收集器，为 null 时表示不收集
+	 * @since v3.3.0
+	 */
+	public void setMetrics(SearchMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	public SlowSearchLog getSlowSearchLog() {
+		return slowSearchLog;
+	}
+
+	/**
+	 * 设置慢检索日志
+	 * @param slowSearchLog 慢检索日志，为 null 时表示不记录
+	 * @since v3.3.0
+	 */
+	public void setSlowSearchLog(SlowSearchLog slowSearchLog) {
+		this.slowSearchLog = slowSearchLog;
+	}
+
+	public boolean isCountElision() {
+		return countElision;
+	}
+
+	/**
+	 * 设置是否开启总数省略，开启后，本页未取满的检索不再执行总数查询，
+	 * 但需要执行总数查询的检索，其列表查询与总数查询不再在同一个连接上连续执行（也不再并行执行）
+	 * @param countElision 是否开启
+	 * @since v3.3.0
+	 */
+	public void setCountElision(boolean countElision) {
+		this.countElision = countElision;
+	}
+
+	public ClusterResultCache getClusterResultCache() {
+		return clusterResultCache;
+	}
+
+	/**
+	 * 设置聚族查询结果缓存
+	 * @param clusterResultCache 聚族查询结果缓存，为 null 时表示不使用缓存
+	 * @since v3.3.0
+	 */
+	public void setClusterResultCache(ClusterResultCache clusterResultCache) {
+		this.clusterResultCache = clusterResultCache;
+	}
+
+	/**
+	 * 行映射器：把结果集的当前行转换为一条数据
+	 * @param <R> 数据类型
+	 * @since v3.3.0
+	 */
+	@FunctionalInterface
+	protected interface RowMapper<R> {
+
+		R map(ResultSet resultSet) throws SQLException;
+
+	}
+
 }
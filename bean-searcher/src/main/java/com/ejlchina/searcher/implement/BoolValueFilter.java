@@ -1,6 +1,5 @@
 package com.ejlchina.searcher.implement;
 
-import com.ejlchina.searcher.FieldMeta;
 import com.ejlchina.searcher.BeanMeta;
 import com.ejlchina.searcher.ParamFilter;
 
@@ -8,6 +7,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Bool 值过滤器
@@ -42,61 +42,64 @@ public class BoolValueFilter implements ParamFilter {
 	 */
 	private String[] falseValues = new String[] { "0", "OFF", "FALSE", "N", "NO", "F" };
 
+	/**
+	 * 忽略大小写参数名的完整后缀：separator + ignoreCaseSuffix
+	 */
+	private String icSuffix = separator + ignoreCaseSuffix;
+
 
 	@Override
 	public <T> Map<String, Object> doFilter(BeanMeta<T> beanMeta, Map<String, Object> paraMap) {
-		String[] fields = getBoolFieldList(beanMeta);
-		String icSuffix = separator + ignoreCaseSuffix;
-		Map<String, Object> map = new HashMap<>();
+		Set<String> fields = beanMeta.getBoolFieldSet();
+		// 写时复制：只有参数需要改写时才复制一份，否则原样返回
+		Map<String, Object> map = null;
 		for (Entry<String, Object> entry : paraMap.entrySet()) {
 			String key = entry.getKey();
 			Object value = entry.getValue();
-			if (key.endsWith(icSuffix)) {
-				map.put(key, toBoolean(value));
-				continue;
-			}
-			String field = findField(fields, key);
+			String field = key.endsWith(icSuffix) ? key : findField(fields, key);
 			if (field == null) {
 				// 不是 Bool 字段
-				map.put(key, value);
 				continue;
 			}
-			// 是 Bool 字段
 			if (key.length() == field.length()) {
-				map.put(field, toBoolean(value));
+				// 忽略大小写参数 或 Bool 字段
+				Boolean bool = toBoolean(value);
+				if (map != null || bool != value) {
+					map = copyIfNull(map, paraMap);
+					map.put(key, bool);
+				}
 				continue;
 			}
+			map = copyIfNull(map, paraMap);
+			map.remove(key);
 			map.put(field, key.endsWith(trueSuffix));
 		}
-		return map;
+		return map != null ? map : paraMap;
 	}
 
-	protected String[] getBoolFieldList(BeanMeta<?> beanMeta) {
-		return beanMeta.getFieldMetas().stream()
-				.filter(meta -> {
-					Class<?> type = meta.getType();
-					return type == boolean.class || type == Boolean.class;
-				})
-				.map(FieldMeta::getName)
-				.toArray(String[]::new);
+	private Map<String, Object> copyIfNull(Map<String, Object> map, Map<String, Object> paraMap) {
+		return map != null ? map : new HashMap<>(paraMap);
 	}
 
-	protected String findField(String[] fields, String key) {
-		for (String field: fields) {
-			if (key.startsWith(field)) {
-				int fLen = field.length();
-				if (key.length() == fLen) {
-					return field;
-				}
-				String suffix = key.substring(fLen);
-				if (!suffix.startsWith(separator)) {
-					continue;
-				}
-				int len = suffix.length() - separator.length();
-				if (len == falseSuffix.length() && suffix.endsWith(falseSuffix)
-						|| len == trueSuffix.length() && suffix.endsWith(trueSuffix)) {
-					return field;
-				}
+	protected String findField(Set<String> fields, String key) {
+		if (fields.isEmpty()) {
+			return null;
+		}
+		if (fields.contains(key)) {
+			return key;
+		}
+		int fLen = key.length() - separator.length();
+		if (key.endsWith(trueSuffix)) {
+			fLen -= trueSuffix.length();
+		} else if (key.endsWith(falseSuffix)) {
+			fLen -= falseSuffix.length();
+		} else {
+			return null;
+		}
+		if (fLen > 0 && key.startsWith(separator, fLen)) {
+			String field = key.substring(0, fLen);
+			if (fields.contains(field)) {
+				return field;
 			}
 		}
 		return null;
@@ -128,6 +131,7 @@ public class BoolValueFilter implements ParamFilter {
 
 	public void setSeparator(String separator) {
 		this.separator = Objects.requireNonNull(separator);
+		this.icSuffix = separator + ignoreCaseSuffix;
 	}
 
 	public String getTrueSuffix() {
@@ -152,6 +156,7 @@ public class BoolValueFilter implements ParamFilter {
 
 	public void setIgnoreCaseSuffix(String ignoreCaseSuffix) {
 		this.ignoreCaseSuffix = Objects.requireNonNull(ignoreCaseSuffix);
+		this.icSuffix = separator + ignoreCaseSuffix;
 	}
 
 	public String[] getFalseValues() {
@@ -0,0 +1,218 @@
+package com.ejlchina.searcher.implement;
+
+import com.ejlchina.searcher.SearchException;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 数据源的并发限制（舱壁）
+ * 同时持有连接的检索不超过 maxInFlight 个，其余的检索进入有界的等待队列，
+ * 队列按 {@link com.ejlchina.searcher.bean.SearchBean#priority()} 从高到低、同优先级先到先得的顺序获得许可，
+ * 队列已满 或 等待超时 的检索将抛出 {@link SearchException}
+ * 用于防止突发的大量（或耗时的）检索耗尽与业务写入共用的连接池
+ *
+ * @see DefaultSqlExecutor#setBulkhead(String, Bulkhead)
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public class Bulkhead {
+
+	/**
+	 * 最大并发数
+	 */
+	private final int maxInFlight;
+
+	/**
+	 * 等待队列的最大长度
+	 */
+	private final int maxQueued;
+
+	/**
+	 * 最长等待时间（毫秒）
+	 */
+	private final long maxWaitMillis;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+			Comparator.<Waiter>comparingInt(w -> w.priority).reversed().thenComparingLong(w -> w.sequence));
+
+	private int inFlight = 0;
+
+	private long sequence = 0;
+
+	private final LongAdder acquiredCount = new LongAdder();
+
+	private final LongAdder rejectedCount = new LongAdder();
+
+	private final LongAdder timeoutCount = new LongAdder();
+
+	private final LongAdder waitNanos = new LongAdder();
+
+	/**
+	 * @param maxInFlight 最大并发数
+	 * @param maxQueued 等待队列的最大长度，为 0 时不排队
+	 * @param maxWaitMillis 最长等待时间（毫秒）
+	 */
+	public Bulkhead(int maxInFlight, int maxQueued, long maxWaitMillis) {
+		if (maxInFlight <= 0 || maxQueued < 0 || maxWaitMillis < 0) {
+			throw new IllegalArgumentException("maxInFlight must be greater than 0, and maxQueued and maxWaitMillis can not be negative");
+		}
+		this.maxInFlight = maxInFlight;
+		this.maxQueued = maxQueued;
+		this.maxWaitMillis = maxWaitMillis;
+	}
+
+	/**
+	 * 获取许可，必要时排队等待
+	 * @param priority 优先级，值越大越优先
+	 * @throws SearchException 队列已满、等待超时 或 等待时被中断
+	 */
+	public void acquire(int priority) {
+		lock.lock();
+		try {
+			if (inFlight < maxInFlight && waiters.isEmpty()) {
+				inFlight++;
+				acquiredCount.increment();
+				return;
+			}
+			if (waiters.size() >= maxQueued) {
+				rejectedCount.increment();
+				throw new SearchException("Too many searches on the data source, in flight: " + inFlight + ", queued: " + waiters.size());
+			}
+			Waiter waiter = new Waiter(priority, sequence++, lock.newCondition());
+			waiters.add(waiter);
+			long start = System.nanoTime();
+			long nanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+			try {
+				while (!waiter.granted) {
+					if (nanos <= 0) {
+						waiters.remove(waiter);
+						timeoutCount.increment();
+						throw new SearchException("Waiting for the data source timed out after " + maxWaitMillis + " ms");
+					}
+					nanos = waiter.condition.awaitNanos(nanos);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				if (!waiter.granted) {
+					waiters.remove(waiter);
+					throw new SearchException("Interrupted while waiting for the data source", e);
+				}
+				// 中断前已获得许可，继续执行
+			} finally {
+				waitNanos.add(System.nanoTime() - start);
+			}
+			acquiredCount.increment();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 归还许可，若有排队的检索，则直接转交给其中优先级最高的
+	 */
+	public void release() {
+		lock.lock();
+		try {
+			Waiter next = waiters.poll();
+			if (next != null) {
+				next.granted = true;
+				next.condition.signal();
+			} else if (inFlight > 0) {
+				inFlight--;
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public int getMaxInFlight() {
+		return maxInFlight;
+	}
+
+	public int getMaxQueued() {
+		return maxQueued;
+	}
+
+	public long getMaxWaitMillis() {
+		return maxWaitMillis;
+	}
+
+	/**
+	 * @return 当前持有许可的检索数
+	 */
+	public int getInFlight() {
+		lock.lock();
+		try {
+			return inFlight;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return 当前排队的检索数
+	 */
+	public int getQueued() {
+		lock.lock();
+		try {
+			return waiters.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return 累计获得许可的次数
+	 */
+	public long getAcquiredCount() {
+		return acquiredCount.sum();
+	}
+
+	/**
+	 * @return 累计因队列已满被拒绝的次数
+	 */
+	public long getRejectedCount() {
+		return rejectedCount.sum();
+	}
+
+	/**
+	 * @return 累计等待超时的次数
+	 */
+	public long getTimeoutCount() {
+		return timeoutCount.sum();
+	}
+
+	/**
+	 * @param unit 时间单位
+	 * @return 累计的排队等待时间
+	 */
+	public long getWaitTime(TimeUnit unit) {
+		return unit.convert(waitNanos.sum(), TimeUnit.NANOSECONDS);
+	}
+
+	static class Waiter {
+
+		final int priority;
+
+		final long sequence;
+
+		final Condition condition;
+
+		boolean granted = false;
+
+		Waiter(int priority, long sequence, Condition condition) {
+			this.priority = priority;
+			this.sequence = sequence;
+			this.condition = condition;
+		}
+
+	}
+
+}
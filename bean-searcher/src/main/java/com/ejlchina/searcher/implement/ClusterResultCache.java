@@ -0,0 +1,94 @@
+package com.ejlchina.searcher.implement;
+
+import com.ejlchina.searcher.SearchSql;
+import com.ejlchina.searcher.util.ConcurrentLruCache;
+
+import java.util.*;
+
+/**
+ * 聚族查询结果（总条数 与 统计值）缓存
+ * 以 数据源、聚族 SQL 与 聚族 SQL 参数 为 Key，条目在 {@link com.ejlchina.searcher.bean.SearchBean#clusterCacheTtl()} 秒后过期，
+ * 超过最大条数时淘汰最久未使用的条目（LRU）
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public class ClusterResultCache {
+
+	/**
+	 * 最大缓存条数
+	 */
+	private int maxEntries = 1024;
+
+	private ConcurrentLruCache<List<Object>, CacheEntry> cache = new ConcurrentLruCache<>(maxEntries);
+
+
+	/**
+	 * @param searchSql 检索的 SQL 信息
+	 * @return 未过期的聚族结果：[总条数, 统计值1, 统计值2, ...]，未命中时返回 null
+	 */
+	public Number[] get(SearchSql<?> searchSql) {
+		List<Object> key = toKey(searchSql);
+		CacheEntry entry = cache.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.expireAt < System.currentTimeMillis()) {
+			cache.remove(key, entry);
+			return null;
+		}
+		return entry.values.clone();
+	}
+
+	/**
+	 * @param searchSql 检索的 SQL 信息
+	 * @param values 聚族结果：[总条数, 统计值1, 统计值2, ...]
+	 * @param ttl 缓存时长（秒）
+	 */
+	public void put(SearchSql<?> searchSql, Number[] values, long ttl) {
+		long expireAt = System.currentTimeMillis() + ttl * 1000;
+		cache.put(toKey(searchSql), new CacheEntry(values.clone(), expireAt));
+	}
+
+	/**
+	 * 清空缓存
+	 */
+	public void clear() {
+		cache.clear();
+	}
+
+	protected List<Object> toKey(SearchSql<?> searchSql) {
+		return Arrays.asList(
+				searchSql.getBeanMeta().getDataSource(),
+				searchSql.getClusterSqlString(),
+				new ArrayList<>(searchSql.getClusterSqlParams())
+		);
+	}
+
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	/**
+	 * 设置最大缓存条数
+	 * @param maxEntries 最大缓存条数
+	 */
+	public void setMaxEntries(int maxEntries) {
+		this.maxEntries = maxEntries;
+		this.cache = new ConcurrentLruCache<>(maxEntries);
+	}
+
+	static class CacheEntry {
+
+		final Number[] values;
+
+		final long expireAt;
+
+		CacheEntry(Number[] values, long expireAt) {
+			this.values = values;
+			this.expireAt = expireAt;
+		}
+
+	}
+
+}
@@ -0,0 +1,119 @@
+package com.ejlchina.searcher.implement;
+
+import com.ejlchina.searcher.FieldConvertor;
+import com.ejlchina.searcher.FieldMeta;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 字段转换器分派缓存
+ * 持有转换器列表，并以 (字段元信息, 数据库值类型) 为键，缓存 {@link FieldConvertor#supports(FieldMeta, Class)} 的判断结果，
+ * 使每个字段的每种值类型只遍历一次转换器列表，之后每行数据只需一次查找与一次转换调用
+ * 转换器列表与缓存一起原子地替换：通过 {@link #setConvertors(List)}、{@link #addConvertor(FieldConvertor)} 修改列表，
+ * 或直接修改列表后调用 {@link #invalidate()}，此前基于旧列表算出的结果不会再写入新的缓存
+ *
+ * @param <C> 字段转换器类型
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public class ConvertorDispatcher<C extends FieldConvertor> {
+
+	private volatile State<C> state;
+
+	/**
+	 * @param convertors 转换器列表
+	 */
+	public ConvertorDispatcher(List<C> convertors) {
+		this.state = new State<>(Objects.requireNonNull(convertors));
+	}
+
+	/**
+	 * @param meta 字段元信息
+	 * @param valueType 数据库值的类型
+	 * @return 支持该字段与值类型的第一个转换器，没有时返回 null
+	 */
+	public C find(FieldMeta meta, Class<?> valueType) {
+		// 列表与缓存只读取一次，保证写入的缓存与遍历的列表属于同一版本
+		State<C> state = this.state;
+		Dispatch<C> dispatch = state.dispatches.get(meta);
+		// 同一字段通常只有一种值类型，链表一般只有一个节点
+		for (Dispatch<C> d = dispatch; d != null; d = d.next) {
+			if (d.valueType == valueType) {
+				return d.convertor;
+			}
+		}
+		C convertor = null;
+		for (C c : state.convertors) {
+			if (c.supports(meta, valueType)) {
+				convertor = c;
+				break;
+			}
+		}
+		state.dispatches.put(meta, new Dispatch<>(valueType, convertor, dispatch));
+		return convertor;
+	}
+
+	public List<C> getConvertors() {
+		return state.convertors;
+	}
+
+	/**
+	 * 替换转换器列表，并使缓存失效
+	 * @param convertors 转换器列表
+	 */
+	public synchronized void setConvertors(List<C> convertors) {
+		this.state = new State<>(Objects.requireNonNull(convertors));
+	}
+
+	/**
+	 * 添加一个转换器，并使缓存失效
+	 * @param convertor 转换器
+	 */
+	public synchronized void addConvertor(C convertor) {
+		List<C> convertors = state.convertors;
+		convertors.add(convertor);
+		this.state = new State<>(convertors);
+	}
+
+	/**
+	 * 使缓存失效，直接修改了转换器列表（或转换器的判断条件）后调用
+	 */
+	public synchronized void invalidate() {
+		this.state = new State<>(state.convertors);
+	}
+
+	static class State<C> {
+
+		final List<C> convertors;
+
+		final Map<FieldMeta, Dispatch<C>> dispatches = new ConcurrentHashMap<>();
+
+		State(List<C> convertors) {
+			this.convertors = convertors;
+		}
+
+	}
+
+	static class Dispatch<C> {
+
+		final Class<?> valueType;
+
+		/**
+		 * 为 null 表示没有支持的转换器
+		 */
+		final C convertor;
+
+		final Dispatch<C> next;
+
+		Dispatch(Class<?> valueType, C convertor, Dispatch<C> next) {
+			this.valueType = valueType;
+			this.convertor = convertor;
+			this.next = next;
+		}
+
+	}
+
+}
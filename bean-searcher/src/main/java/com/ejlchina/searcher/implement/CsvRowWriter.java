@@ -0,0 +1,154 @@
+package com.ejlchina.searcher.implement;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * CSV / TSV 行输出，与 {@link SearchExporter} 配合使用
+ * 按 RFC 4180 转义：字段值包含分隔符、双引号 或 换行时，用双引号包裹，并把其中的双引号写为两个双引号
+ * null 值输出为空，其它值输出其 toString()（日期等可先用字段转换器格式化）
+ * 只在 {@link #flush()} 时 flush 底层的 writer，且不会关闭它
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public class CsvRowWriter implements SearchExporter.RowWriter {
+
+	private final Writer writer;
+
+	/**
+	 * 分隔符
+	 */
+	private final char separator;
+
+	/**
+	 * 换行符
+	 */
+	private String lineSeparator = "\r\n";
+
+	/**
+	 * 字段名 -> 表头，未指定的字段使用字段名作为表头
+	 */
+	private Map<String, String> headers;
+
+	/**
+	 * 是否输出表头
+	 */
+	private boolean writeHeader = true;
+
+	public CsvRowWriter(Writer writer, char separator) {
+		this.writer = Objects.requireNonNull(writer);
+		this.separator = separator;
+	}
+
+	/**
+	 * @param writer 输出
+	 * @return 以逗号分隔的行输出
+	 */
+	public static CsvRowWriter csv(Writer writer) {
+		return new CsvRowWriter(writer, ',');
+	}
+
+	/**
+	 * @param writer 输出
+	 * @return 以制表符分隔的行输出
+	 */
+	public static CsvRowWriter tsv(Writer writer) {
+		return new CsvRowWriter(writer, '\t');
+	}
+
+	@Override
+	public void writeHeader(String[] fields) throws IOException {
+		if (!writeHeader) {
+			return;
+		}
+		Object[] names = new Object[fields.length];
+		for (int i = 0; i < fields.length; i++) {
+			String header = headers != null ? headers.get(fields[i]) : null;
+			names[i] = header != null ? header : fields[i];
+		}
+		writeRow(names);
+	}
+
+	@Override
+	public void writeRow(Object[] values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(separator);
+			}
+			Object value = values[i];
+			if (value != null) {
+				writeField(value.toString());
+			}
+		}
+		writer.write(lineSeparator);
+	}
+
+	protected void writeField(String field) throws IOException {
+		int len = field.length();
+		boolean quote = false;
+		for (int i = 0; i < len; i++) {
+			char c = field.charAt(i);
+			if (c == separator || c == '"' || c == '\n' || c == '\r') {
+				quote = true;
+				break;
+			}
+		}
+		if (!quote) {
+			writer.write(field);
+			return;
+		}
+		writer.write('"');
+		int start = 0;
+		for (int i = 0; i < len; i++) {
+			if (field.charAt(i) == '"') {
+				writer.write(field, start, i + 1 - start);
+				writer.write('"');
+				start = i + 1;
+			}
+		}
+		writer.write(field, start, len - start);
+		writer.write('"');
+	}
+
+	@Override
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	public String getLineSeparator() {
+		return lineSeparator;
+	}
+
+	/**
+	 * @param lineSeparator 换行符，默认为 "\r\n"
+	 */
+	public void setLineSeparator(String lineSeparator) {
+		this.lineSeparator = Objects.requireNonNull(lineSeparator);
+	}
+
+	public Map<String, String> getHeaders() {
+		return headers;
+	}
+
+	/**
+	 * @param headers 字段名 -> 表头，例如 {"name": "姓名"}，未指定的字段使用字段名作为表头
+	 */
+	public void setHeaders(Map<String, String> headers) {
+		this.headers = headers;
+	}
+
+	public boolean isWriteHeader() {
+		return writeHeader;
+	}
+
+	/**
+	 * @param writeHeader 是否输出表头，默认为 true
+	 */
+	public void setWriteHeader(boolean writeHeader) {
+		this.writeHeader = writeHeader;
+	}
+
+}
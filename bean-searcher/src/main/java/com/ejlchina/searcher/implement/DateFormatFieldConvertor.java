@@ -30,6 +30,17 @@ public class DateFormatFieldConvertor implements FieldConvertor.MFieldConvertor
 
     private final Map<Class<?>, List<String>> typeNameMap = new ConcurrentHashMap<>();
 
+    /**
+     * 字段 -> (日期类型 -> 生效的格式)，避免每行数据都按 scope 逐级查找格式
+     * @since v3.3.0
+     */
+    private final Map<FieldMeta, Map<Class<?>, Formatter>> fieldFormatters = new ConcurrentHashMap<>();
+
+    /**
+     * 表示不进行格式化
+     */
+    private final Formatter noneFormatter = new Formatter(null);
+
 
     /**
      * 时区
@@ -57,6 +68,7 @@ public class DateFormatFieldConvertor implements FieldConvertor.MFieldConvertor
      */
     public void setFormat(String scope, String format) {
         formatMap.put(scope, new Formatter(format));
+        fieldFormatters.clear();
     }
 
     /**
@@ -77,8 +89,7 @@ public class DateFormatFieldConvertor implements FieldConvertor.MFieldConvertor
 
     @Override
     public Object convert(FieldMeta meta, Object value) {
-        Formatter formatter = findFormatter(meta, value.getClass());
-        return formatter != null ? formatter.format(value) : value;
+        return getFormatter(meta, value.getClass()).format(value);
     }
 
     class Formatter {
@@ -123,6 +134,22 @@ public class DateFormatFieldConvertor implements FieldConvertor.MFieldConvertor
 
     }
 
+    private Formatter getFormatter(FieldMeta meta, Class<?> type) {
+        Map<Class<?>, Formatter> formatters = fieldFormatters.get(meta);
+        if (formatters == null) {
+            formatters = fieldFormatters.computeIfAbsent(meta, k -> new ConcurrentHashMap<>());
+        }
+        Formatter formatter = formatters.get(type);
+        if (formatter == null) {
+            formatter = findFormatter(meta, type);
+            if (formatter == null) {
+                formatter = noneFormatter;
+            }
+            formatters.put(type, formatter);
+        }
+        return formatter;
+    }
+
     private Formatter findFormatter(FieldMeta meta, Class<?> type) {
         Class<?> clazz = meta.getBeanMeta().getBeanClass();
         String pathName = clazz.getName();
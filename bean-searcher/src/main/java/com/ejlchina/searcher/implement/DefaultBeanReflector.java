@@ -5,7 +5,6 @@ import com.ejlchina.searcher.FieldConvertor.BFieldConvertor;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.function.Function;
 
 /**
@@ -15,14 +14,14 @@ import java.util.function.Function;
  */
 public class DefaultBeanReflector implements BeanReflector {
 
-	private List<BFieldConvertor> convertors;
+	private final ConvertorDispatcher<BFieldConvertor> dispatcher;
 
 	public DefaultBeanReflector() {
 		this(new ArrayList<>());
 	}
 	
 	public DefaultBeanReflector(List<BFieldConvertor> convertors) {
-		this.convertors = convertors;
+		this.dispatcher = new ConvertorDispatcher<>(convertors);
 	}
 	
 	@Override
@@ -60,14 +59,23 @@ public class DefaultBeanReflector implements BeanReflector {
 			// 如果 targetType 是 valueType 的父类，则直接返回
 			return value;
 		}
-		for (FieldConvertor convertor: convertors) {
-			if (convertor.supports(meta, valueType)) {
-				return convertor.convert(meta, value);
-			}
+		BFieldConvertor convertor = findConvertor(meta, valueType);
+		if (convertor != null) {
+			return convertor.convert(meta, value);
 		}
 		throw new SearchException("不能把【" + valueType + "】类型的数据库值转换为【" + targetType + "】类型的字段值，你可以添加一个 FieldConvertor 来转换它！");
 	}
 
+	/**
+	 * @param meta 字段元信息
+	 * @param valueType 数据库值的类型
+	 * @return 支持该字段与值类型的第一个转换器，没有时返回 null
+	 * @since v3.3.0
+	 */
+	protected BFieldConvertor findConvertor(FieldMeta meta, Class<?> valueType) {
+		return dispatcher.find(meta, valueType);
+	}
+
 	protected <T> T newInstance(Class<T> beanClass) {
 		try {
 			return beanClass.getDeclaredConstructor().newInstance();
@@ -77,17 +85,25 @@ public class DefaultBeanReflector implements BeanReflector {
 	}
 
 	public List<BFieldConvertor> getConvertors() {
-		return convertors;
+		return dispatcher.getConvertors();
 	}
 
 	public void setConvertors(List<BFieldConvertor> convertors) {
-		this.convertors = Objects.requireNonNull(convertors);
+		dispatcher.setConvertors(convertors);
 	}
 
 	public void addConvertor(BFieldConvertor convertor) {
 		if (convertor != null) {
-			convertors.add(convertor);
+			dispatcher.addConvertor(convertor);
 		}
 	}
 
+	/**
+	 * 直接修改了转换器列表后，调用该方法使转换器的分派缓存失效
+	 * @since v3.3.0
+	 */
+	public void invalidateConvertors() {
+		dispatcher.invalidate();
+	}
+
 }
@@ -11,6 +11,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /***
  * 自动检索器 根据 SearcherBean 的 Class 和 请求参数，自动检索，数据以 Bean 对象呈现
@@ -19,7 +21,7 @@ import java.util.Objects;
  */
 public class DefaultBeanSearcher extends AbstractSearcher implements BeanSearcher {
 
-	private BeanReflector beanReflector = new DefaultBeanReflector();
+	private BeanReflector beanReflector = new FastBeanReflector();
 
 	public DefaultBeanSearcher() {
 	}
@@ -58,50 +60,110 @@ public class DefaultBeanSearcher extends AbstractSearcher implements BeanSearche
 		return search(beanClass, paraMap, new FetchType(FetchType.LIST_ALL)).getDataList();
 	}
 
+	@Override
+	public <T> CompletableFuture<SearchResult<T>> searchAsync(Class<T> beanClass, Map<String, Object> paraMap) {
+		return async(() -> search(beanClass, paraMap));
+	}
+
+	@Override
+	public <T> CompletableFuture<List<T>> searchListAsync(Class<T> beanClass, Map<String, Object> paraMap) {
+		return async(() -> searchList(beanClass, paraMap));
+	}
+
+	@Override
+	public SearchBatch<BeanSearcher> batch() {
+		return newBatch(this);
+	}
+
+	@Override
+	public <T> Stream<T> searchStream(Class<T> beanClass, Map<String, Object> paraMap) {
+		SearchSql<T> searchSql = resolveSearchSql(beanClass, paraMap, new FetchType(FetchType.LIST_STREAM));
+		long searchStart = System.nanoTime();
+		SqlResult<T> sqlResult = doSearch(searchSql);
+		try {
+			BeanMeta<T> beanMeta = searchSql.getBeanMeta();
+			List<String> fetchFields = searchSql.getFetchFields();
+			int[] columnIndexes = sqlResult.getListColumnIndexes();
+			return toStream(sqlResult, rs -> toBean(rs, columnIndexes, beanMeta, fetchFields, paraMap), searchStart);
+		} catch (SQLException e) {
+			sqlResult.close();
+			throw new SearchException("A exception occurred when collecting sql result!", e);
+		} catch (RuntimeException e) {
+			sqlResult.close();
+			throw e;
+		}
+	}
+
 	protected <T> SearchResult<T> search(Class<T> beanClass, Map<String, Object> paraMap, FetchType fetchType) {
-		try (SqlResult<T> sqlResult = doSearch(beanClass, paraMap, fetchType)) {
+		SearchSql<T> searchSql = resolveSearchSql(beanClass, paraMap, fetchType);
+		return searchWithResultCache(searchSql, () -> searchWithCountElision(searchSql, () -> search(searchSql, paraMap)));
+	}
+
+	/**
+	 * 执行检索并收集结果
+	 * @since v3.3.0
+	 */
+	protected <T> SearchResult<T> search(SearchSql<T> searchSql, Map<String, Object> paraMap) {
+		long searchStart = System.nanoTime();
+		try (SqlResult<T> sqlResult = doSearch(searchSql)) {
 			ResultSet listResult = sqlResult.getListResult();
-			ResultSet clusterResult = sqlResult.getAlreadyClusterResult();
 			SearchResult<T> result;
 			if (listResult != null) {
-				SearchSql<T> searchSql = sqlResult.getSearchSql();
 				BeanMeta<T> beanMeta = searchSql.getBeanMeta();
 				List<String> fetchFields = searchSql.getFetchFields();
-				result = new SearchResult<>(toBeanList(listResult, beanMeta, fetchFields, paraMap));
+				int[] columnIndexes = sqlResult.getListColumnIndexes();
+				long start = System.nanoTime();
+				result = new SearchResult<>(toBeanList(listResult, columnIndexes, beanMeta, fetchFields, paraMap));
+				recordMapping(sqlResult, start, result.getDataList().size());
+				result.setNextSeekValues(nextSeekValues(searchSql, result.getDataList(),
+						(bean, field) -> getFieldValue(beanMeta, bean, field)));
 			} else {
 				result = new SearchResult<>();
 			}
-			if (clusterResult != null) {
-				result.setTotalCount(getCountFromSqlResult(sqlResult));
+			if (sqlResult.hasClusterResult()) {
+				setTotalCount(result, searchSql, getCountFromSqlResult(sqlResult));
 				result.setSummaries(getSummaryFromSqlResult(sqlResult));
 			}
+			recordSlowSearch(sqlResult, searchStart);
 			return result;
 		} catch (SQLException e) {
 			throw new SearchException("A exception occurred when collecting sql result!", e);
 		}
 	}
 
-	protected <T> List<T> toBeanList(ResultSet listResult, BeanMeta<T> beanMeta, List<String> fetchFields, Map<String, Object> paraMap) throws SQLException {
+	protected <T> List<T> toBeanList(ResultSet listResult, int[] columnIndexes, BeanMeta<T> beanMeta,
+									 List<String> fetchFields, Map<String, Object> paraMap) throws SQLException {
 		List<T> dataList = new ArrayList<>();
 		while (listResult.next()) {
-			T bean = beanReflector.reflect(beanMeta, fetchFields, dbAlias -> {
-				try {
-					return listResult.getObject(dbAlias);
-				} catch (SQLException e) {
-					throw new SearchException("A exception occurred when collecting sql result!", e);
-				}
-			});
-			if (bean instanceof BeanAware) {
-				((BeanAware) bean).afterAssembly();
-			}
-			if (bean instanceof ParamAware) {
-				((ParamAware) bean).afterAssembly(paraMap);
-			}
-			dataList.add(bean);
+			dataList.add(toBean(listResult, columnIndexes, beanMeta, fetchFields, paraMap));
 		}
 		return dataList;
 	}
 
+	protected <T> Object getFieldValue(BeanMeta<T> beanMeta, T bean, String field) {
+		try {
+			return beanMeta.requireFieldMeta(field).getField().get(bean);
+		} catch (IllegalAccessException e) {
+			throw new SearchException("A exception occurred when getting value of [" + beanMeta.getBeanClass().getName() + "#" + field + "]", e);
+		}
+	}
+
+	/**
+	 * 把结果集的当前行转换为 Bean
+	 * @since v3.3.0
+	 */
+	protected <T> T toBean(ResultSet listResult, int[] columnIndexes, BeanMeta<T> beanMeta,
+						   List<String> fetchFields, Map<String, Object> paraMap) throws SQLException {
+		T bean = beanReflector.reflect(beanMeta, fetchFields, columnIndexes, listResult);
+		if (bean instanceof BeanAware) {
+			((BeanAware) bean).afterAssembly();
+		}
+		if (bean instanceof ParamAware) {
+			((ParamAware) bean).afterAssembly(paraMap);
+		}
+		return bean;
+	}
+
 	public BeanReflector getBeanReflector() {
 		return beanReflector;
 	}
@@ -46,12 +46,18 @@ public class DefaultDbMapping implements DbMapping {
     public Table table(Class<?> beanClass) {
         SearchBean bean = getSearchBean(beanClass);
         if (bean != null) {
-            return new Table(bean.dataSource().trim(),
+            Table table = new Table(bean.dataSource().trim(),
                     tables(beanClass, bean),
                     bean.joinCond().trim(),
                     bean.groupBy().trim(),
                     bean.distinct()
             );
+            table.setClusterCacheTtl(bean.clusterCacheTtl());
+            table.setResultCacheTtl(bean.resultCacheTtl());
+            table.setPriority(bean.priority());
+            table.setQueryTimeout(bean.queryTimeout());
+            table.setCountLimit(bean.countLimit());
+            return table;
         }
         return new Table(null, toTableName(beanClass), "", "", false);
     }
@@ -3,10 +3,17 @@ package com.ejlchina.searcher.implement;
 import com.ejlchina.searcher.*;
 import com.ejlchina.searcher.FieldConvertor.MFieldConvertor;
 import com.ejlchina.searcher.param.FetchType;
+import com.ejlchina.searcher.param.Paging;
+import com.ejlchina.searcher.util.JsonUtils;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /***
  * 自动检索器 根据 SearcherBean 的 Class 和 请求参数，自动检索，数据以 Map 对象呈现
@@ -15,7 +22,13 @@ import java.util.*;
  */
 public class DefaultMapSearcher extends AbstractSearcher implements MapSearcher {
 
-	private List<MFieldConvertor> convertors = new ArrayList<>();
+	private final ConvertorDispatcher<MFieldConvertor> dispatcher = new ConvertorDispatcher<>(new ArrayList<>());
+
+	/**
+	 * 是否以 {@link CompactMap} 呈现数据
+	 * @since v3.3.0
+	 */
+	private boolean compactMap = false;
 
 	public DefaultMapSearcher() {
 	}
@@ -54,60 +67,291 @@ public class DefaultMapSearcher extends AbstractSearcher implements MapSearcher
 		return search(beanClass, paraMap, new FetchType(FetchType.LIST_ALL)).getDataList();
 	}
 
+	@Override
+	public <T> CompletableFuture<SearchResult<Map<String, Object>>> searchAsync(Class<T> beanClass, Map<String, Object> paraMap) {
+		return async(() -> search(beanClass, paraMap));
+	}
+
+	@Override
+	public <T> CompletableFuture<List<Map<String, Object>>> searchListAsync(Class<T> beanClass, Map<String, Object> paraMap) {
+		return async(() -> searchList(beanClass, paraMap));
+	}
+
+	@Override
+	public SearchBatch<MapSearcher> batch() {
+		return newBatch(this);
+	}
+
+	@Override
+	public <T> Stream<Map<String, Object>> searchStream(Class<T> beanClass, Map<String, Object> paraMap) {
+		SearchSql<T> searchSql = resolveSearchSql(beanClass, paraMap, new FetchType(FetchType.LIST_STREAM));
+		long searchStart = System.nanoTime();
+		SqlResult<T> sqlResult = doSearch(searchSql);
+		try {
+			FieldMeta[] metas = toFieldMetas(sqlResult.getSearchSql());
+			int[] columnIndexes = sqlResult.getListColumnIndexes();
+			CompactMap.Schema schema = toSchema(metas);
+			return toStream(sqlResult, rs -> toMap(rs, columnIndexes, metas, schema), searchStart);
+		} catch (SQLException e) {
+			sqlResult.close();
+			throw new SearchException("A exception occurred when collecting sql result!", e);
+		} catch (RuntimeException e) {
+			sqlResult.close();
+			throw e;
+		}
+	}
+
+	@Override
+	public <T> void searchJson(Class<T> beanClass, Map<String, Object> paraMap, Writer writer) {
+		searchJson(beanClass, paraMap, new FetchType(FetchType.ALL), writer);
+	}
+
+	@Override
+	public <T> void searchJson(Class<T> beanClass, Map<String, Object> paraMap, String[] summaryFields, Writer writer) {
+		searchJson(beanClass, paraMap, new FetchType(FetchType.ALL, summaryFields), writer);
+	}
+
+	@Override
+	public <T> void searchAllJson(Class<T> beanClass, Map<String, Object> paraMap, Writer writer) {
+		searchJson(beanClass, paraMap, new FetchType(FetchType.LIST_STREAM), writer);
+	}
+
+	/**
+	 * 执行检索并把结果直接写出为 JSON：流式检索时写出数据数组，否则写出与 {@link SearchResult} 结构一致的对象
+	 * 该方式不经过检索结果缓存 与 总数省略（{@link #setCountElision(boolean)}）
+	 * @since v3.3.0
+	 */
+	protected <T> void searchJson(Class<T> beanClass, Map<String, Object> paraMap, FetchType fetchType, Writer writer) {
+		Objects.requireNonNull(writer);
+		SearchSql<T> searchSql = resolveSearchSql(beanClass, paraMap, fetchType);
+		boolean streaming = searchSql.isStreaming();
+		long searchStart = System.nanoTime();
+		try (SqlResult<T> sqlResult = doSearch(searchSql)) {
+			if (streaming) {
+				writeJsonList(sqlResult, writer);
+			} else {
+				writer.write('{');
+				if (sqlResult.hasClusterResult()) {
+					SearchResult<?> counts = new SearchResult<>();
+					setTotalCount(counts, searchSql, getCountFromSqlResult(sqlResult));
+					writer.write("\"totalCount\":");
+					JsonUtils.writeValue(writer, counts.getTotalCount());
+					if (counts.isCountCapped()) {
+						writer.write(",\"countCapped\":true");
+					}
+					writer.write(",\"summaries\":");
+					JsonUtils.writeValue(writer, getSummaryFromSqlResult(sqlResult));
+					writer.write(',');
+				}
+				writer.write("\"dataList\":");
+				Object[] nextSeekValues = writeJsonList(sqlResult, writer);
+				if (nextSeekValues != null) {
+					writer.write(",\"nextSeekValues\":");
+					JsonUtils.writeValue(writer, nextSeekValues);
+				}
+				writer.write('}');
+			}
+			writer.flush();
+			recordSlowSearch(sqlResult, searchStart);
+		} catch (SQLException e) {
+			throw new SearchException("A exception occurred when collecting sql result!", e);
+		} catch (IOException e) {
+			throw new SearchException("A exception occurred when writing json!", e);
+		}
+	}
+
+	/**
+	 * 把列表结果集逐行写出为 JSON 数组，字段值经过字段转换器转换
+	 * @return 键集分页时下一页的游标，非键集分页或没有下一页时为 null
+	 * @since v3.3.0
+	 */
+	protected Object[] writeJsonList(SqlResult<?> sqlResult, Writer writer) throws SQLException, IOException {
+		ResultSet listResult = sqlResult.getListResult();
+		if (listResult == null) {
+			writer.write("[]");
+			return null;
+		}
+		SearchSql<?> searchSql = sqlResult.getSearchSql();
+		FieldMeta[] metas = toFieldMetas(searchSql);
+		int[] columnIndexes = sqlResult.getListColumnIndexes();
+		// 每个字段的键只转义一次
+		String[] keys = new String[metas.length];
+		StringWriter keyWriter = new StringWriter();
+		for (int i = 0; i < metas.length; i++) {
+			keyWriter.getBuffer().setLength(0);
+			keyWriter.write(i == 0 ? '{' : ',');
+			JsonUtils.writeString(keyWriter, metas[i].getName());
+			keyWriter.write(':');
+			keys[i] = keyWriter.toString();
+		}
+		// 最近一行转换后的值，用于计算键集分页的游标
+		Object[] values = new Object[metas.length];
+		int rows = 0;
+		long start = System.nanoTime();
+		writer.write('[');
+		while (listResult.next()) {
+			if (rows > 0) {
+				writer.write(',');
+			}
+			for (int i = 0; i < metas.length; i++) {
+				values[i] = convert(metas[i], listResult.getObject(columnIndexes[i]));
+				writer.write(keys[i]);
+				JsonUtils.writeValue(writer, values[i]);
+			}
+			writer.write(metas.length > 0 ? "}" : "{}");
+			rows++;
+		}
+		writer.write(']');
+		recordMapping(sqlResult, start, rows);
+		String[] seekFields = searchSql.getSeekFields();
+		Paging paging = searchSql.getPaging();
+		if (seekFields == null || paging == null || rows == 0 || rows < paging.getSize()) {
+			return null;
+		}
+		Object[] seekValues = new Object[seekFields.length];
+		for (int i = 0; i < seekFields.length; i++) {
+			for (int j = 0; j < metas.length; j++) {
+				if (metas[j].getName().equals(seekFields[i])) {
+					seekValues[i] = values[j];
+					break;
+				}
+			}
+		}
+		return seekValues;
+	}
+
 	protected <T> SearchResult<Map<String, Object>> search(Class<T> beanClass, Map<String, Object> paraMap, FetchType fetchType) {
-		try (SqlResult<T> sqlResult = doSearch(beanClass, paraMap, fetchType)) {
+		SearchSql<T> searchSql = resolveSearchSql(beanClass, paraMap, fetchType);
+		return searchWithResultCache(searchSql, () -> searchWithCountElision(searchSql, () -> search(searchSql, paraMap)));
+	}
+
+	/**
+	 * 执行检索并收集结果
+	 * @since v3.3.0
+	 */
+	protected <T> SearchResult<Map<String, Object>> search(SearchSql<T> searchSql, Map<String, Object> paraMap) {
+		long searchStart = System.nanoTime();
+		try (SqlResult<T> sqlResult = doSearch(searchSql)) {
 			ResultSet listResult = sqlResult.getListResult();
-			ResultSet clusterResult = sqlResult.getAlreadyClusterResult();
 			SearchResult<Map<String, Object>> result = new SearchResult<>();
 			if (listResult != null) {
-				SearchSql<T> searchSql = sqlResult.getSearchSql();
-				BeanMeta<T> beanMeta = searchSql.getBeanMeta();
-				List<String> fetchFields = searchSql.getFetchFields();
+				FieldMeta[] metas = toFieldMetas(searchSql);
+				int[] columnIndexes = sqlResult.getListColumnIndexes();
+				CompactMap.Schema schema = toSchema(metas);
+				long start = System.nanoTime();
 				while (listResult.next()) {
-					Map<String, Object> dataMap = new HashMap<>();
-					for (String field : fetchFields) {
-						FieldMeta meta = beanMeta.requireFieldMeta(field);
-						Object value = listResult.getObject(meta.getDbAlias());
-						dataMap.put(meta.getName(), convert(meta, value));
-					}
-					result.addData(dataMap);
+					result.addData(toMap(listResult, columnIndexes, metas, schema));
 				}
+				recordMapping(sqlResult, start, result.getDataList().size());
+				result.setNextSeekValues(nextSeekValues(searchSql, result.getDataList(), Map::get));
 			}
-			if (clusterResult != null) {
-				result.setTotalCount(getCountFromSqlResult(sqlResult));
+			if (sqlResult.hasClusterResult()) {
+				setTotalCount(result, searchSql, getCountFromSqlResult(sqlResult));
 				result.setSummaries(getSummaryFromSqlResult(sqlResult));
 			}
+			recordSlowSearch(sqlResult, searchStart);
 			return result;
 		} catch (SQLException e) {
 			throw new SearchException("A exception occurred when collecting sql result!", e);
 		}
 	}
 
+	/**
+	 * @return 与 Select 字段一一对应的字段元信息
+	 * @since v3.3.0
+	 */
+	protected FieldMeta[] toFieldMetas(SearchSql<?> searchSql) {
+		BeanMeta<?> beanMeta = searchSql.getBeanMeta();
+		List<String> fetchFields = searchSql.getFetchFields();
+		FieldMeta[] metas = new FieldMeta[fetchFields.size()];
+		for (int i = 0; i < metas.length; i++) {
+			metas[i] = beanMeta.requireFieldMeta(fetchFields.get(i));
+		}
+		return metas;
+	}
+
+	/**
+	 * @return 本次检索所有行共享的键结构，未开启 {@link #setCompactMap(boolean)} 时返回 null
+	 * @since v3.3.0
+	 */
+	protected CompactMap.Schema toSchema(FieldMeta[] metas) {
+		if (!compactMap) {
+			return null;
+		}
+		String[] keys = new String[metas.length];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = metas[i].getName();
+		}
+		return new CompactMap.Schema(keys);
+	}
+
+	/**
+	 * 把结果集的当前行转换为 Map
+	 * @param schema 键结构，不为 null 时转换为 {@link CompactMap}
+	 * @since v3.3.0
+	 */
+	protected Map<String, Object> toMap(ResultSet listResult, int[] columnIndexes, FieldMeta[] metas,
+										CompactMap.Schema schema) throws SQLException {
+		if (schema != null) {
+			Object[] values = new Object[metas.length];
+			for (int i = 0; i < metas.length; i++) {
+				values[i] = convert(metas[i], listResult.getObject(columnIndexes[i]));
+			}
+			return new CompactMap(schema, values);
+		}
+		Map<String, Object> dataMap = new HashMap<>();
+		for (int i = 0; i < metas.length; i++) {
+			FieldMeta meta = metas[i];
+			Object value = listResult.getObject(columnIndexes[i]);
+			dataMap.put(meta.getName(), convert(meta, value));
+		}
+		return dataMap;
+	}
+
 	protected Object convert(FieldMeta meta, Object value) {
-		if (value != null && convertors.size() > 0) {
-			Class<?> valueType = value.getClass();
-			for (FieldConvertor convertor : convertors) {
-				if (convertor.supports(meta, valueType)) {
-					return convertor.convert(meta, value);
-				}
+		if (value != null && dispatcher.getConvertors().size() > 0) {
+			MFieldConvertor convertor = dispatcher.find(meta, value.getClass());
+			if (convertor != null) {
+				return convertor.convert(meta, value);
 			}
 		}
 		return value;
 	}
 
+	public boolean isCompactMap() {
+		return compactMap;
+	}
+
+	/**
+	 * 设置是否以 {@link CompactMap} 呈现数据，开启后同一次检索的所有行共享键结构，每行只持有一个值数组，
+	 * 适用于返回行数较多的场景
+	 * @param compactMap 是否开启（默认 false）
+	 * @since v3.3.0
+	 */
+	public void setCompactMap(boolean compactMap) {
+		this.compactMap = compactMap;
+	}
 
 	public List<MFieldConvertor> getConvertors() {
-		return convertors;
+		return dispatcher.getConvertors();
 	}
 
 	public void setConvertors(List<MFieldConvertor> convertors) {
-		this.convertors = Objects.requireNonNull(convertors);
+		dispatcher.setConvertors(convertors);
 	}
 
 	public void addConvertor(MFieldConvertor convertor) {
 		if (convertor != null) {
-			convertors.add(convertor);
+			dispatcher.addConvertor(convertor);
 		}
 	}
 
+	/**
+	 * 直接修改了转换器列表后，调用该方法使转换器的分派缓存失效
+	 * @since v3.3.0
+	 */
+	public void invalidateConvertors() {
+		dispatcher.invalidate();
+	}
+
 }
@@ -54,6 +54,11 @@ public class DefaultMetaResolver implements MetaResolver {
                 snippetResolver.resolve(table.getJoinCond()),
                 snippetResolver.resolve(table.getGroupBy()),
                 table.isDistinct());
+        beanMeta.setClusterCacheTtl(table.getClusterCacheTtl());
+        beanMeta.setResultCacheTtl(table.getResultCacheTtl());
+        beanMeta.setPriority(table.getPriority());
+        beanMeta.setQueryTimeout(table.getQueryTimeout());
+        beanMeta.setCountLimit(table.getCountLimit());
         // 字段解析
         Field[] fields = getBeanFields(beanClass);
         for (int index = 0; index < fields.length; index++) {
@@ -7,6 +7,7 @@ import com.ejlchina.searcher.util.ObjectUtils;
 import com.ejlchina.searcher.util.StringUtils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -19,6 +20,11 @@ public class DefaultParamResolver implements ParamResolver {
 
 	public static final Pattern INDEX_PATTERN = Pattern.compile("[0-9]+");
 
+	/**
+	 * 标记值为 null 的不带下标的参数
+	 */
+	private static final Object NULL_VALUE = new Object();
+
 	/**
 	 * 分页参数提取器
 	 */
@@ -66,6 +72,11 @@ public class DefaultParamResolver implements ParamResolver {
 	 */
 	private String selectExcludeName = "selectExclude";
 
+	/**
+	 * 各实体类的参数名索引，参数名的分隔符或后缀变化时清空
+	 */
+	private final Map<BeanMeta<?>, ParamIndex> paramIndexes = new ConcurrentHashMap<>();
+
 
 	@Override
 	public SearchParam resolve(BeanMeta<?> beanMeta, FetchType fetchType, Map<String, Object> paraMap) {
@@ -73,7 +84,9 @@ public class DefaultParamResolver implements ParamResolver {
 			if (paraMap == null) {
 				break;
 			}
-			paraMap = filter.doFilter(beanMeta, paraMap);
+			if (filter.supports(beanMeta)) {
+				paraMap = filter.doFilter(beanMeta, paraMap);
+			}
 		}
 		if (paraMap == null) {
 			paraMap = Collections.emptyMap();
@@ -84,7 +97,7 @@ public class DefaultParamResolver implements ParamResolver {
 	protected SearchParam doResolve(BeanMeta<?> beanMeta, FetchType fetchType, Map<String, Object> paraMap) {
 		SearchParam searchParam = new SearchParam(paraMap, fetchType,
 				resolveFetchFields(beanMeta, fetchType, paraMap),
-				resolveFieldParams(beanMeta.getFieldMetas(), paraMap)
+				resolveFieldParams(beanMeta, paraMap)
 		);
 		if (fetchType.canPaging()) {
 			Object value = paraMap.get(MapBuilder.PAGING);
@@ -103,6 +116,18 @@ public class DefaultParamResolver implements ParamResolver {
 				searchParam.setOrderBy(resolveOrderBy(beanMeta.getFieldSet(), paraMap));
 			}
 		}
+		Object timeout = paraMap.get(MapBuilder.QUERY_TIMEOUT);
+		if (timeout instanceof Number) {
+			searchParam.setQueryTimeout(((Number) timeout).intValue());
+		}
+		Object countLimit = paraMap.get(MapBuilder.COUNT_LIMIT);
+		if (countLimit instanceof Number) {
+			searchParam.setCountLimit(((Number) countLimit).longValue());
+		}
+		Object cancelToken = paraMap.get(MapBuilder.CANCEL_TOKEN);
+		if (cancelToken instanceof CancelToken) {
+			searchParam.setCancelToken((CancelToken) cancelToken);
+		}
 		return searchParam;
 	}
 
@@ -136,26 +161,51 @@ public class DefaultParamResolver implements ParamResolver {
 		return paraMap.get(onlySelectName);
 	}
 
-	protected List<FieldParam> resolveFieldParams(Collection<FieldMeta> fieldMetas, Map<String, Object> paraMap) {
-		Map<String, Set<Integer>> fieldIndicesMap = new HashMap<>();
-		for (String key : paraMap.keySet()) {
-			int index = key.lastIndexOf(separator);
-			if (index > 0 && key.length() > index + 1) {
-				String suffix = key.substring(index + 1);
-				if (INDEX_PATTERN.matcher(suffix).matches()) {
-					String field = key.substring(0, index);
-					mapFieldIndex(fieldIndicesMap, field, Integer.parseInt(suffix));
+	protected List<FieldParam> resolveFieldParams(BeanMeta<?> beanMeta, Map<String, Object> paraMap) {
+		ParamIndex paramIndex = paramIndexes.computeIfAbsent(beanMeta, this::buildParamIndex);
+		FieldKeys[] fieldKeysArray = paramIndex.fieldKeys;
+		// 按字段位置收集参数值，只有出现了对应的参数时才分配
+		List<FieldParam.Value>[] indexedValues = null;
+		Object[] plainValues = null;
+		for (Map.Entry<String, Object> entry : paraMap.entrySet()) {
+			String key = entry.getKey();
+			FieldKeys keys = paramIndex.get(key);
+			if (keys != null) {
+				if (plainValues == null) {
+					plainValues = new Object[fieldKeysArray.length];
 				}
+				// 不带下标的参数值为 null 时用 NULL_VALUE 占位，以区分参数不存在
+				plainValues[keys.position] = entry.getValue() != null ? entry.getValue() : NULL_VALUE;
+			}
+			int sepIndex = key.lastIndexOf(separator);
+			int numIndex = sepIndex + separator.length();
+			if (sepIndex <= 0 || numIndex >= key.length()) {
+				continue;
+			}
+			int index = parseIndex(key, numIndex);
+			if (index < 0) {
+				continue;
+			}
+			keys = paramIndex.get(key.substring(0, sepIndex));
+			if (keys != null) {
+				if (indexedValues == null) {
+					indexedValues = newValuesArray(fieldKeysArray.length);
+				}
+				List<FieldParam.Value> values = indexedValues[keys.position];
+				if (values == null) {
+					values = indexedValues[keys.position] = new ArrayList<>(2);
+				}
+				values.add(new FieldParam.Value(entry.getValue(), index));
 			}
-			mapFieldIndex(fieldIndicesMap, key, 0);
 		}
 		List<FieldParam> fieldParams = new ArrayList<>();
-		for (FieldMeta meta : fieldMetas) {
-			if (!meta.isConditional()) {
-				continue;
+		for (FieldKeys keys : fieldKeysArray) {
+			List<FieldParam.Value> values = indexedValues != null ? indexedValues[keys.position] : null;
+			Object plainValue = plainValues != null ? plainValues[keys.position] : null;
+			if (plainValue != null) {
+				values = mergePlainValue(values, plainValue == NULL_VALUE ? null : plainValue);
 			}
-			Set<Integer> indices = fieldIndicesMap.get(meta.getName());
-			FieldParam param = toFieldParam(meta, indices, paraMap);
+			FieldParam param = toFieldParam(keys, values, paraMap);
 			if (param != null) {
 				fieldParams.add(param);
 			}
@@ -163,22 +213,64 @@ public class DefaultParamResolver implements ParamResolver {
 		return fieldParams;
 	}
 
-	protected void mapFieldIndex(Map<String, Set<Integer>> fieldIndicesKeysMap, String field, int index) {
-		fieldIndicesKeysMap.computeIfAbsent(field, k -> new HashSet<>(2)).add(index);
+	/**
+	 * 不带下标的参数（如：name）等同于下标为 0 的参数（如：name-0），两者都有时，优先使用后者的非空值
+	 */
+	private List<FieldParam.Value> mergePlainValue(List<FieldParam.Value> values, Object plainValue) {
+		if (values == null) {
+			values = new ArrayList<>(1);
+		}
+		for (int i = 0; i < values.size(); i++) {
+			FieldParam.Value value = values.get(i);
+			if (value.getIndex() == 0) {
+				if (value.getValue() == null) {
+					values.set(i, new FieldParam.Value(plainValue, 0));
+				}
+				return values;
+			}
+		}
+		values.add(new FieldParam.Value(plainValue, 0));
+		return values;
 	}
 
-	private FieldParam getFieldParam(Map<String, Object> paraMap, String field) {
-		Object value = paraMap.get(MapBuilder.FIELD_PARAM + "." + field);
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static List<FieldParam.Value>[] newValuesArray(int length) {
+		return new List[length];
+	}
+
+	/**
+	 * 解析参数名中的下标（替代正则 {@link #INDEX_PATTERN}）
+	 * @return 下标，不是合法的下标时返回 -1
+	 */
+	private static int parseIndex(String key, int from) {
+		// 最多 9 位数字，保证不溢出
+		if (key.length() - from > 9) {
+			return -1;
+		}
+		int index = 0;
+		for (int i = from; i < key.length(); i++) {
+			char c = key.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			index = index * 10 + (c - '0');
+		}
+		return index;
+	}
+
+	private FieldParam getFieldParam(Map<String, Object> paraMap, FieldKeys keys) {
+		Object value = paraMap.get(keys.fieldParamKey);
 		if (value instanceof FieldParam) {
 			return (FieldParam) value;
 		}
 		return null;
 	}
 
-	protected FieldParam toFieldParam(FieldMeta meta, Set<Integer> indices, Map<String, Object> paraMap) {
+	private FieldParam toFieldParam(FieldKeys keys, List<FieldParam.Value> indexedValues, Map<String, Object> paraMap) {
+		FieldMeta meta = keys.meta;
 		String field = meta.getName();
-		FieldParam param = getFieldParam(paraMap, field);
-		Operator op = toOperator(field, paraMap, param);
+		FieldParam param = getFieldParam(paraMap, keys);
+		Operator op = toOperator(keys, paraMap, param);
 		Operator operator = allowedOperator(op, meta.getOnlyOn());
 		if (operator == null) {
 			// 表示该字段不支持 op 的检索
@@ -187,18 +279,12 @@ public class DefaultParamResolver implements ParamResolver {
 		if (op != null && (operator == Operator.Empty || operator == Operator.NotEmpty)) {
 			return new FieldParam(field, operator);
 		}
-		if ((indices == null || indices.isEmpty()) && param == null) {
+		if (indexedValues == null && param == null) {
 			return null;
 		}
 		List<FieldParam.Value> values = param != null ? param.getValueList() : new ArrayList<>();
-		if (values.isEmpty() && indices != null) {
-			for (int index : indices) {
-				Object value = paraMap.get(field + separator + index);
-				if (index == 0 && value == null) {
-					value = paraMap.get(field);
-				}
-				values.add(new FieldParam.Value(value, index));
-			}
+		if (values.isEmpty() && indexedValues != null) {
+			values.addAll(indexedValues);
 		}
 		if (isAllEmpty(values)) {
 			return null;
@@ -208,7 +294,7 @@ public class DefaultParamResolver implements ParamResolver {
 			ignoreCase = param.isIgnoreCase();
 		}
 		if (ignoreCase == null) {
-			ignoreCase = ObjectUtils.toBoolean(paraMap.get(field + separator + ignoreCaseSuffix));
+			ignoreCase = ObjectUtils.toBoolean(paraMap.get(keys.icKey));
 		}
 		return new FieldParam(field, operator, values, ignoreCase);
 	}
@@ -222,14 +308,14 @@ public class DefaultParamResolver implements ParamResolver {
 		return true;
 	}
 
-	private Operator toOperator(String field, Map<String, Object> paraMap, FieldParam param) {
+	private Operator toOperator(FieldKeys keys, Map<String, Object> paraMap, FieldParam param) {
 		if (param != null) {
 			Operator op = param.getOperator();
 			if (op != null) {
 				return op;
 			}
 		}
-		Object value = paraMap.get(field + separator + operatorSuffix);
+		Object value = paraMap.get(keys.opKey);
 		if (value instanceof Operator) {
 			return (Operator) value;
 		}
@@ -275,6 +361,71 @@ public class DefaultParamResolver implements ParamResolver {
 		return null;
 	}
 
+	private ParamIndex buildParamIndex(BeanMeta<?> beanMeta) {
+		List<FieldKeys> fieldKeys = new ArrayList<>();
+		for (FieldMeta meta : beanMeta.getFieldMetas()) {
+			if (meta.isConditional()) {
+				String field = meta.getName();
+				fieldKeys.add(new FieldKeys(meta, fieldKeys.size(),
+						field + separator + operatorSuffix,
+						field + separator + ignoreCaseSuffix,
+						MapBuilder.FIELD_PARAM + "." + field));
+			}
+		}
+		return new ParamIndex(fieldKeys.toArray(new FieldKeys[0]));
+	}
+
+	/**
+	 * 实体类的参数名索引：条件字段的各类参数名只在首次检索时拼接一次，
+	 * 之后每次解析只需遍历一遍检索参数
+	 * @since v3.3.0
+	 */
+	static class ParamIndex {
+
+		final FieldKeys[] fieldKeys;
+
+		final Map<String, FieldKeys> fieldKeysMap;
+
+		ParamIndex(FieldKeys[] fieldKeys) {
+			Map<String, FieldKeys> fieldKeysMap = new HashMap<>(fieldKeys.length * 2);
+			for (FieldKeys keys : fieldKeys) {
+				fieldKeysMap.put(keys.meta.getName(), keys);
+			}
+			this.fieldKeys = fieldKeys;
+			this.fieldKeysMap = fieldKeysMap;
+		}
+
+		FieldKeys get(String field) {
+			return fieldKeysMap.get(field);
+		}
+
+	}
+
+	static class FieldKeys {
+
+		final FieldMeta meta;
+
+		/**
+		 * 在 {@link ParamIndex#fieldKeys} 中的位置
+		 */
+		final int position;
+
+		final String opKey;
+
+		final String icKey;
+
+		final String fieldParamKey;
+
+		FieldKeys(FieldMeta meta, int position, String opKey, String icKey, String fieldParamKey) {
+			this.meta = meta;
+			this.position = position;
+			this.opKey = opKey;
+			this.icKey = icKey;
+			this.fieldParamKey = fieldParamKey;
+		}
+
+	}
+
 	public PageExtractor getPageExtractor() {
 		return pageExtractor;
 	}
@@ -313,6 +464,7 @@ public class DefaultParamResolver implements ParamResolver {
 
 	public void setIgnoreCaseSuffix(String ignoreCaseSuffix) {
 		this.ignoreCaseSuffix = Objects.requireNonNull(ignoreCaseSuffix);
+		paramIndexes.clear();
 	}
 
 	public String getOperatorSuffix() {
@@ -321,6 +473,7 @@ public class DefaultParamResolver implements ParamResolver {
 
 	public void setOperatorSuffix(String operatorSuffix) {
 		this.operatorSuffix = Objects.requireNonNull(operatorSuffix);
+		paramIndexes.clear();
 	}
 
 	public String getSeparator() {
@@ -329,6 +482,7 @@ public class DefaultParamResolver implements ParamResolver {
 
 	public void setSeparator(String separator) {
 		this.separator = Objects.requireNonNull(separator);
+		paramIndexes.clear();
 	}
 
 	public String getOnlySelectName() {
@@ -0,0 +1,131 @@
+package com.ejlchina.searcher.implement;
+
+import com.ejlchina.searcher.ResultCache;
+import com.ejlchina.searcher.SearchResult;
+import com.ejlchina.searcher.util.ConcurrentLruCache;
+import com.ejlchina.searcher.util.SqlUtils;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 进程内的检索结果缓存
+ * 基于 {@link ConcurrentLruCache }，超过最大条数时淘汰最久未使用的条目，条目过期后在下次访问时移除
+ * 按表名失效时逐段遍历全部条目，适用于 读多写少 的场景
+ * 每个表名维护一个只增不减的失效计数，某组表的失效版本为这些计数之和，检索期间有表被失效时不写入结果
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public class DefaultResultCache implements ResultCache {
+
+	/**
+	 * 最大缓存条数
+	 */
+	private int maxEntries = 1024;
+
+	private ConcurrentLruCache<Key, CacheEntry> cache = new ConcurrentLruCache<>(maxEntries);
+
+	/**
+	 * 表名 -> 失效次数
+	 */
+	private final Map<String, AtomicLong> evictions = new ConcurrentHashMap<>();
+
+	/**
+	 * 清空次数
+	 */
+	private final AtomicLong clears = new AtomicLong();
+
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <R> SearchResult<R> get(Key key) {
+		CacheEntry entry = cache.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.expireAt < System.currentTimeMillis()) {
+			cache.remove(key, entry);
+			return null;
+		}
+		return (SearchResult<R>) entry.result;
+	}
+
+	@Override
+	public void put(Key key, SearchResult<?> result, Set<String> tags, long ttl) {
+		long expireAt = System.currentTimeMillis() + ttl * 1000;
+		cache.put(key, new CacheEntry(result, tags, expireAt));
+	}
+
+	@Override
+	public long version(Set<String> tags) {
+		long version = clears.get();
+		for (String tag : tags) {
+			AtomicLong count = evictions.get(tag);
+			if (count != null) {
+				version += count.get();
+			}
+		}
+		return version;
+	}
+
+	@Override
+	public void put(Key key, SearchResult<?> result, Set<String> tags, long ttl, long version) {
+		if (version(tags) != version) {
+			return;
+		}
+		long expireAt = System.currentTimeMillis() + ttl * 1000;
+		CacheEntry entry = new CacheEntry(result, tags, expireAt);
+		cache.put(key, entry);
+		// 写入前后之间发生的失效可能已错过该条目，再检查一次
+		if (version(tags) != version) {
+			cache.remove(key, entry);
+		}
+	}
+
+	@Override
+	public void evictByTable(String table) {
+		String tag = SqlUtils.normalizeTable(table);
+		// 先改变版本，再移除条目
+		evictions.computeIfAbsent(tag, k -> new AtomicLong()).incrementAndGet();
+		cache.removeIf((key, entry) -> entry.tags.contains(tag));
+	}
+
+	@Override
+	public void clear() {
+		clears.incrementAndGet();
+		cache.clear();
+	}
+
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	/**
+	 * 设置最大缓存条数
+	 * @param maxEntries 最大缓存条数
+	 */
+	public void setMaxEntries(int maxEntries) {
+		this.maxEntries = maxEntries;
+		this.cache = new ConcurrentLruCache<>(maxEntries);
+	}
+
+	static class CacheEntry {
+
+		final SearchResult<?> result;
+
+		final Set<String> tags;
+
+		final long expireAt;
+
+		CacheEntry(SearchResult<?> result, Set<String> tags, long expireAt) {
+			this.result = result;
+			this.tags = tags;
+			this.expireAt = expireAt;
+		}
+
+	}
+
+}
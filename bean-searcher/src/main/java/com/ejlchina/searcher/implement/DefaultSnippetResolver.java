@@ -52,6 +52,7 @@ public class DefaultSnippetResolver implements SnippetResolver {
             index1 = fragment.indexOf(paramPrefix, nextIndex);
         }
         sqlSnippet.setSnippet(fragment);
+        sqlSnippet.compile();
         return sqlSnippet;
     }
 
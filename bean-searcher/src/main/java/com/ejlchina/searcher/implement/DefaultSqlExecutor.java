@@ -11,10 +11,16 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * JDBC Sql 执行器
@@ -50,6 +56,55 @@ public class DefaultSqlExecutor implements SqlExecutor {
 	 */
 	private int transactionIsolation = Connection.TRANSACTION_READ_COMMITTED;
 
+	/**
+	 * 用于并行执行列表查询与聚合查询的线程池，为空时（默认）两个查询在同一个连接上串行执行
+	 * 不为空时，聚合查询将借用第二个连接，在该线程池中与列表查询同时执行
+	 * @since v3.3.0
+	 */
+	private Executor concurrentExecutor;
+
+	/**
+	 * 流式检索时列表查询语句的 fetchSize，为 0 时（默认）不设置，使用 JDBC 驱动的默认值
+	 * 例如：MySQL 驱动需设置为 {@link Integer#MIN_VALUE} 才会逐行读取结果
+	 * @since v3.3.0
+	 */
+	private int streamFetchSize = 0;
+
+	/**
+	 * 默认的 SQL 执行超时时间（秒），为 0 时（默认）不限制
+	 * 只对没有设置 {@link SearchBean#queryTimeout()} 且检索参数中也没有指定超时时间的检索生效
+	 * @since v3.3.0
+	 */
+	private int queryTimeout = 0;
+
+	/**
+	 * 检索指标收集器，为 null 时（默认）不收集
+	 * @since v3.3.0
+	 */
+	private SearchMetrics metrics;
+
+	/**
+	 * 当前线程正在执行的批次：数据源名 -> 批次内共用的连接
+	 * @since v3.3.0
+	 */
+	private final ThreadLocal<Map<String, Connection>> batchConnections = new ThreadLocal<>();
+
+	/**
+	 * 各数据源的并发限制：数据源名（默认数据源为空串） -> 舱壁
+	 * @since v3.3.0
+	 */
+	private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+	/**
+	 * 持有许可的连接 -> 舱壁，连接关闭时归还许可
+	 */
+	private final Map<Connection, Bulkhead> connectionBulkheads = new ConcurrentHashMap<>();
+
+	/**
+	 * 当前线程正在并行执行的查询所共用的内部取消句柄，其中一个查询出错时用它取消另一个查询
+	 */
+	private final ThreadLocal<CancelToken> concurrentTokens = new ThreadLocal<>();
+
 
 	public DefaultSqlExecutor() {
 	}
@@ -64,74 +119,341 @@ public class DefaultSqlExecutor implements SqlExecutor {
 		if (!searchSql.isShouldQueryList() && !searchSql.isShouldQueryCluster()) {
 			return new SqlResult<>(searchSql);
 		}
+		CancelToken cancelToken = searchSql.getCancelToken();
+		if (cancelToken != null) {
+			cancelToken.throwIfCancelled();
+		}
 		Connection connection;
+		long start = System.nanoTime();
 		try {
 			connection = getConnection(searchSql.getBeanMeta());
 		} catch (SQLException e) {
 			throw new SearchException("Can not get connection from dataSource!", e);
 		}
+		long acquireNanos = System.nanoTime() - start;
+		recordTime(searchSql, SearchMetrics.Stage.CONNECTION_ACQUIRE, acquireNanos);
 		try {
-			return doExecute(searchSql, connection);
+			SqlResult<T> result = doExecute(searchSql, connection);
+			result.addStageNanos(SearchMetrics.Stage.CONNECTION_ACQUIRE, acquireNanos);
+			return result;
 		} catch (SQLException e) {
 			// 如果有异常，则立马关闭，否则与 SqlResult 一起关闭
 			closeConnection(connection);
+			if (cancelToken != null && cancelToken.isCancelled()) {
+				throw new SearchException("The search has been cancelled!", e);
+			}
+			if (e instanceof SQLTimeoutException) {
+				throw new SearchException("The search timed out after " + searchSql.getQueryTimeout() + " seconds!", e);
+			}
 			throw new SearchException("A exception occurred when query!", e);
+		} catch (RuntimeException e) {
+			closeConnection(connection);
+			throw e;
+		}
+	}
+
+	/**
+	 * 批次内同一数据源的 SQL 共用一个连接（依次执行），批次结束后关闭这些连接
+	 * 批次内不使用 {@link #setConcurrentExecutor(Executor)} 并行执行，也不可使用流式检索
+	 * @since v3.3.0
+	 */
+	@Override
+	public void executeBatch(Runnable task) {
+		if (batchConnections.get() != null) {
+			// 嵌套的批次，并入外层批次
+			task.run();
+			return;
+		}
+		Map<String, Connection> connections = new HashMap<>();
+		batchConnections.set(connections);
+		try {
+			task.run();
+		} finally {
+			batchConnections.remove();
+			SearchException error = null;
+			for (Connection connection : connections.values()) {
+				try {
+					closeConnection(connection);
+				} catch (SearchException e) {
+					error = e;
+				}
+			}
+			if (error != null) {
+				throw error;
+			}
 		}
 	}
 
 	protected Connection getConnection(BeanMeta<?> beanMeta) throws SQLException {
+		Map<String, Connection> connections = batchConnections.get();
+		if (connections == null) {
+			return openConnection(beanMeta, true);
+		}
+		String key = dataSourceKey(beanMeta.getDataSource());
+		Connection connection = connections.get(key);
+		if (connection == null) {
+			connection = openConnection(beanMeta, true);
+			connections.put(key, connection);
+		}
+		return connection;
+	}
+
+	/**
+	 * 从数据源获取连接，若数据源设置了并发限制，则需先获得许可
+	 * @param acquirePermit 是否需要获得许可，同一次检索借用的第二个连接共用第一个连接的许可
+	 */
+	private Connection openConnection(BeanMeta<?> beanMeta, boolean acquirePermit) throws SQLException {
+		DataSource dataSource = getDataSource(beanMeta);
+		Bulkhead bulkhead = acquirePermit ? bulkheads.get(dataSourceKey(beanMeta.getDataSource())) : null;
+		if (bulkhead == null) {
+			return dataSource.getConnection();
+		}
+		bulkhead.acquire(beanMeta.getPriority());
+		try {
+			Connection connection = dataSource.getConnection();
+			connectionBulkheads.put(connection, bulkhead);
+			return connection;
+		} catch (SQLException | RuntimeException e) {
+			bulkhead.release();
+			throw e;
+		}
+	}
+
+	private static String dataSourceKey(String name) {
+		return StringUtils.isBlank(name) ? "" : name.trim();
+	}
+
+	private DataSource getDataSource(BeanMeta<?> beanMeta) {
 		String name = beanMeta.getDataSource();
 		if (StringUtils.isBlank(name)) {
 			if (dataSource == null) {
 				throw new SearchException("There is no default dataSource for " + beanMeta.getBeanClass());
 			}
-			return dataSource.getConnection();
+			return dataSource;
 		}
 		DataSource dataSource = dataSourceMap.get(name);
 		if (dataSource == null) {
 			throw new SearchException("There is no dataSource named " + name + " for " + beanMeta.getBeanClass());
 		}
-		return dataSource.getConnection();
+		return dataSource;
 	}
 
 	protected <T> SqlResult<T> doExecute(SearchSql<T> searchSql, Connection connection) throws SQLException {
-		if (transactional) {
-			connection.setAutoCommit(false);
-			connection.setTransactionIsolation(transactionIsolation);
-			connection.setReadOnly(true);
+		if (concurrentExecutor != null && batchConnections.get() == null
+				&& searchSql.isShouldQueryList() && searchSql.isShouldQueryCluster()) {
+			return doConcurrentExecute(searchSql, connection);
 		}
+		// 流式检索时结果集在返回后仍需逐批读取（如 PostgreSQL 只在事务内使用游标），故只读事务在 SqlResult 关闭时才结束
+		boolean streaming = searchSql.isStreaming();
+		beginTransaction(connection);
 		SqlResult<T> result = new SqlResult<T>(searchSql) {
 			@Override
 			public void close() {
 				try {
 					super.close();
 				} finally {
-					closeConnection(connection);
+					try {
+						if (streaming) {
+							endTransaction(connection);
+						}
+					} catch (SQLException e) {
+						throw new SearchException("Can not end the transaction!", e);
+					} finally {
+						closeConnection(connection);
+					}
 				}
 			}
 		};
+		// 是否推迟到 SqlResult 关闭时结束事务（执行出错时立即结束）
+		boolean deferred = false;
 		try {
 			if (searchSql.isShouldQueryList()) {
-				String sql = searchSql.getListSqlString();
-				List<Object> params = searchSql.getListSqlParams();
-				writeLog(sql, params);
-				executeListSqlAndCollectResult(connection, sql, params, result);
+				executeListSql(connection, result);
 			}
 			if (searchSql.isShouldQueryCluster()) {
-				String sql = searchSql.getClusterSqlString();
-				List<Object> params = searchSql.getClusterSqlParams();
-				writeLog(sql, params);
-				executeClusterSqlAndCollectResult(connection, sql, params, result);
+				executeClusterSql(connection, result);
 			}
+			deferred = streaming;
 		} finally {
-			if (transactional) {
-				connection.commit();
-				connection.setReadOnly(false);
+			if (!deferred) {
+				endTransaction(connection);
 			}
 		}
 		return result;
 	}
 
+	/**
+	 * 在两个连接上同时执行列表查询与聚合查询，其中一个查询出错时取消另一个查询
+	 * 执行成功时两个连接都由返回的 SqlResult 负责关闭；出错时本方法关闭已打开的语句与第二个连接，第一个连接仍由调用方关闭
+	 * @since v3.3.0
+	 */
+	protected <T> SqlResult<T> doConcurrentExecute(SearchSql<T> searchSql, Connection connection) throws SQLException {
+		long start = System.nanoTime();
+		// 并行执行时不在批次内，且一次检索只占用一个许可（由第一个连接持有），否则并发的检索会各持一个许可互相等待
+		Connection clusterConnection = openConnection(searchSql.getBeanMeta(), false);
+		long acquireNanos = System.nanoTime() - start;
+		recordTime(searchSql, SearchMetrics.Stage.CONNECTION_ACQUIRE, acquireNanos);
+		ConcurrentSqlResult<T> result = new ConcurrentSqlResult<>(searchSql, connection, clusterConnection);
+		result.addStageNanos(SearchMetrics.Stage.CONNECTION_ACQUIRE, acquireNanos);
+		CancelToken siblings = new CancelToken();
+		// 最先出错的查询的异常
+		AtomicReference<Throwable> firstError = new AtomicReference<>();
+		CompletableFuture<Void> clusterFuture;
+		try {
+			beginTransaction(clusterConnection);
+			clusterFuture = CompletableFuture.runAsync(() -> {
+				concurrentTokens.set(siblings);
+				try {
+					try {
+						executeClusterSql(clusterConnection, result);
+					} finally {
+						endTransaction(clusterConnection);
+					}
+				} catch (SQLException | RuntimeException e) {
+					firstError.compareAndSet(null, e);
+					siblings.cancel();
+					throw new CompletionException(e);
+				} finally {
+					concurrentTokens.remove();
+				}
+			}, concurrentExecutor);
+		} catch (SQLException | RuntimeException e) {
+			result.closeOnError();
+			throw e;
+		}
+		Throwable listError = null;
+		concurrentTokens.set(siblings);
+		try {
+			beginTransaction(connection);
+			try {
+				executeListSql(connection, result);
+			} finally {
+				endTransaction(connection);
+			}
+		} catch (SQLException | RuntimeException e) {
+			firstError.compareAndSet(null, e);
+			siblings.cancel();
+			listError = e;
+		} finally {
+			concurrentTokens.remove();
+		}
+		Throwable clusterError = null;
+		try {
+			clusterFuture.join();
+		} catch (CompletionException e) {
+			clusterError = e.getCause() != null ? e.getCause() : e;
+		}
+		if (listError != null || clusterError != null) {
+			// 抛出最先出错的查询的异常，被取消的另一个查询的异常作为被抑制的异常
+			Throwable error = firstError.get() != null ? firstError.get() : clusterError;
+			if (listError != null && listError != error) {
+				error.addSuppressed(listError);
+			}
+			if (clusterError != null && clusterError != error) {
+				error.addSuppressed(clusterError);
+			}
+			// 两个查询都已结束
+			result.closeOnError();
+			if (error instanceof SQLException) {
+				throw (SQLException) error;
+			}
+			if (error instanceof RuntimeException) {
+				throw (RuntimeException) error;
+			}
+			throw new SearchException("A exception occurred when query!", error);
+		}
+		return result;
+	}
+
+	/**
+	 * 并行执行的结果：关闭时关闭两个连接
+	 */
+	private class ConcurrentSqlResult<T> extends SqlResult<T> {
+
+		private final Connection connection;
+
+		private final Connection clusterConnection;
+
+		ConcurrentSqlResult(SearchSql<T> searchSql, Connection connection, Connection clusterConnection) {
+			super(searchSql);
+			this.connection = connection;
+			this.clusterConnection = clusterConnection;
+		}
+
+		@Override
+		public void close() {
+			try {
+				closeOnError();
+			} finally {
+				closeConnection(connection);
+			}
+		}
+
+		/**
+		 * 只关闭语句与第二个连接，第一个连接由调用方关闭
+		 */
+		void closeOnError() {
+			try {
+				super.close();
+			} finally {
+				closeConnection(clusterConnection);
+			}
+		}
+
+	}
+
+	protected void beginTransaction(Connection connection) throws SQLException {
+		if (transactional) {
+			connection.setAutoCommit(false);
+			connection.setTransactionIsolation(transactionIsolation);
+			connection.setReadOnly(true);
+		}
+	}
+
+	protected void endTransaction(Connection connection) throws SQLException {
+		if (transactional) {
+			connection.commit();
+			connection.setReadOnly(false);
+		}
+	}
+
+	protected void executeListSql(Connection connection, SqlResult<?> result) throws SQLException {
+		SearchSql<?> searchSql = result.getSearchSql();
+		String sql = searchSql.getListSqlString();
+		List<Object> params = searchSql.getListSqlParams();
+		writeLog(sql, params);
+		long start = System.nanoTime();
+		try {
+			executeListSqlAndCollectResult(connection, sql, params, result);
+		} finally {
+			recordTime(result, SearchMetrics.Stage.LIST_EXECUTE, System.nanoTime() - start);
+		}
+	}
+
+	protected void executeClusterSql(Connection connection, SqlResult<?> result) throws SQLException {
+		SearchSql<?> searchSql = result.getSearchSql();
+		String sql = searchSql.getClusterSqlString();
+		List<Object> params = searchSql.getClusterSqlParams();
+		writeLog(sql, params);
+		long start = System.nanoTime();
+		try {
+			executeClusterSqlAndCollectResult(connection, sql, params, result);
+		} finally {
+			recordTime(result, SearchMetrics.Stage.CLUSTER_EXECUTE, System.nanoTime() - start);
+		}
+	}
+
+	private void recordTime(SqlResult<?> result, SearchMetrics.Stage stage, long nanos) {
+		result.addStageNanos(stage, nanos);
+		recordTime(result.getSearchSql(), stage, nanos);
+	}
+
+	private void recordTime(SearchSql<?> searchSql, SearchMetrics.Stage stage, long nanos) {
+		if (metrics != null) {
+			metrics.recordTime(searchSql.getBeanMeta().getBeanClass(), stage, nanos);
+		}
+	}
+
 	protected void writeLog(String sql, List<Object> params) {
 		log.debug("bean-searcher - sql ---- {}", sql);
 		log.debug("bean-searcher - params - {}", params);
@@ -139,9 +461,17 @@ public class DefaultSqlExecutor implements SqlExecutor {
 
 	protected void executeListSqlAndCollectResult(Connection connection, String sql, List<Object> params,
 				SqlResult<?> sqlResult) throws SQLException {
-		PreparedStatement statement = connection.prepareStatement(sql);
+		PreparedStatement statement;
+		if (sqlResult.getSearchSql().isStreaming()) {
+			statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			if (streamFetchSize != 0) {
+				statement.setFetchSize(streamFetchSize);
+			}
+		} else {
+			statement = connection.prepareStatement(sql);
+		}
 		setStatementParams(statement, params);
-		ResultSet resultSet = statement.executeQuery();
+		ResultSet resultSet = executeQuery(statement, sqlResult.getSearchSql());
 		sqlResult.setListResult(resultSet, statement);
 	}
 
@@ -149,10 +479,43 @@ public class DefaultSqlExecutor implements SqlExecutor {
 				SqlResult<?> sqlResult) throws SQLException {
 		PreparedStatement statement = connection.prepareStatement(sqlString);
 		setStatementParams(statement, sqlParams);
-		ResultSet resultSet = statement.executeQuery();
+		ResultSet resultSet = executeQuery(statement, sqlResult.getSearchSql());
 		sqlResult.setClusterResult(resultSet, statement);
 	}
 
+	/**
+	 * 设置超时时间并执行查询，执行期间语句登记在取消句柄上，由 SqlResult 关闭时注销
+	 * @since v3.3.0
+	 */
+	protected ResultSet executeQuery(PreparedStatement statement, SearchSql<?> searchSql) throws SQLException {
+		int timeout = searchSql.getQueryTimeout() > 0 ? searchSql.getQueryTimeout() : queryTimeout;
+		if (timeout > 0) {
+			statement.setQueryTimeout(timeout);
+		}
+		CancelToken cancelToken = searchSql.getCancelToken();
+		CancelToken concurrentToken = concurrentTokens.get();
+		if (cancelToken == null && concurrentToken == null) {
+			return statement.executeQuery();
+		}
+		if (concurrentToken != null) {
+			// 该句柄只用于本次检索，无需注销；另一个查询已出错时不再执行
+			concurrentToken.register(statement);
+			if (concurrentToken.isCancelled()) {
+				throw new SQLException("The query is cancelled because the concurrent query failed");
+			}
+		}
+		if (cancelToken == null) {
+			return statement.executeQuery();
+		}
+		cancelToken.register(statement);
+		try {
+			return statement.executeQuery();
+		} catch (SQLException | RuntimeException e) {
+			cancelToken.unregister(statement);
+			throw e;
+		}
+	}
+
 	protected void setStatementParams(PreparedStatement statement, List<Object> params) throws SQLException {
 		for (int i = 0; i < params.size(); i++) {
 			statement.setObject(i + 1, params.get(i));
@@ -160,12 +523,23 @@ public class DefaultSqlExecutor implements SqlExecutor {
 	}
 
 	protected void closeConnection(Connection connection) {
+		Map<String, Connection> connections = batchConnections.get();
+		if (connections != null && connections.containsValue(connection)) {
+			// 批次内共用的连接，在批次结束时关闭
+			return;
+		}
 		try {
 			if (connection != null) {
 				connection.close();
 			}
 		} catch (SQLException e) {
 			throw new SearchException("Can not close connection!", e);
+		} finally {
+			Bulkhead bulkhead = connection != null && !connectionBulkheads.isEmpty()
+					? connectionBulkheads.remove(connection) : null;
+			if (bulkhead != null) {
+				bulkhead.release();
+			}
 		}
 	}
 
@@ -240,4 +614,82 @@ public class DefaultSqlExecutor implements SqlExecutor {
 		this.transactionIsolation = level;
 	}
 
+	public Executor getConcurrentExecutor() {
+		return concurrentExecutor;
+	}
+
+	/**
+	 * 设置并行查询的线程池，设置后 列表查询 与 聚合查询 将分别使用两个连接并行执行
+	 * 注意：开启只读事务时，两个查询分属两个事务
+	 * @param concurrentExecutor 线程池，为 null 时表示串行执行
+	 * @since v3.3.0
+	 */
+	public void setConcurrentExecutor(Executor concurrentExecutor) {
+		this.concurrentExecutor = concurrentExecutor;
+	}
+
+	/**
+	 * 设置数据源的并发限制，每次检索占用一个许可（并行执行聚合查询时借用的第二个连接不再占用许可）
+	 * @param dataSource 数据源名称，为空时表示默认数据源
+	 * @param bulkhead 并发限制，为 null 时表示取消限制
+	 * @since v3.3.0
+	 */
+	public void setBulkhead(String dataSource, Bulkhead bulkhead) {
+		String key = dataSourceKey(dataSource);
+		if (bulkhead != null) {
+			bulkheads.put(key, bulkhead);
+		} else {
+			bulkheads.remove(key);
+		}
+	}
+
+	/**
+	 * @param dataSource 数据源名称，为空时表示默认数据源
+	 * @return 该数据源的并发限制（可用于获取监控指标），没有时返回 null
+	 * @since v3.3.0
+	 */
+	public Bulkhead getBulkhead(String dataSource) {
+		return bulkheads.get(dataSourceKey(dataSource));
+	}
+
+	public int getStreamFetchSize() {
+		return streamFetchSize;
+	}
+
+	/**
+	 * 设置流式检索时列表查询语句的 fetchSize
+	 * PostgreSQL 驱动只在事务内按 fetchSize 逐批读取，需同时开启只读事务（{@link #setTransactional(boolean)}）
+	 * @param streamFetchSize 为 0 时表示使用 JDBC 驱动的默认值，MySQL 请使用 {@link Integer#MIN_VALUE}
+	 * @since v3.3.0
+	 */
+	public void setStreamFetchSize(int streamFetchSize) {
+		this.streamFetchSize = streamFetchSize;
+	}
+
+	public SearchMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * 设置检索指标收集器，用于记录获取连接 与 执行 SQL 阶段的指标
+	 * @param metrics 指标收集器，为 null 时表示不收集
+	 * @since v3.3.0
+	 */
+	public void setMetrics(SearchMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	public int getQueryTimeout() {
+		return queryTimeout;
+	}
+
+	/**
+	 * 设置默认的 SQL 执行超时时间
+	 * @param queryTimeout 超时时间（秒），为 0 时表示不限制
+	 * @since v3.3.0
+	 */
+	public void setQueryTimeout(int queryTimeout) {
+		this.queryTimeout = queryTimeout;
+	}
+
 }
@@ -8,6 +8,7 @@ import com.ejlchina.searcher.dialect.Dialect.PaginateSql;
 import com.ejlchina.searcher.dialect.MySqlDialect;
 import com.ejlchina.searcher.param.*;
 import com.ejlchina.searcher.SearchParam;
+import com.ejlchina.searcher.util.ConcurrentLruCache;
 import com.ejlchina.searcher.util.ObjectUtils;
 import com.ejlchina.searcher.util.StringUtils;
 
@@ -28,6 +29,18 @@ public class DefaultSqlResolver implements SqlResolver {
 	 * 日期参数矫正器
 	 */
 	private DateValueCorrector dateValueCorrector = new DateValueCorrector();
+
+	/**
+	 * SQL 模板缓存的最大条数（小于等于 0 时不缓存）
+	 * @since v3.3.0
+	 */
+	private int templateCacheSize = 512;
+
+	/**
+	 * SQL 模板缓存（LRU）
+	 * @since v3.3.0
+	 */
+	private ConcurrentLruCache<SqlShape, SqlTemplate> templateCache = new ConcurrentLruCache<>(templateCacheSize);
 	
 	
 	public DefaultSqlResolver() {
@@ -41,6 +54,26 @@ public class DefaultSqlResolver implements SqlResolver {
 
 	@Override
 	public <T> SearchSql<T> resolve(BeanMeta<T> beanMeta, SearchParam searchParam) {
+		SqlTemplate template;
+		if (templateCacheSize > 0) {
+			SqlShape shape = new SqlShape(beanMeta, searchParam);
+			template = templateCache.get(shape);
+			if (template == null) {
+				template = resolveTemplate(beanMeta, searchParam);
+				templateCache.put(shape, template);
+			}
+		} else {
+			template = resolveTemplate(beanMeta, searchParam);
+		}
+		return bindTemplate(template, beanMeta, searchParam);
+	}
+
+	/**
+	 * 编译 SQL 模板：生成列表与聚族 SQL，并记录 JDBC 参数的绑定顺序
+	 * 生成的 SQL 只与 {@link SqlShape } 有关，与检索参数的具体值无关
+	 * @since v3.3.0
+	 */
+	protected <T> SqlTemplate resolveTemplate(BeanMeta<T> beanMeta, SearchParam searchParam) {
 		List<String> fetchFields = searchParam.getFetchFields();
 		SearchSql<T> searchSql = new SearchSql<>(beanMeta, fetchFields);
 
@@ -48,6 +81,10 @@ public class DefaultSqlResolver implements SqlResolver {
 		searchSql.setShouldQueryCluster(fetchType.shouldQueryCluster());
 		searchSql.setShouldQueryList(fetchType.shouldQueryList());
 
+		List<String> dbFieldParams = new ArrayList<>();
+		List<String> fromWhereParams = new ArrayList<>();
+		List<String> groupByParams = new ArrayList<>();
+
 		StringBuilder builder = new StringBuilder("select ");
 		if (beanMeta.isDistinct()) {
 			builder.append("distinct ");
@@ -56,8 +93,8 @@ public class DefaultSqlResolver implements SqlResolver {
 		for (int i = 0; i < fieldCount; i++) {
 			String field = fetchFields.get(i);
 			FieldMeta meta = beanMeta.requireFieldMeta(field);
-			String dbField = resolveDbField(meta.getFieldSql(), searchParam, searchSql, beanMeta.isDistinct());
-			builder.append(dbField).append(" ").append(meta.getDbAlias());
+			builder.append(resolveDbField(meta.getFieldSql(), searchParam, dbFieldParams));
+			builder.append(" ").append(meta.getDbAlias());
 			if (i < fieldCount - 1) {
 				builder.append(", ");
 			}
@@ -65,7 +102,7 @@ public class DefaultSqlResolver implements SqlResolver {
 		String fieldSelectSql = builder.toString();
 
 		builder = new StringBuilder(" from ")
-				.append(resolveTables(beanMeta.getTableSnippet(), searchParam, searchSql));
+				.append(resolveTables(beanMeta.getTableSnippet(), searchParam, fromWhereParams));
 		
 		String joinCond = beanMeta.getJoinCond();
 		boolean hasJoinCond = StringUtils.isNotBlank(joinCond);
@@ -75,20 +112,8 @@ public class DefaultSqlResolver implements SqlResolver {
 		if (hasJoinCond || fieldParamList.size() > 0) {
 			builder.append(" where (");
 			if (hasJoinCond) {
-				List<SqlSnippet.Param> joinCondParams = beanMeta.getJoinCondEmbedParams();
-				if (joinCondParams != null) {
-					for (SqlSnippet.Param param : joinCondParams) {
-						Object sqlParam = searchParam.getPara(param.getName());
-						if (param.isJdbcPara()) {
-							searchSql.addListSqlParam(sqlParam);
-							searchSql.addClusterSqlParam(sqlParam);
-						} else {
-							String strParam = sqlParam != null ? sqlParam.toString() : "";
-							joinCond = joinCond.replace(param.getSqlName(), strParam);
-						}
-					}
-				}
-				builder.append(joinCond).append(")");
+				builder.append(resolveEmbedParams(joinCond, beanMeta.getJoinCondEmbedParams(), searchParam, fromWhereParams))
+						.append(")");
 			}
 		}
 
@@ -100,18 +125,28 @@ public class DefaultSqlResolver implements SqlResolver {
 			String fieldName = fieldParam.getName();
 			// 这里没取字段别名，因为在 count SQL 里，select 语句中可能没这个字段
 			FieldMeta meta = beanMeta.requireFieldMeta(fieldName);
-			List<Object> sqlParams = appendFilterConditionSql(builder, meta.getType(),
-					meta.getFieldSql().getSnippet(), fieldParam);
-			for (Object sqlParam : sqlParams) {
-				searchSql.addListSqlParam(sqlParam);
-				searchSql.addClusterSqlParam(sqlParam);
-			}
+			appendFilterConditionSql(builder, meta.getType(), meta.getFieldSql().getSnippet(), fieldParam);
 			builder.append(")");
 		}
 
 		String groupBy = beanMeta.getGroupBy();
 		String[] summaryFields = fetchType.getSummaryFields();
 		boolean shouldQueryTotal = fetchType.shouldQueryTotal();
+		long countLimit = resolveCountLimit(beanMeta, searchParam);
+		if (countLimit > 0) {
+			if (StringUtils.isNotBlank(groupBy)) {
+				builder.append(" group by ")
+						.append(resolveEmbedParams(groupBy, beanMeta.getGroupByEmbedParams(), searchParam, groupByParams));
+			}
+			String fromWhereSql = builder.toString();
+			String originalSql = fieldSelectSql + fromWhereSql;
+			String clusterSelectSql = resolveClusterSelectSql(searchSql, summaryFields, true, originalSql);
+			// 只数到 countLimit + 1 行，上限参数在绑定时追加到聚族参数的末尾
+			String rowSelectSql = beanMeta.isDistinct() ? fieldSelectSql : "select 1";
+			PaginateSql rowsSql = dialect.forPaginate(rowSelectSql, fromWhereSql, countLimitPaging(countLimit));
+			String tableAlias = generateTableAlias(originalSql);
+			searchSql.setClusterSqlString(clusterSelectSql + " from (" + rowsSql.getSql() + ") " + tableAlias);
+		} else
 		if (StringUtils.isBlank(groupBy)) {
 			if (shouldQueryTotal || summaryFields.length > 0) {
 				if (beanMeta.isDistinct()) {
@@ -126,20 +161,8 @@ public class DefaultSqlResolver implements SqlResolver {
 				}
 			}
 		} else {
-			List<SqlSnippet.Param> groupParams = beanMeta.getGroupByEmbedParams();
-			if (groupParams != null) {
-				for (SqlSnippet.Param param : groupParams) {
-					Object sqlParam = searchParam.getPara(param.getName());
-					if (param.isJdbcPara()) {
-						searchSql.addListSqlParam(sqlParam);
-						searchSql.addClusterSqlParam(sqlParam);
-					} else {
-						String strParam = sqlParam != null ? sqlParam.toString() : "";
-						groupBy = groupBy.replace(param.getSqlName(), strParam);
-					}
-				}
-			}
-			builder.append(" group by ").append(groupBy);
+			builder.append(" group by ")
+					.append(resolveEmbedParams(groupBy, beanMeta.getGroupByEmbedParams(), searchParam, groupByParams));
 			if (shouldQueryTotal || summaryFields.length > 0) {
 				String fromWhereSql = builder.toString();
 				if (beanMeta.isDistinct()) {
@@ -154,9 +177,14 @@ public class DefaultSqlResolver implements SqlResolver {
 				}
 			}
 		}
+		int[] seekParamIndexes = null;
 		if (fetchType.shouldQueryList()) {
 			OrderBy orderBy = searchParam.getOrderBy();
-			if (orderBy != null) {
+			Paging paging = searchParam.getPaging();
+			if (paging != null && paging.isSeek()) {
+				boolean hasWhere = hasJoinCond || fieldParamList.size() > 0;
+				seekParamIndexes = appendSeekSql(builder, searchSql, orderBy, paging, hasWhere);
+			} else if (orderBy != null) {
 				FieldMeta meta = beanMeta.requireFieldMeta(orderBy.getSort());
 				builder.append(" order by ").append(meta.getDbAlias());
 				String order = orderBy.getOrder();
@@ -167,46 +195,220 @@ public class DefaultSqlResolver implements SqlResolver {
 			String fromWhereSql = builder.toString();
 			PaginateSql paginateSql = dialect.forPaginate(fieldSelectSql, fromWhereSql, searchParam.getPaging());
 			searchSql.setListSqlString(paginateSql.getSql());
-			searchSql.addListSqlParams(paginateSql.getParams());
 		}
-		return searchSql;
+		List<String> listHeadParams = new ArrayList<>(dbFieldParams);
+		listHeadParams.addAll(fromWhereParams);
+		// 只有在 distinct 条件，聚族查询 SQL 里才会出现 字段查询 语句，才需要将 内嵌参数放到 聚族参数里
+		List<String> clusterHeadParams = beanMeta.isDistinct() ? listHeadParams : fromWhereParams;
+		return new SqlTemplate(searchSql, listHeadParams, clusterHeadParams, groupByParams, seekParamIndexes);
 	}
 
-	protected <T> String resolveTables(SqlSnippet tableSnippet, SearchParam searchParam, SearchSql<T> searchSql) {
-		String tables = tableSnippet.getSnippet();
-		List<SqlSnippet.Param> params = tableSnippet.getParams();
-		for (SqlSnippet.Param param : params) {
-			Object sqlParam = searchParam.getPara(param.getName());
-			if (param.isJdbcPara()) {
-				searchSql.addListSqlParam(sqlParam);
-				searchSql.addClusterSqlParam(sqlParam);
+	/**
+	 * 追加键集分页的定位条件与排序语句，例如：
+	 * where (sort_col > ? or (sort_col = ? and id > ?)) order by sort_col asc, id asc
+	 * 定位条件只追加到列表 SQL 中，聚族 SQL 不受影响
+	 * @return 定位条件的 JDBC 参数对应的键值下标，无定位条件（第一页）时为空数组
+	 * @since v3.3.0
+	 */
+	protected int[] appendSeekSql(StringBuilder builder, SearchSql<?> searchSql, OrderBy orderBy, Paging paging, boolean hasWhere) {
+		BeanMeta<?> beanMeta = searchSql.getBeanMeta();
+		if (StringUtils.isNotBlank(beanMeta.getGroupBy())) {
+			throw new SearchException("键集分页不支持指定了 groupBy 的 SearchBean：" + beanMeta.getBeanClass().getName());
+		}
+		FieldMeta keyMeta = beanMeta.requireFieldMeta(paging.getSeekField());
+		FieldMeta sortMeta = null;
+		if (orderBy != null && !keyMeta.getName().equals(orderBy.getSort())) {
+			sortMeta = beanMeta.requireFieldMeta(orderBy.getSort());
+		}
+		String[] seekFields = sortMeta != null
+				? new String[] { sortMeta.getName(), keyMeta.getName() }
+				: new String[] { keyMeta.getName() };
+		for (String field : seekFields) {
+			if (!searchSql.getFetchFields().contains(field)) {
+				throw new SearchException("键集分页的排序字段与唯一键字段【" + field + "】必须被 Select");
+			}
+		}
+		searchSql.setSeekFields(seekFields);
+		boolean desc = orderBy != null && "desc".equalsIgnoreCase(orderBy.getOrder());
+		String compare = desc ? " < ?" : " > ?";
+		String order = desc ? " desc" : " asc";
+		int[] paramIndexes = new int[0];
+		if (paging.getSeekValues() != null) {
+			builder.append(hasWhere ? " and (" : " where (");
+			String keySql = keyMeta.getFieldSql().getSnippet();
+			if (sortMeta != null) {
+				String sortSql = sortMeta.getFieldSql().getSnippet();
+				builder.append(sortSql).append(compare).append(" or (")
+						.append(sortSql).append(" = ? and ").append(keySql).append(compare).append(")");
+				paramIndexes = new int[] { 0, 0, 1 };
 			} else {
-				String strParam = sqlParam != null ? sqlParam.toString() : "";
-				tables = tables.replace(param.getSqlName(), strParam);
+				builder.append(keySql).append(compare);
+				paramIndexes = new int[] { 0 };
 			}
+			builder.append(")");
+		}
+		builder.append(" order by ");
+		if (sortMeta != null) {
+			builder.append(sortMeta.getDbAlias()).append(order).append(", ");
 		}
-		return tables;
+		builder.append(keyMeta.getDbAlias()).append(order);
+		return paramIndexes;
 	}
 
-	protected <T> String resolveDbField(SqlSnippet dbFieldSnippet, SearchParam searchParam, SearchSql<T> searchSql, boolean distinct) {
-		String dbField = dbFieldSnippet.getSnippet();
-		List<SqlSnippet.Param> params = dbFieldSnippet.getParams();
-		for (SqlSnippet.Param param : params) {
-			Object sqlParam = searchParam.getPara(param.getName());
-			if (param.isJdbcPara()) {
+	/**
+	 * 将检索参数的值绑定到 SQL 模板上，生成本次检索的 SearchSql
+	 * @since v3.3.0
+	 */
+	protected <T> SearchSql<T> bindTemplate(SqlTemplate template, BeanMeta<T> beanMeta, SearchParam searchParam) {
+		SearchSql<?> prototype = template.getPrototype();
+		SearchSql<T> searchSql = new SearchSql<>(beanMeta, searchParam.getFetchFields());
+		searchSql.setShouldQueryList(prototype.isShouldQueryList());
+		searchSql.setShouldQueryCluster(prototype.isShouldQueryCluster());
+		searchSql.setStreaming(searchParam.getFetchType().isStreaming());
+		Integer queryTimeout = searchParam.getQueryTimeout();
+		searchSql.setQueryTimeout(queryTimeout != null ? queryTimeout : beanMeta.getQueryTimeout());
+		searchSql.setCancelToken(searchParam.getCancelToken());
+		searchSql.setListSqlString(prototype.getListSqlString());
+		searchSql.setClusterSqlString(prototype.getClusterSqlString());
+		searchSql.setCountAlias(prototype.getCountAlias());
+		for (String alias : prototype.getSummaryAliases()) {
+			searchSql.addSummaryAlias(alias);
+		}
+		for (String name : template.getListHeadParams()) {
+			searchSql.addListSqlParam(searchParam.getPara(name));
+		}
+		for (String name : template.getClusterHeadParams()) {
+			searchSql.addClusterSqlParam(searchParam.getPara(name));
+		}
+		for (FieldParam fieldParam : searchParam.getFieldParams()) {
+			FieldMeta meta = beanMeta.requireFieldMeta(fieldParam.getName());
+			for (Object sqlParam : resolveFilterSqlParams(meta.getType(), fieldParam)) {
 				searchSql.addListSqlParam(sqlParam);
-				// 只有在 distinct 条件，聚族查询 SQL 里才会出现 字段查询 语句，才需要将 内嵌参数放到 聚族参数里
-				if (distinct) {
-					searchSql.addClusterSqlParam(sqlParam);
+				searchSql.addClusterSqlParam(sqlParam);
+			}
+		}
+		for (String name : template.getGroupByParams()) {
+			Object sqlParam = searchParam.getPara(name);
+			searchSql.addListSqlParam(sqlParam);
+			searchSql.addClusterSqlParam(sqlParam);
+		}
+		long countLimit = resolveCountLimit(beanMeta, searchParam);
+		if (countLimit > 0 && prototype.isShouldQueryCluster()) {
+			searchSql.setCountLimit(countLimit);
+			for (Object sqlParam : dialect.paginateParams(countLimitPaging(countLimit))) {
+				searchSql.addClusterSqlParam(sqlParam);
+			}
+		}
+		if (prototype.isShouldQueryList()) {
+			Paging paging = searchParam.getPaging();
+			int[] seekParamIndexes = template.getSeekParamIndexes();
+			if (seekParamIndexes != null) {
+				String[] seekFields = prototype.getSeekFields();
+				Object[] seekValues = paging.getSeekValues();
+				if (seekValues != null && seekValues.length != seekFields.length) {
+					throw new SearchException("键集分页的键值个数应为 " + seekFields.length + "（" + String.join(", ", seekFields)
+							+ "），实际为 " + seekValues.length);
 				}
-			} else {
-				String strParam = sqlParam != null ? sqlParam.toString() : "";
-				dbField = dbField.replace(param.getSqlName(), strParam);
+				for (int index : seekParamIndexes) {
+					searchSql.addListSqlParam(seekValues[index]);
+				}
+				searchSql.setSeekFields(seekFields);
+			}
+			searchSql.setPaging(paging);
+			searchSql.addListSqlParams(dialect.paginateParams(paging));
+			// Select 列的顺序与 fetchFields 一致
+			int[] columnIndexes = new int[searchParam.getFetchFields().size()];
+			for (int i = 0; i < columnIndexes.length; i++) {
+				columnIndexes[i] = i + 1;
 			}
+			searchSql.setListColumnIndexes(columnIndexes);
 		}
-		return dbField;
+		return searchSql;
 	}
 
+	/**
+	 * 解析表片段
+	 * Deprecated from v3.3.0
+	 * 仍会被调用，以兼容覆盖了它的子类，新的子类请覆盖 {@link #appendSnippet(StringBuilder, SqlSnippet, SearchParam, List)}
+	 * @param tableSnippet 表片段
+	 * @param searchParam 检索参数
+	 * @param jdbcParams 按顺序收集 JDBC 内嵌参数名
+	 * @return 替换了非 JDBC 内嵌参数后的片段
+	 */
+	@Deprecated
+	protected String resolveTables(SqlSnippet tableSnippet, SearchParam searchParam, List<String> jdbcParams) {
+		StringBuilder builder = new StringBuilder();
+		appendSnippet(builder, tableSnippet, searchParam, jdbcParams);
+		return builder.toString();
+	}
+
+	/**
+	 * 解析字段片段
+	 * Deprecated from v3.3.0
+	 * 仍会被调用，以兼容覆盖了它的子类，新的子类请覆盖 {@link #appendSnippet(StringBuilder, SqlSnippet, SearchParam, List)}
+	 * @param dbFieldSnippet 字段片段
+	 * @param searchParam 检索参数
+	 * @param jdbcParams 按顺序收集 JDBC 内嵌参数名
+	 * @return 替换了非 JDBC 内嵌参数后的片段
+	 */
+	@Deprecated
+	protected String resolveDbField(SqlSnippet dbFieldSnippet, SearchParam searchParam, List<String> jdbcParams) {
+		StringBuilder builder = new StringBuilder();
+		appendSnippet(builder, dbFieldSnippet, searchParam, jdbcParams);
+		return builder.toString();
+	}
+
+	/**
+	 * 替换 SQL 片段（连表条件、分组字段）里的非 JDBC 内嵌参数，并按顺序收集 JDBC 内嵌参数名
+	 * Deprecated from v3.3.0
+	 * 仍会被调用，以兼容覆盖了它的子类，新的子类请覆盖 {@link #appendSnippet(StringBuilder, SqlSnippet, SearchParam, List)}
+	 * @param snippet SQL 片段
+	 * @param params 片段的内嵌参数，可为 null
+	 * @param searchParam 检索参数
+	 * @param jdbcParams 按顺序收集 JDBC 内嵌参数名
+	 * @return 替换了非 JDBC 内嵌参数后的片段
+	 */
+	@Deprecated
+	protected String resolveEmbedParams(String snippet, List<SqlSnippet.Param> params, SearchParam searchParam, List<String> jdbcParams) {
+		SqlSnippet sqlSnippet = new SqlSnippet();
+		sqlSnippet.setSnippet(snippet);
+		if (params != null) {
+			params.forEach(sqlSnippet::addParam);
+		}
+		StringBuilder builder = new StringBuilder();
+		appendSnippet(builder, sqlSnippet, searchParam, jdbcParams);
+		return builder.toString();
+	}
+
+	/**
+	 * 渲染 SQL 片段（替换非 JDBC 内嵌参数）到 builder 中，并按顺序收集 JDBC 内嵌参数名
+	 * @since v3.3.0
+	 */
+	protected void appendSnippet(StringBuilder builder, SqlSnippet snippet, SearchParam searchParam, List<String> jdbcParams) {
+		for (SqlSnippet.Param param : snippet.getParams()) {
+			if (param.isJdbcPara()) {
+				jdbcParams.add(param.getName());
+			}
+		}
+		snippet.appendTo(builder, searchParam::getPara);
+	}
+
+	/**
+	 * @return 本次检索生效的总数上限，为 0 表示精确计数（同时检索统计值时总是精确计数）
+	 * @since v3.3.0
+	 */
+	protected long resolveCountLimit(BeanMeta<?> beanMeta, SearchParam searchParam) {
+		FetchType fetchType = searchParam.getFetchType();
+		if (!fetchType.shouldQueryTotal() || fetchType.getSummaryFields().length > 0) {
+			return 0;
+		}
+		Long countLimit = searchParam.getCountLimit();
+		return Math.max(countLimit != null ? countLimit : beanMeta.getCountLimit(), 0);
+	}
+
+	private static Paging countLimitPaging(long countLimit) {
+		return new Paging((int) Math.min(countLimit + 1, Integer.MAX_VALUE), 0);
+	}
 
 	protected <T> String resolveClusterSelectSql(SearchSql<T> searchSql, String[] summaryFields,
 				boolean shouldQueryTotal, String originalSql) {
@@ -262,49 +464,35 @@ public class DefaultSqlResolver implements SqlResolver {
 	 */
 	protected List<Object> appendFilterConditionSql(StringBuilder builder, Class<?> fieldType,
 			String dbField, FieldParam fieldParam) {
-		Object[] values = fieldParam.getValues();
-		boolean ignoreCase = fieldParam.isIgnoreCase();
+		Object[] values = correctFilterValues(fieldType, fieldParam);
 		Operator operator = fieldParam.getOperator();
-		if (Date.class.isAssignableFrom(fieldType)) {
-			values = dateValueCorrector.correct(values, operator);
-		}
-		if (ignoreCase) {
+		if (fieldParam.isIgnoreCase()) {
 			dialect.toUpperCase(builder, dbField);
-			values = toUpperCase(values);
 		} else {
 			builder.append(dbField);
 		}
-		Object firstRealValue = ObjectUtils.firstNotNull(values);
-		List<Object> params = new ArrayList<>(2);
 		switch (operator) {
 		case Like:
 		case Contain:
 			builder.append(" like ?");
-			params.add("%" + firstRealValue + "%");
 			break;
 		case Equal:
 			builder.append(" = ?");
-			params.add(firstRealValue);
 			break;
 		case GreaterEqual:
 			builder.append(" >= ?");
-			params.add(firstRealValue);
 			break;
 		case GreaterThan:
 			builder.append(" > ?");
-			params.add(firstRealValue);
 			break;
 		case LessEqual:
 			builder.append(" <= ?");
-			params.add(firstRealValue);
 			break;
 		case LessThan:
 			builder.append(" < ?");
-			params.add(firstRealValue);
 			break;
 		case NotEqual:
 			builder.append(" != ?");
-			params.add(firstRealValue);
 			break;
 		case Empty:
 			builder.append(" is null");
@@ -319,41 +507,24 @@ public class DefaultSqlResolver implements SqlResolver {
 			}
 			break;
 		case StartWith:
-			builder.append(" like ?");
-			params.add(firstRealValue + "%");
-			break;
 		case EndWith:
 			builder.append(" like ?");
-			params.add("%" + firstRealValue);
 			break;
 		case Between:
-			boolean val1Null = false;
-			boolean val2Null = false;
-			Object value0 = values.length > 0 ? values[0] : null;
-			Object value1 = values.length > 1 ? values[1] : null;
-			if (value0 == null || (value0 instanceof String && StringUtils.isBlank((String) value0))) {
-				val1Null = true;
-			}
-			if (value1 == null || (value1 instanceof String && StringUtils.isBlank((String) value1))) {
-				val2Null = true;
-			}
+			boolean val1Null = isBlankValue(values, 0);
+			boolean val2Null = isBlankValue(values, 1);
 			if (!val1Null && !val2Null) {
 				builder.append(" between ? and ? ");
-				params.add(value0);
-				params.add(value1);
 			} else if (val1Null && !val2Null) {
 				builder.append(" <= ? ");
-				params.add(value1);
 			} else if (!val1Null) {
 				builder.append(" >= ? ");
-				params.add(value0);
 			}
 			break;
 		case MultiValue:
 			builder.append(" in (");
 			for (int i = 0; i < values.length; i++) {
 				builder.append("?");
-				params.add(values[i]);
 				if (i < values.length - 1) {
 					builder.append(", ");
 				}
@@ -361,9 +532,77 @@ public class DefaultSqlResolver implements SqlResolver {
 			builder.append(")");
 			break;
 		}
+		return toFilterSqlParams(operator, values);
+	}
+
+	/**
+	 * 只计算字段过滤条件的 JDBC 参数值，不生成 SQL，须与 {@link #appendFilterConditionSql } 保持一致
+	 * @param fieldType 字段类型
+	 * @param fieldParam 字段参数
+	 * @return 查询参数值
+	 * @since v3.3.0
+	 */
+	protected List<Object> resolveFilterSqlParams(Class<?> fieldType, FieldParam fieldParam) {
+		return toFilterSqlParams(fieldParam.getOperator(), correctFilterValues(fieldType, fieldParam));
+	}
+
+	protected Object[] correctFilterValues(Class<?> fieldType, FieldParam fieldParam) {
+		Object[] values = fieldParam.getValues();
+		if (Date.class.isAssignableFrom(fieldType)) {
+			values = dateValueCorrector.correct(values, fieldParam.getOperator());
+		}
+		if (fieldParam.isIgnoreCase()) {
+			values = toUpperCase(values);
+		}
+		return values;
+	}
+
+	protected List<Object> toFilterSqlParams(Operator operator, Object[] values) {
+		Object firstRealValue = ObjectUtils.firstNotNull(values);
+		List<Object> params = new ArrayList<>(2);
+		switch (operator) {
+		case Like:
+		case Contain:
+			params.add("%" + firstRealValue + "%");
+			break;
+		case Equal:
+		case GreaterEqual:
+		case GreaterThan:
+		case LessEqual:
+		case LessThan:
+		case NotEqual:
+			params.add(firstRealValue);
+			break;
+		case StartWith:
+			params.add(firstRealValue + "%");
+			break;
+		case EndWith:
+			params.add("%" + firstRealValue);
+			break;
+		case Between:
+			boolean val1Null = isBlankValue(values, 0);
+			boolean val2Null = isBlankValue(values, 1);
+			if (!val1Null) {
+				params.add(values[0]);
+			}
+			if (!val2Null) {
+				params.add(values[1]);
+			}
+			break;
+		case MultiValue:
+			Collections.addAll(params, values);
+			break;
+		default:
+			break;
+		}
 		return params;
 	}
 
+	static boolean isBlankValue(Object[] values, int index) {
+		Object value = values.length > index ? values[index] : null;
+		return value == null || (value instanceof String && StringUtils.isBlank((String) value));
+	}
+
 	protected Object[] toUpperCase(Object[] params) {
 		for (int i = 0; i < params.length; i++) {
 			Object val = params[i];
@@ -384,6 +623,7 @@ public class DefaultSqlResolver implements SqlResolver {
 	
 	public void setDialect(Dialect dialect) {
 		this.dialect = Objects.requireNonNull(dialect);
+		templateCache.clear();
 	}
 
 	public DateValueCorrector getDateValueCorrector() {
@@ -394,4 +634,170 @@ public class DefaultSqlResolver implements SqlResolver {
 		this.dateValueCorrector = Objects.requireNonNull(dateValueCorrector);
 	}
 
+	public int getTemplateCacheSize() {
+		return templateCacheSize;
+	}
+
+	/**
+	 * 设置 SQL 模板缓存的最大条数
+	 * @param templateCacheSize 最大条数，小于等于 0 时表示不缓存
+	 * @since v3.3.0
+	 */
+	public void setTemplateCacheSize(int templateCacheSize) {
+		this.templateCacheSize = templateCacheSize;
+		this.templateCache = new ConcurrentLruCache<>(templateCacheSize);
+	}
+
+	/**
+	 * SQL 形态：决定生成的 SQL 文本的所有因素，用作 SQL 模板缓存的 Key
+	 * 包括：Bean 元信息、Fetch 类型与统计字段、Select 字段、各过滤字段的（字段名、运算符、是否忽略大小写、参数值形态）、
+	 * 排序、是否分页 以及 非 JDBC 内嵌参数（:name:）的值
+	 * @since v3.3.0
+	 */
+	protected static class SqlShape {
+
+		private final Object[] parts;
+
+		private final int hash;
+
+		public SqlShape(BeanMeta<?> beanMeta, SearchParam searchParam) {
+			FetchType fetchType = searchParam.getFetchType();
+			OrderBy orderBy = fetchType.shouldQueryList() ? searchParam.getOrderBy() : null;
+			List<FieldParam> fieldParams = searchParam.getFieldParams();
+			List<Object> parts = new ArrayList<>(10 + 4 * fieldParams.size());
+			parts.add(beanMeta);
+			parts.add(fetchType.getType());
+			parts.add(Arrays.asList(fetchType.getSummaryFields()));
+			parts.add(searchParam.getFetchFields());
+			parts.add(orderBy != null ? orderBy.getSort() : null);
+			parts.add(orderBy != null ? orderBy.getOrder() : null);
+			Paging paging = searchParam.getPaging();
+			parts.add(paging != null);
+			// SearchBean 的总数上限已由 beanMeta 决定，这里只需区分检索参数是否覆盖了它
+			Long countLimit = searchParam.getCountLimit();
+			parts.add(countLimit != null ? countLimit > 0 : null);
+			if (paging != null && paging.isSeek()) {
+				parts.add(paging.getSeekField());
+				parts.add(paging.getSeekValues() != null);
+			}
+			parts.add(fieldParams.size());
+			for (FieldParam fieldParam : fieldParams) {
+				parts.add(fieldParam.getName());
+				parts.add(fieldParam.getOperator());
+				parts.add(fieldParam.isIgnoreCase());
+				parts.add(valueShape(fieldParam));
+			}
+			for (String field : searchParam.getFetchFields()) {
+				addEmbedValues(parts, beanMeta.requireFieldMeta(field).getFieldSql().getParams(), searchParam);
+			}
+			addEmbedValues(parts, beanMeta.getTableSnippet().getParams(), searchParam);
+			addEmbedValues(parts, beanMeta.getJoinCondEmbedParams(), searchParam);
+			addEmbedValues(parts, beanMeta.getGroupByEmbedParams(), searchParam);
+			this.parts = parts.toArray();
+			this.hash = Arrays.hashCode(this.parts);
+		}
+
+		private static int valueShape(FieldParam fieldParam) {
+			switch (fieldParam.getOperator()) {
+			case MultiValue:
+				return fieldParam.getValueList().size();
+			case Between:
+				Object[] values = fieldParam.getValues();
+				return (isBlankValue(values, 0) ? 1 : 0) | (isBlankValue(values, 1) ? 2 : 0);
+			default:
+				return 0;
+			}
+		}
+
+		private static void addEmbedValues(List<Object> parts, List<SqlSnippet.Param> params, SearchParam searchParam) {
+			if (params == null) {
+				return;
+			}
+			for (SqlSnippet.Param param : params) {
+				if (!param.isJdbcPara()) {
+					Object value = searchParam.getPara(param.getName());
+					parts.add(value != null ? value.toString() : "");
+				}
+			}
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof SqlShape)) {
+				return false;
+			}
+			SqlShape that = (SqlShape) o;
+			return hash == that.hash && Arrays.equals(parts, that.parts);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+	}
+
+	/**
+	 * 预编译的 SQL 模板：SQL 文本 与 JDBC 参数的绑定计划
+	 * 列表参数顺序：listHeadParams、过滤参数、groupByParams、键集分页参数、分页参数
+	 * 聚族参数顺序：clusterHeadParams、过滤参数、groupByParams
+	 * @since v3.3.0
+	 */
+	protected static class SqlTemplate {
+
+		/**
+		 * 不含参数值的 SearchSql 原型
+		 */
+		private final SearchSql<?> prototype;
+
+		private final String[] listHeadParams;
+
+		private final String[] clusterHeadParams;
+
+		private final String[] groupByParams;
+
+		/**
+		 * 键集分页参数对应的键值下标，非键集分页时为 null
+		 */
+		private final int[] seekParamIndexes;
+
+		public SqlTemplate(SearchSql<?> prototype, List<String> listHeadParams,
+						   List<String> clusterHeadParams, List<String> groupByParams) {
+			this(prototype, listHeadParams, clusterHeadParams, groupByParams, null);
+		}
+
+		public SqlTemplate(SearchSql<?> prototype, List<String> listHeadParams,
+						   List<String> clusterHeadParams, List<String> groupByParams, int[] seekParamIndexes) {
+			this.prototype = prototype;
+			this.listHeadParams = listHeadParams.toArray(new String[0]);
+			this.clusterHeadParams = clusterHeadParams.toArray(new String[0]);
+			this.groupByParams = groupByParams.toArray(new String[0]);
+			this.seekParamIndexes = seekParamIndexes;
+		}
+
+		public SearchSql<?> getPrototype() {
+			return prototype;
+		}
+
+		public String[] getListHeadParams() {
+			return listHeadParams;
+		}
+
+		public String[] getClusterHeadParams() {
+			return clusterHeadParams;
+		}
+
+		public String[] getGroupByParams() {
+			return groupByParams;
+		}
+
+		public int[] getSeekParamIndexes() {
+			return seekParamIndexes;
+		}
+
+	}
+
 }
@@ -0,0 +1,310 @@
+package com.ejlchina.searcher.implement;
+
+import com.ejlchina.searcher.BeanMeta;
+import com.ejlchina.searcher.FieldConvertor.BFieldConvertor;
+import com.ejlchina.searcher.FieldMeta;
+import com.ejlchina.searcher.SearchException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 高性能 Bean 反射器
+ * 为每个 SearchBean 只构建一次 {@link Populator }（基于 MethodHandle 的构造器与字段赋值器），
+ * 并缓存 Select 字段的赋值顺序，避免每行数据都进行反射调用与字段元信息查找
+ * 按列下标取值时，数值型的基本类型字段（int、long、short、byte、double、float）若其数据库值恰为该基本类型的包装类型，
+ * 且除 {@link NumberFieldConvertor} 外没有字段转换器支持该值类型，则之后的行直接使用 ResultSet 的类型化方法取值并赋值，
+ * 不经过装箱与字段转换器，其结果与 getObject + 字段转换器 一致；其它情况（如 DECIMAL 列、用户的转换器）仍使用 getObject + 字段转换器
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public class FastBeanReflector extends DefaultBeanReflector {
+
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private final Map<BeanMeta<?>, Populator> populators = new ConcurrentHashMap<>();
+
+	public FastBeanReflector() {
+		super();
+	}
+
+	public FastBeanReflector(List<BFieldConvertor> convertors) {
+		super(convertors);
+	}
+
+	@Override
+	public <T> T reflect(BeanMeta<T> beanMeta, List<String> fetchFields, Function<String, Object> valueGetter) {
+		Populator populator = getPopulator(beanMeta);
+		@SuppressWarnings("unchecked")
+		T bean = (T) populator.newInstance();
+		for (Slot slot : populator.slots(fetchFields)) {
+			FieldMeta meta = slot.meta;
+			Object value = valueGetter.apply(meta.getDbAlias());
+			try {
+				value = convert(meta, value);
+			} catch (Exception e) {
+				throw new SearchException(
+						"The type of [" + beanMeta.getBeanClass() + "#" + meta.getName() + "] is mismatch with it's database table field type", e);
+			}
+			if (value != null) {
+				slot.set(bean, value);
+			}
+		}
+		return bean;
+	}
+
+	@Override
+	public <T> T reflect(BeanMeta<T> beanMeta, List<String> fetchFields, int[] columnIndexes, ResultSet resultSet) {
+		if (columnIndexes == null) {
+			return super.reflect(beanMeta, fetchFields, null, resultSet);
+		}
+		Populator populator = getPopulator(beanMeta);
+		@SuppressWarnings("unchecked")
+		T bean = (T) populator.newInstance();
+		Slot[] slots = populator.slots(fetchFields);
+		for (int i = 0; i < slots.length; i++) {
+			Slot slot = slots[i];
+			FieldMeta meta = slot.meta;
+			int index = columnIndexes[i];
+			Object value;
+			try {
+				if (slot.typed && isTypedConvertible(meta, slot.wrapperType)) {
+					slot.setTyped(bean, resultSet, index);
+					continue;
+				}
+				value = resultSet.getObject(index);
+			} catch (SQLException e) {
+				throw new SearchException("A exception occurred when collecting sql result!", e);
+			}
+			if (value != null && value.getClass() == slot.wrapperType && isTypedConvertible(meta, slot.wrapperType)) {
+				// 数据库值恰为字段的包装类型，之后的行使用类型化取值
+				slot.typed = true;
+				slot.set(bean, value);
+				continue;
+			}
+			try {
+				value = convert(meta, value);
+			} catch (Exception e) {
+				throw new SearchException(
+						"The type of [" + beanMeta.getBeanClass() + "#" + meta.getName() + "] is mismatch with it's database table field type", e);
+			}
+			if (value != null) {
+				slot.set(bean, value);
+			}
+		}
+		return bean;
+	}
+
+	/**
+	 * @param meta 数值型基本类型的字段
+	 * @param wrapperType 该基本类型的包装类型
+	 * @return 该字段能否使用类型化取值：没有字段转换器支持该值类型，或支持它的是 {@link NumberFieldConvertor}（转换结果与类型化取值一致）
+	 */
+	protected boolean isTypedConvertible(FieldMeta meta, Class<?> wrapperType) {
+		BFieldConvertor convertor = findConvertor(meta, wrapperType);
+		return convertor == null || convertor.getClass() == NumberFieldConvertor.class;
+	}
+
+	protected Populator getPopulator(BeanMeta<?> beanMeta) {
+		Populator populator = populators.get(beanMeta);
+		if (populator == null) {
+			populator = populators.computeIfAbsent(beanMeta, Populator::new);
+		}
+		return populator;
+	}
+
+	/**
+	 * 某个 SearchBean 的对象构建与赋值器
+	 */
+	protected static class Populator {
+
+		private final BeanMeta<?> beanMeta;
+
+		private final MethodHandle constructor;
+
+		private final Map<String, Slot> slotMap = new ConcurrentHashMap<>();
+
+		/**
+		 * 最近一次使用的赋值计划（Select 字段列表通常在一次检索的所有行之间共享）
+		 */
+		private volatile Plan lastPlan;
+
+		Populator(BeanMeta<?> beanMeta) {
+			Class<?> beanClass = beanMeta.getBeanClass();
+			try {
+				Constructor<?> ctor = beanClass.getDeclaredConstructor();
+				ctor.setAccessible(true);
+				this.constructor = MethodHandles.lookup().unreflectConstructor(ctor).asType(CONSTRUCTOR_TYPE);
+			} catch (Exception e) {
+				throw new SearchException("为【" + beanClass.getName() + "】创建对象时报错，请检查该类中是否有无参构造方法！", e);
+			}
+			this.beanMeta = beanMeta;
+		}
+
+		Object newInstance() {
+			try {
+				return constructor.invokeExact();
+			} catch (Throwable e) {
+				throw new SearchException("为【" + beanMeta.getBeanClass().getName() + "】创建对象时报错，请检查该类中是否有无参构造方法！", e);
+			}
+		}
+
+		Slot[] slots(List<String> fetchFields) {
+			Plan plan = lastPlan;
+			if (plan != null && plan.fetchFields == fetchFields) {
+				return plan.slots;
+			}
+			List<Slot> slots = new ArrayList<>(fetchFields.size());
+			for (String field : fetchFields) {
+				slots.add(slotMap.computeIfAbsent(field, f -> new Slot(beanMeta.requireFieldMeta(f))));
+			}
+			plan = new Plan(fetchFields, slots.toArray(new Slot[0]));
+			lastPlan = plan;
+			return plan.slots;
+		}
+
+	}
+
+	static class Plan {
+
+		final List<String> fetchFields;
+
+		final Slot[] slots;
+
+		Plan(List<String> fetchFields, Slot[] slots) {
+			this.fetchFields = fetchFields;
+			this.slots = slots;
+		}
+
+	}
+
+	/**
+	 * 字段赋值器
+	 */
+	protected static class Slot {
+
+		private final FieldMeta meta;
+
+		/**
+		 * 为 null 时（例如 final 字段）退化为 {@link Field#set(Object, Object)}
+		 */
+		private final MethodHandle setter;
+
+		/**
+		 * 数值型基本类型字段的类型化赋值器，例如 (Object, long)void，其它字段为 null
+		 */
+		private final MethodHandle typedSetter;
+
+		private final Class<?> primitiveType;
+
+		/**
+		 * 数值型基本类型字段的包装类型，其它字段为 null
+		 */
+		private final Class<?> wrapperType;
+
+		/**
+		 * 是否已观察到数据库值恰为 {@link #wrapperType}，之后可使用类型化取值
+		 */
+		private volatile boolean typed;
+
+		Slot(FieldMeta meta) {
+			this.meta = meta;
+			Field field = meta.getField();
+			Class<?> type = field.getType();
+			MethodHandle setter = null;
+			MethodHandle typedSetter = null;
+			try {
+				field.setAccessible(true);
+				MethodHandle handle = MethodHandles.lookup().unreflectSetter(field);
+				setter = handle.asType(SETTER_TYPE);
+				if (isTypedPrimitive(type)) {
+					typedSetter = handle.asType(MethodType.methodType(void.class, Object.class, type));
+				}
+			} catch (ReflectiveOperationException | RuntimeException ignored) {
+				// 使用 Field#set 赋值
+			}
+			this.setter = setter;
+			this.typedSetter = typedSetter;
+			this.primitiveType = typedSetter != null ? type : null;
+			this.wrapperType = typedSetter != null ? MethodType.methodType(type).wrap().returnType() : null;
+		}
+
+		static boolean isTypedPrimitive(Class<?> type) {
+			return type == int.class || type == long.class || type == double.class
+					|| type == float.class || type == short.class || type == byte.class;
+		}
+
+		/**
+		 * 使用类型化方法取值并赋值，数据库值为 null 时不赋值
+		 */
+		void setTyped(Object bean, ResultSet resultSet, int index) throws SQLException {
+			Class<?> type = primitiveType;
+			try {
+				if (type == long.class) {
+					long value = resultSet.getLong(index);
+					if (!resultSet.wasNull()) {
+						typedSetter.invokeExact(bean, value);
+					}
+				} else if (type == int.class) {
+					int value = resultSet.getInt(index);
+					if (!resultSet.wasNull()) {
+						typedSetter.invokeExact(bean, value);
+					}
+				} else if (type == double.class) {
+					double value = resultSet.getDouble(index);
+					if (!resultSet.wasNull()) {
+						typedSetter.invokeExact(bean, value);
+					}
+				} else if (type == float.class) {
+					float value = resultSet.getFloat(index);
+					if (!resultSet.wasNull()) {
+						typedSetter.invokeExact(bean, value);
+					}
+				} else if (type == short.class) {
+					short value = resultSet.getShort(index);
+					if (!resultSet.wasNull()) {
+						typedSetter.invokeExact(bean, value);
+					}
+				} else {
+					byte value = resultSet.getByte(index);
+					if (!resultSet.wasNull()) {
+						typedSetter.invokeExact(bean, value);
+					}
+				}
+			} catch (SQLException e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new SearchException(
+						"A exception occurred when setting value to [" + meta.getBeanMeta().getBeanClass().getName() + "#" + meta.getName() + "], please check whether it's setter is correct.", e);
+			}
+		}
+
+		void set(Object bean, Object value) {
+			try {
+				if (setter != null) {
+					setter.invokeExact(bean, value);
+				} else {
+					meta.getField().set(bean, value);
+				}
+			} catch (Throwable e) {
+				throw new SearchException(
+						"A exception occurred when setting value to [" + meta.getBeanMeta().getBeanClass().getName() + "#" + meta.getName() + "], please check whether it's setter is correct.", e);
+			}
+		}
+
+	}
+
+}
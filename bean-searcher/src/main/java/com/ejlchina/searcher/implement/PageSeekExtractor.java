@@ -0,0 +1,89 @@
+package com.ejlchina.searcher.implement;
+
+import com.ejlchina.searcher.param.Paging;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 键集（Seek）分页提取器
+ * 从检索参数中提取上一页最后一条数据的键值（游标），生成键集分页参数，游标为空时表示第一页
+ * 游标参数值可以是 集合、数组 或 以 {@link #seekValueSeparator } 分隔的字符串
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public class PageSeekExtractor extends BasePageExtractor {
+
+	/**
+	 * 唯一键字段（Bean 属性名）
+	 */
+	private String seekField = "id";
+
+	/**
+	 * 游标参数名
+	 */
+	private String seekValuesName = "after";
+
+	/**
+	 * 字符串游标的分隔符
+	 */
+	private String seekValueSeparator = ",";
+
+	@Override
+	public Paging extract(Map<String, Object> paraMap) {
+		int size = toSize(paraMap.get(getSizeName()));
+		return new Paging(size, seekField, toSeekValues(paraMap.get(seekValuesName)));
+	}
+
+	@Override
+	protected long toOffset(Map<String, Object> paraMap, int size) {
+		return 0;
+	}
+
+	protected Object[] toSeekValues(Object value) {
+		if (value instanceof Object[]) {
+			return (Object[]) value;
+		}
+		if (value instanceof Collection) {
+			return ((Collection<?>) value).toArray();
+		}
+		if (value instanceof String) {
+			String str = ((String) value).trim();
+			if (str.isEmpty()) {
+				return null;
+			}
+			return str.split(Pattern.quote(seekValueSeparator), -1);
+		}
+		if (value != null) {
+			return new Object[] { value };
+		}
+		return null;
+	}
+
+	public String getSeekField() {
+		return seekField;
+	}
+
+	public void setSeekField(String seekField) {
+		this.seekField = seekField;
+	}
+
+	public String getSeekValuesName() {
+		return seekValuesName;
+	}
+
+	public void setSeekValuesName(String seekValuesName) {
+		this.seekValuesName = seekValuesName;
+	}
+
+	public String getSeekValueSeparator() {
+		return seekValueSeparator;
+	}
+
+	public void setSeekValueSeparator(String seekValueSeparator) {
+		this.seekValueSeparator = seekValueSeparator;
+	}
+
+}
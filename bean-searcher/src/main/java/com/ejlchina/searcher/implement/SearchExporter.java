@@ -0,0 +1,564 @@
+package com.ejlchina.searcher.implement;
+
+import com.ejlchina.searcher.*;
+import com.ejlchina.searcher.param.FetchType;
+import com.ejlchina.searcher.param.FieldParam;
+import com.ejlchina.searcher.param.Operator;
+import com.ejlchina.searcher.param.OrderBy;
+import com.ejlchina.searcher.param.Paging;
+import com.ejlchina.searcher.util.MapBuilder;
+import com.ejlchina.searcher.util.MapUtils;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 检索导出器
+ * 在 {@link MapSearcher} 之上按固定大小的块逐块检索，并把每块数据写出到 {@link RowWriter}（如 {@link CsvRowWriter}），
+ * 写出完一块后才检索下一块，内存占用只与块大小有关，写出较慢时检索也随之变慢（背压），且每块检索完即释放数据库连接
+ * 表头与列的顺序即 Select 字段的顺序（SearchBean 的字段顺序，受 onlySelect 与 selectExclude 参数影响），字段值经过 MapSearcher 的字段转换器转换
+ * 指定唯一键字段时使用键集分页逐块检索，翻页耗时与导出进度无关；否则使用偏移分页，此时检索参数中应指定稳定的排序
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public class SearchExporter {
+
+	private final MapSearcher mapSearcher;
+
+	private final MetaResolver metaResolver;
+
+	private final ParamResolver paramResolver;
+
+	/**
+	 * 每块的数据条数
+	 */
+	private int chunkSize = 1000;
+
+	/**
+	 * 每写出一块后回调的进度监听器
+	 */
+	private Consumer<Progress> listener;
+
+	/**
+	 * 并行导出时执行各段检索的线程池，为 null 时每段使用一个新的守护线程
+	 */
+	private Executor executor;
+
+	public SearchExporter(DefaultMapSearcher mapSearcher) {
+		this(mapSearcher, mapSearcher.getMetaResolver(), mapSearcher.getParamResolver());
+	}
+
+	public SearchExporter(MapSearcher mapSearcher, MetaResolver metaResolver, ParamResolver paramResolver) {
+		this.mapSearcher = Objects.requireNonNull(mapSearcher);
+		this.metaResolver = Objects.requireNonNull(metaResolver);
+		this.paramResolver = Objects.requireNonNull(paramResolver);
+	}
+
+	/**
+	 * 使用偏移分页逐块导出
+	 * @param beanClass SearchBean 类型
+	 * @param paraMap 检索参数（分页参数会被忽略）
+	 * @param rowWriter 行输出
+	 * @return 导出进度（已完成）
+	 */
+	public <T> Progress export(Class<T> beanClass, Map<String, Object> paraMap, RowWriter rowWriter) {
+		return export(beanClass, paraMap, null, rowWriter);
+	}
+
+	/**
+	 * 逐块导出
+	 * @param beanClass SearchBean 类型
+	 * @param paraMap 检索参数（分页参数会被忽略）
+	 * @param seekField 唯一键字段（Bean 属性名），不为空时使用键集分页，为空时使用偏移分页
+	 * @param rowWriter 行输出
+	 * @return 导出进度（已完成）
+	 */
+	public <T> Progress export(Class<T> beanClass, Map<String, Object> paraMap, String seekField, RowWriter rowWriter) {
+		BeanMeta<T> beanMeta = metaResolver.resolve(beanClass);
+		SearchParam searchParam = paramResolver.resolve(beanMeta, new FetchType(FetchType.LIST_ONLY), paraMap);
+		Progress progress = new Progress(searchParam.getFetchFields().toArray(new String[0]));
+		String[] seekFields = seekFields(searchParam.getOrderBy(), seekField);
+		try {
+			rowWriter.writeHeader(progress.fields);
+			scan(beanClass, new HashMap<>(paraMap), seekField, seekFields, dataList -> {
+				for (Map<String, Object> data : dataList) {
+					rowWriter.writeRow(toRow(data, progress.fields));
+				}
+				rowWriter.flush();
+				chunkWritten(progress, dataList.size());
+			});
+		} catch (IOException e) {
+			throw new SearchException("A exception occurred when writing export rows!", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SearchException("The export has been interrupted!", e);
+		}
+		progress.finish();
+		return progress;
+	}
+
+	/**
+	 * 并行导出：先查出数值型键字段的最小值与最大值，把区间均分为 parallelism 段，
+	 * 每段以 Between 条件在各自的线程（与数据库连接）中按键集分页逐块检索，所有数据写出到同一个 rowWriter
+	 * rowWriter 只在调用线程中被调用，无需是线程安全的；每段最多缓存两块待写出的数据，写出较慢时各段的检索也随之暂停
+	 * 键字段应有索引，且不能再作为检索条件（它的条件由本方法生成）
+	 * @param beanClass SearchBean 类型
+	 * @param paraMap 检索参数（分页参数会被忽略）
+	 * @param keyField 数值型的键字段（Bean 属性名），通常为自增主键
+	 * @param parallelism 并行数，即同时占用的数据库连接数
+	 * @param ordered 是否按键的区间顺序写出（各段内部的顺序与 {@link #export(Class, Map, String, RowWriter)} 相同），
+	 *                为 false 时哪段的数据先检索出来就先写出哪段，吞吐量更高
+	 * @param rowWriter 行输出
+	 * @return 导出进度（已完成）
+	 */
+	public <T> Progress exportParallel(Class<T> beanClass, Map<String, Object> paraMap, String keyField,
+									   int parallelism, boolean ordered, RowWriter rowWriter) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("parallelism must be positive");
+		}
+		BeanMeta<T> beanMeta = metaResolver.resolve(beanClass);
+		SearchParam searchParam = paramResolver.resolve(beanMeta, new FetchType(FetchType.LIST_ONLY), paraMap);
+		for (FieldParam fieldParam : searchParam.getFieldParams()) {
+			if (fieldParam.getName().equals(keyField)) {
+				throw new SearchException("并行导出的键字段【" + keyField + "】不能再作为检索条件");
+			}
+		}
+		Progress progress = new Progress(searchParam.getFetchFields().toArray(new String[0]));
+		String[] seekFields = seekFields(searchParam.getOrderBy(), keyField);
+		long[][] ranges = splitRanges(beanClass, paraMap, keyField, parallelism);
+		List<Map<String, Object>> paramsList = new ArrayList<>(ranges.length);
+		for (long[] range : ranges) {
+			Map<String, Object> params = new HashMap<>(paraMap);
+			List<FieldParam.Value> values = new ArrayList<>(2);
+			values.add(new FieldParam.Value(range[0], 0));
+			values.add(new FieldParam.Value(range[1], 1));
+			params.put(MapBuilder.FIELD_PARAM + "." + keyField, new FieldParam(keyField, Operator.Between, values, false));
+			requireRangeCondition(beanMeta, params, keyField);
+			paramsList.add(params);
+		}
+		ParallelScan parallelScan = new ParallelScan(ranges.length, ordered);
+		try {
+			rowWriter.writeHeader(progress.fields);
+			for (int i = 0; i < ranges.length; i++) {
+				int range = i;
+				Runnable task = () -> parallelScan.run(range, () -> scan(beanClass, paramsList.get(range), keyField, seekFields, dataList -> {
+					List<Object[]> rows = new ArrayList<>(dataList.size());
+					for (Map<String, Object> data : dataList) {
+						rows.add(toRow(data, progress.fields));
+					}
+					parallelScan.put(range, rows);
+				}));
+				if (executor != null) {
+					executor.execute(task);
+				} else {
+					Thread thread = new Thread(task, "bean-searcher-export-" + i);
+					thread.setDaemon(true);
+					thread.start();
+				}
+			}
+			for (int done = 0; done < ranges.length; ) {
+				Chunk chunk = parallelScan.take(ordered ? done : 0);
+				for (Object[] row : chunk.rows) {
+					rowWriter.writeRow(row);
+				}
+				if (chunk.rows.size() > 0) {
+					rowWriter.flush();
+					chunkWritten(progress, chunk.rows.size());
+				}
+				if (chunk.last) {
+					done++;
+				}
+			}
+		} catch (IOException e) {
+			parallelScan.abort();
+			throw new SearchException("A exception occurred when writing export rows!", e);
+		} catch (InterruptedException e) {
+			parallelScan.abort();
+			Thread.currentThread().interrupt();
+			throw new SearchException("The export has been interrupted!", e);
+		} catch (RuntimeException e) {
+			parallelScan.abort();
+			throw e;
+		}
+		progress.finish();
+		return progress;
+	}
+
+	/**
+	 * 查询键字段的最小值与最大值，并均分为若干个闭区间
+	 * @return 闭区间数组，没有数据时为空数组
+	 */
+	protected <T> long[][] splitRanges(Class<T> beanClass, Map<String, Object> paraMap, String keyField, int parallelism) {
+		Long min = keyValue(beanClass, paraMap, keyField, "asc");
+		Long max = keyValue(beanClass, paraMap, keyField, "desc");
+		if (min == null || max == null) {
+			return new long[0][];
+		}
+		long step;
+		try {
+			step = Math.subtractExact(max, min) / parallelism + 1;
+		} catch (ArithmeticException e) {
+			throw new SearchException("并行导出的键字段【" + keyField + "】的取值范围过大：" + min + " ~ " + max, e);
+		}
+		List<long[]> ranges = new ArrayList<>(parallelism);
+		for (long from = min; from <= max; from += step) {
+			long to = max - from < step ? max : from + step - 1;
+			ranges.add(new long[] { from, to });
+			if (to == max) {
+				break;
+			}
+		}
+		return ranges.toArray(new long[0][]);
+	}
+
+	private <T> Long keyValue(Class<T> beanClass, Map<String, Object> paraMap, String keyField, String order) {
+		Map<String, Object> params = MapUtils.builder(new HashMap<>(paraMap))
+				.onlySelect(keyField)
+				.orderBy(keyField, order)
+				.build();
+		params.remove(MapBuilder.SELECT_EXCLUDE);
+		Map<String, Object> data = mapSearcher.searchFirst(beanClass, params);
+		Object value = data != null ? data.get(keyField) : null;
+		if (value == null) {
+			return null;
+		}
+		if (!(value instanceof Number)) {
+			throw new SearchException("并行导出的键字段【" + keyField + "】必须是数值型的，实际为：" + value.getClass().getName());
+		}
+		return ((Number) value).longValue();
+	}
+
+	/**
+	 * 确认区间条件没有被参数解析器忽略（例如键字段不可作为检索条件，或其 onlyOn 不包含 Between），否则各段都会导出全部数据
+	 */
+	private void requireRangeCondition(BeanMeta<?> beanMeta, Map<String, Object> params, String keyField) {
+		SearchParam searchParam = paramResolver.resolve(beanMeta, new FetchType(FetchType.LIST_ONLY), params);
+		for (FieldParam fieldParam : searchParam.getFieldParams()) {
+			if (fieldParam.getName().equals(keyField) && fieldParam.getOperator() == Operator.Between) {
+				return;
+			}
+		}
+		throw new SearchException("并行导出的键字段【" + keyField + "】必须可以使用 Between 运算符作为检索条件");
+	}
+
+	/**
+	 * 按块检索，直到某块的数据不足 chunkSize 条
+	 * @param params 检索参数（会被修改）
+	 * @param seekField 唯一键字段，为空时使用偏移分页
+	 * @param seekFields 下一块的键值对应的字段
+	 * @param handler 块处理器
+	 */
+	protected <T> void scan(Class<T> beanClass, Map<String, Object> params, String seekField, String[] seekFields,
+							ChunkHandler handler) throws IOException, InterruptedException {
+		Object[] seekValues = null;
+		long offset = 0;
+		while (true) {
+			Paging paging = seekField != null
+					? new Paging(chunkSize, seekField, seekValues)
+					: new Paging(chunkSize, offset);
+			params.put(MapBuilder.PAGING, paging);
+			List<Map<String, Object>> dataList = mapSearcher.searchList(beanClass, params);
+			handler.handle(dataList);
+			if (dataList.size() < chunkSize) {
+				return;
+			}
+			offset += dataList.size();
+			if (seekFields != null) {
+				Map<String, Object> last = dataList.get(dataList.size() - 1);
+				seekValues = new Object[seekFields.length];
+				for (int i = 0; i < seekFields.length; i++) {
+					seekValues[i] = last.get(seekFields[i]);
+				}
+			}
+		}
+	}
+
+	private Object[] toRow(Map<String, Object> data, String[] fields) {
+		Object[] values = new Object[fields.length];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = data.get(fields[i]);
+		}
+		return values;
+	}
+
+	private void chunkWritten(Progress progress, int rows) {
+		progress.chunkWritten(rows);
+		if (listener != null) {
+			listener.accept(progress);
+		}
+	}
+
+	/**
+	 * @return 键集分页时下一块的键值对应的字段，与 {@link DefaultSqlResolver} 生成的定位条件一致
+	 */
+	protected String[] seekFields(OrderBy orderBy, String seekField) {
+		if (seekField == null) {
+			return null;
+		}
+		if (orderBy != null && !seekField.equals(orderBy.getSort())) {
+			return new String[] { orderBy.getSort(), seekField };
+		}
+		return new String[] { seekField };
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * @param chunkSize 每块的数据条数（默认 1000），不受分页参数 maxAllowedSize 的限制
+	 */
+	public void setChunkSize(int chunkSize) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("chunkSize must be positive");
+		}
+		this.chunkSize = chunkSize;
+	}
+
+	public Consumer<Progress> getListener() {
+		return listener;
+	}
+
+	/**
+	 * @param listener 进度监听器，每写出一块后在导出线程中回调
+	 */
+	public void setListener(Consumer<Progress> listener) {
+		this.listener = listener;
+	}
+
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * @param executor 并行导出时执行各段检索的线程池，其线程数应不小于并行数，为 null（默认）时每段使用一个新的守护线程
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * 块处理器
+	 */
+	protected interface ChunkHandler {
+
+		void handle(List<Map<String, Object>> dataList) throws IOException, InterruptedException;
+
+	}
+
+	/**
+	 * 并行导出时各段检索出的一块数据
+	 */
+	static class Chunk {
+
+		static final Chunk LAST = new Chunk(Collections.emptyList(), true);
+
+		final List<Object[]> rows;
+
+		/**
+		 * 是否为该段的最后一块
+		 */
+		final boolean last;
+
+		Chunk(List<Object[]> rows, boolean last) {
+			this.rows = rows;
+			this.last = last;
+		}
+
+	}
+
+	/**
+	 * 并行导出的各段检索 与 调用线程之间的数据交换
+	 * 按顺序写出时每段一个队列，否则所有段共用一个队列，每段最多缓存两块数据
+	 */
+	static class ParallelScan {
+
+		private final List<BlockingQueue<Chunk>> queues;
+
+		private volatile Throwable failure;
+
+		private volatile boolean aborted;
+
+		ParallelScan(int ranges, boolean ordered) {
+			int count = ordered ? ranges : 1;
+			queues = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				queues.add(new ArrayBlockingQueue<>(ordered ? 2 : Math.max(2 * ranges, 2)));
+			}
+		}
+
+		private BlockingQueue<Chunk> queue(int range) {
+			return queues.get(queues.size() > 1 ? range : 0);
+		}
+
+		void run(int range, Task task) {
+			try {
+				task.run();
+				put(range, Chunk.LAST);
+			} catch (Throwable e) {
+				if (!aborted) {
+					failure = e;
+				}
+			}
+		}
+
+		void put(int range, List<Object[]> rows) throws InterruptedException {
+			put(range, new Chunk(rows, false));
+		}
+
+		private void put(int range, Chunk chunk) throws InterruptedException {
+			BlockingQueue<Chunk> queue = queue(range);
+			while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+				if (aborted) {
+					throw new InterruptedException("The export has been aborted");
+				}
+			}
+		}
+
+		Chunk take(int range) throws InterruptedException {
+			BlockingQueue<Chunk> queue = queue(range);
+			while (true) {
+				Chunk chunk = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (chunk != null) {
+					return chunk;
+				}
+				Throwable e = failure;
+				if (e != null) {
+					abort();
+					if (e instanceof RuntimeException) {
+						throw (RuntimeException) e;
+					}
+					throw new SearchException("A exception occurred when exporting in parallel!", e);
+				}
+			}
+		}
+
+		void abort() {
+			aborted = true;
+		}
+
+		interface Task {
+
+			void run() throws Exception;
+
+		}
+
+	}
+
+	/**
+	 * 行输出
+	 */
+	public interface RowWriter {
+
+		/**
+		 * 写出表头
+		 * @param fields 字段名（Bean 属性名）
+		 * @throws IOException 写出异常
+		 */
+		void writeHeader(String[] fields) throws IOException;
+
+		/**
+		 * 写出一行数据
+		 * @param values 与表头一一对应的字段值（已经过字段转换器转换）
+		 * @throws IOException 写出异常
+		 */
+		void writeRow(Object[] values) throws IOException;
+
+		/**
+		 * 每写出一块数据后调用
+		 * @throws IOException 写出异常
+		 */
+		void flush() throws IOException;
+
+	}
+
+	/**
+	 * 导出进度
+	 */
+	public static class Progress {
+
+		private final String[] fields;
+
+		private final long startNanos = System.nanoTime();
+
+		private volatile long rows;
+
+		private volatile int chunks;
+
+		private volatile long elapsedNanos;
+
+		private volatile boolean finished;
+
+		Progress(String[] fields) {
+			this.fields = fields;
+		}
+
+		void chunkWritten(int rows) {
+			this.rows += rows;
+			this.chunks++;
+			this.elapsedNanos = System.nanoTime() - startNanos;
+		}
+
+		void finish() {
+			this.elapsedNanos = System.nanoTime() - startNanos;
+			this.finished = true;
+		}
+
+		/**
+		 * @return 导出的字段
+		 */
+		public String[] getFields() {
+			return fields.clone();
+		}
+
+		/**
+		 * @return 已写出的行数
+		 */
+		public long getRows() {
+			return rows;
+		}
+
+		/**
+		 * @return 已写出的块数
+		 */
+		public int getChunks() {
+			return chunks;
+		}
+
+		/**
+		 * @return 已耗时（毫秒）
+		 */
+		public long getElapsedMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+		}
+
+		/**
+		 * @return 平均每秒写出的行数
+		 */
+		public double getRowsPerSecond() {
+			long nanos = elapsedNanos;
+			return nanos > 0 ? rows * 1e9 / nanos : 0;
+		}
+
+		/**
+		 * @return 是否已导出完成
+		 */
+		public boolean isFinished() {
+			return finished;
+		}
+
+		@Override
+		public String toString() {
+			return "Progress{rows=" + rows + ", chunks=" + chunks + ", elapsedMillis=" + getElapsedMillis()
+					+ ", rowsPerSecond=" + (long) getRowsPerSecond() + ", finished=" + finished + "}";
+		}
+
+	}
+
+}
@@ -0,0 +1,325 @@
+package com.ejlchina.searcher.implement;
+
+import com.ejlchina.searcher.SearchMetrics.Stage;
+import com.ejlchina.searcher.SearchSql;
+import com.ejlchina.searcher.SqlResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 慢检索日志
+ * 只记录耗时（从获取连接到结果映射完成）超过阈值的检索：以 WARN 级别输出 SQL、参数（可脱敏）、行数 与 各阶段耗时，
+ * 并按 SQL 形状（即 SearchBean 与 SQL 语句，与参数值无关）保留最慢的若干条记录，可通过 {@link #getSlowest()} 查询
+ * 未超过阈值的检索只有一次比较的开销
+ *
+ * @see AbstractSearcher#setSlowSearchLog(SlowSearchLog)
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public class SlowSearchLog {
+
+	protected Logger log = LoggerFactory.getLogger(SlowSearchLog.class);
+
+	/**
+	 * 默认的慢检索阈值（毫秒）
+	 */
+	private long threshold = 1000;
+
+	/**
+	 * 各 SearchBean 单独设置的慢检索阈值（毫秒）
+	 */
+	private final Map<Class<?>, Long> beanThresholds = new ConcurrentHashMap<>();
+
+	/**
+	 * 保留的最慢 SQL 形状数
+	 */
+	private int topN = 20;
+
+	/**
+	 * 参数脱敏函数，输出日志 与 保留记录 前对每个 SQL 参数调用
+	 */
+	private Function<Object, Object> paramRedactor = Function.identity();
+
+	/**
+	 * SQL 形状 -> 最慢的记录
+	 */
+	private final Map<String, SlowSearch> slowest = new HashMap<>();
+
+
+	/**
+	 * @param beanClass SearchBean 类型
+	 * @param nanos 检索耗时（纳秒）
+	 * @return 是否为慢检索
+	 */
+	public boolean isSlow(Class<?> beanClass, long nanos) {
+		Long beanThreshold = beanThresholds.isEmpty() ? null : beanThresholds.get(beanClass);
+		long millis = beanThreshold != null ? beanThreshold : threshold;
+		return millis >= 0 && nanos >= TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+
+	/**
+	 * 检索结束后调用，耗时超过阈值时输出日志并保留记录
+	 * @param sqlResult SQL 执行结果（含各阶段耗时 与 行数）
+	 * @param nanos 检索耗时（纳秒）
+	 */
+	public void record(SqlResult<?> sqlResult, long nanos) {
+		SearchSql<?> searchSql = sqlResult.getSearchSql();
+		Class<?> beanClass = searchSql.getBeanMeta().getBeanClass();
+		if (!isSlow(beanClass, nanos)) {
+			return;
+		}
+		SlowSearch search = new SlowSearch(beanClass.getName(), searchSql, redact(searchSql), sqlResult, nanos);
+		log.warn("bean-searcher - slow search {} ms on {}: rows = {}, connection = {} ms, list = {} ms, cluster = {} ms, mapping = {} ms\n" +
+						"\tlist sql ---- {}\n\tlist params - {}\n\tcluster sql ---- {}\n\tcluster params - {}",
+				search.millis, search.beanClass, search.rows, search.connectionMillis, search.listMillis,
+				search.clusterMillis, search.mappingMillis, search.listSql, search.listParams,
+				search.clusterSql, search.clusterParams);
+		String shape = search.beanClass + '\n' + search.listSql + '\n' + search.clusterSql;
+		synchronized (slowest) {
+			SlowSearch old = slowest.get(shape);
+			if (old != null) {
+				slowest.put(shape, old.millis >= search.millis ? old.occurAgain() : search.after(old));
+				return;
+			}
+			slowest.put(shape, search);
+			if (slowest.size() > topN) {
+				// 淘汰最快的形状，topN 较小，直接遍历即可
+				String fastest = null;
+				long fastestMillis = Long.MAX_VALUE;
+				for (Map.Entry<String, SlowSearch> entry : slowest.entrySet()) {
+					if (entry.getValue().millis < fastestMillis) {
+						fastest = entry.getKey();
+						fastestMillis = entry.getValue().millis;
+					}
+				}
+				slowest.remove(fastest);
+			}
+		}
+	}
+
+	private List<Object>[] redact(SearchSql<?> searchSql) {
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		List<Object>[] params = new List[] {
+				redact(searchSql.isShouldQueryList() ? searchSql.getListSqlParams() : null),
+				redact(searchSql.isShouldQueryCluster() ? searchSql.getClusterSqlParams() : null)
+		};
+		return params;
+	}
+
+	private List<Object> redact(List<Object> params) {
+		if (params == null) {
+			return null;
+		}
+		List<Object> list = new ArrayList<>(params.size());
+		for (Object param : params) {
+			list.add(paramRedactor.apply(param));
+		}
+		return Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * @return 最慢的若干条记录，按最大耗时从大到小排序
+	 */
+	public List<SlowSearch> getSlowest() {
+		List<SlowSearch> list;
+		synchronized (slowest) {
+			list = new ArrayList<>(slowest.values());
+		}
+		list.sort(Comparator.comparingLong(SlowSearch::getMillis).reversed());
+		return list;
+	}
+
+	/**
+	 * 清空保留的记录
+	 */
+	public void clear() {
+		synchronized (slowest) {
+			slowest.clear();
+		}
+	}
+
+	public long getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * 设置默认的慢检索阈值
+	 * @param threshold 阈值（毫秒），为负数时表示不记录
+	 */
+	public void setThreshold(long threshold) {
+		this.threshold = threshold;
+	}
+
+	/**
+	 * 为某个 SearchBean 单独设置慢检索阈值
+	 * @param beanClass SearchBean 类型
+	 * @param threshold 阈值（毫秒），为负数时表示不记录该 SearchBean 的慢检索
+	 */
+	public void setThreshold(Class<?> beanClass, long threshold) {
+		beanThresholds.put(Objects.requireNonNull(beanClass), threshold);
+	}
+
+	public int getTopN() {
+		return topN;
+	}
+
+	/**
+	 * 设置保留的最慢 SQL 形状数
+	 * @param topN 形状数
+	 */
+	public void setTopN(int topN) {
+		if (topN < 0) {
+			throw new IllegalArgumentException("topN can not be negative");
+		}
+		this.topN = topN;
+	}
+
+	public Function<Object, Object> getParamRedactor() {
+		return paramRedactor;
+	}
+
+	/**
+	 * 设置参数脱敏函数，例如把手机号等敏感参数替换为 "***"
+	 * @param paramRedactor 脱敏函数：原参数值 -> 输出的参数值
+	 */
+	public void setParamRedactor(Function<Object, Object> paramRedactor) {
+		this.paramRedactor = Objects.requireNonNull(paramRedactor);
+	}
+
+	/**
+	 * 慢检索记录（不可变），同一 SQL 形状只保留耗时最长的一次的详情
+	 */
+	public static class SlowSearch {
+
+		private final String beanClass;
+		private final String listSql;
+		private final List<Object> listParams;
+		private final String clusterSql;
+		private final List<Object> clusterParams;
+		private final int rows;
+		private final long millis;
+		private final long connectionMillis;
+		private final long listMillis;
+		private final long clusterMillis;
+		private final long mappingMillis;
+		private final long timestamp;
+		private final long count;
+
+		SlowSearch(String beanClass, SearchSql<?> searchSql, List<Object>[] params, SqlResult<?> sqlResult, long nanos) {
+			this.beanClass = beanClass;
+			this.listSql = searchSql.isShouldQueryList() ? searchSql.getListSqlString() : null;
+			this.listParams = params[0];
+			this.clusterSql = searchSql.isShouldQueryCluster() ? searchSql.getClusterSqlString() : null;
+			this.clusterParams = params[1];
+			this.rows = sqlResult.getRowCount();
+			this.millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+			this.connectionMillis = TimeUnit.NANOSECONDS.toMillis(sqlResult.getStageNanos(Stage.CONNECTION_ACQUIRE));
+			this.listMillis = TimeUnit.NANOSECONDS.toMillis(sqlResult.getStageNanos(Stage.LIST_EXECUTE));
+			this.clusterMillis = TimeUnit.NANOSECONDS.toMillis(sqlResult.getStageNanos(Stage.CLUSTER_EXECUTE));
+			this.mappingMillis = TimeUnit.NANOSECONDS.toMillis(sqlResult.getStageNanos(Stage.RESULT_MAPPING));
+			this.timestamp = System.currentTimeMillis();
+			this.count = 1;
+		}
+
+		private SlowSearch(SlowSearch that, long count) {
+			this.beanClass = that.beanClass;
+			this.listSql = that.listSql;
+			this.listParams = that.listParams;
+			this.clusterSql = that.clusterSql;
+			this.clusterParams = that.clusterParams;
+			this.rows = that.rows;
+			this.millis = that.millis;
+			this.connectionMillis = that.connectionMillis;
+			this.listMillis = that.listMillis;
+			this.clusterMillis = that.clusterMillis;
+			this.mappingMillis = that.mappingMillis;
+			this.timestamp = that.timestamp;
+			this.count = count;
+		}
+
+		SlowSearch occurAgain() {
+			return new SlowSearch(this, count + 1);
+		}
+
+		SlowSearch after(SlowSearch previous) {
+			return new SlowSearch(this, previous.count + 1);
+		}
+
+		public String getBeanClass() {
+			return beanClass;
+		}
+
+		public String getListSql() {
+			return listSql;
+		}
+
+		public List<Object> getListParams() {
+			return listParams;
+		}
+
+		public String getClusterSql() {
+			return clusterSql;
+		}
+
+		public List<Object> getClusterParams() {
+			return clusterParams;
+		}
+
+		/**
+		 * @return 映射的行数，为 -1 表示未知
+		 */
+		public int getRows() {
+			return rows;
+		}
+
+		/**
+		 * @return 最长的耗时（毫秒）
+		 */
+		public long getMillis() {
+			return millis;
+		}
+
+		public long getConnectionMillis() {
+			return connectionMillis;
+		}
+
+		public long getListMillis() {
+			return listMillis;
+		}
+
+		public long getClusterMillis() {
+			return clusterMillis;
+		}
+
+		public long getMappingMillis() {
+			return mappingMillis;
+		}
+
+		/**
+		 * @return 最长耗时的那次检索的发生时间
+		 */
+		public long getTimestamp() {
+			return timestamp;
+		}
+
+		/**
+		 * @return 该 SQL 形状成为慢检索的次数
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		@Override
+		public String toString() {
+			return "SlowSearch{beanClass=" + beanClass + ", millis=" + millis + ", count=" + count
+					+ ", rows=" + rows + ", listSql=" + listSql + ", clusterSql=" + clusterSql + "}";
+		}
+
+	}
+
+}
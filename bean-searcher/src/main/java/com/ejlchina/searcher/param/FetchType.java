@@ -37,6 +37,12 @@ public class FetchType {
      */
     public static final int ONLY_SUMMARY = 5;
 
+    /**
+     * 流式查询所有列表数据，即不分页，并且逐行读取（不把所有数据一次性加载到内存）
+     * @since v3.3.0
+     */
+    public static final int LIST_STREAM = 6;
+
     /**
      * 空字段
      */
@@ -50,6 +56,7 @@ public class FetchType {
      *   @see #LIST_ALL
      *   @see #ONLY_TOTAL
      *   @see #ONLY_SUMMARY
+     *   @see #LIST_STREAM
      **/
     private final int type;
 
@@ -96,7 +103,15 @@ public class FetchType {
      * @return 是否可以分页
      */
     public boolean canPaging() {
-        return type != LIST_ALL && type != ONLY_TOTAL && type != ONLY_SUMMARY;
+        return type != LIST_ALL && type != LIST_STREAM && type != ONLY_TOTAL && type != ONLY_SUMMARY;
+    }
+
+    /**
+     * @return 是否流式读取列表数据
+     * @since v3.3.0
+     */
+    public boolean isStreaming() {
+        return type == LIST_STREAM;
     }
 
     /**
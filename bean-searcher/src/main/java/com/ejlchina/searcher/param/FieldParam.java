@@ -54,6 +54,10 @@ public class FieldParam {
 			return value;
 		}
 
+		public int getIndex() {
+			return index;
+		}
+
 	}
 
 	public FieldParam(String name, Operator operator) {
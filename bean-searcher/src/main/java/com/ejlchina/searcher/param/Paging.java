@@ -17,11 +17,36 @@ public class Paging {
      */
     private long offset;
 
+    /**
+     * 键集分页：唯一键字段（Bean 属性名），为空时表示偏移分页
+     * @since v3.3.0
+     */
+    private String seekField;
+
+    /**
+     * 键集分页：上一页最后一条数据的键值（有排序字段时为：排序字段值、唯一键值，否则为：唯一键值），为空时表示第一页
+     * @since v3.3.0
+     */
+    private Object[] seekValues;
+
     public Paging(int size, long offset) {
         this.size = size;
         this.offset = offset;
     }
 
+    /**
+     * 键集（Seek）分页：使用 where 条件定位上一页的最后一条数据，而非偏移条数，翻页耗时与页码无关
+     * @param size 最大条数
+     * @param seekField 唯一键字段（Bean 属性名）
+     * @param seekValues 上一页最后一条数据的键值，可从上一页的 {@link com.ejlchina.searcher.SearchResult#getNextSeekValues()} 获取
+     * @since v3.3.0
+     */
+    public Paging(int size, String seekField, Object[] seekValues) {
+        this(size, 0);
+        this.seekField = seekField;
+        this.seekValues = seekValues != null && seekValues.length > 0 ? seekValues : null;
+    }
+
     public int getSize() {
         return size;
     }
@@ -38,4 +63,28 @@ public class Paging {
         this.offset = offset;
     }
 
+    /**
+     * @return 是否为键集分页
+     * @since v3.3.0
+     */
+    public boolean isSeek() {
+        return seekField != null;
+    }
+
+    public String getSeekField() {
+        return seekField;
+    }
+
+    public void setSeekField(String seekField) {
+        this.seekField = seekField;
+    }
+
+    public Object[] getSeekValues() {
+        return seekValues;
+    }
+
+    public void setSeekValues(Object[] seekValues) {
+        this.seekValues = seekValues;
+    }
+
 }
@@ -0,0 +1,133 @@
+package com.ejlchina.searcher.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * 并发 LRU 缓存
+ * 按 Key 的哈希值分为多个段，每个段是一个独立加锁的 访问有序 LinkedHashMap，
+ * 不同段上的读写互不阻塞；每个段各自淘汰最久未使用的条目，故淘汰顺序是近似的全局 LRU
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public class ConcurrentLruCache<K, V> {
+
+	private final Segment<K, V>[] segments;
+
+	private final int segmentMask;
+
+	/**
+	 * @param maxSize 最大条数，小于等于 0 时不缓存
+	 */
+	public ConcurrentLruCache(int maxSize) {
+		this(maxSize, 16);
+	}
+
+	/**
+	 * @param maxSize 最大条数，小于等于 0 时不缓存
+	 * @param concurrency 预期的并发线程数，决定分段数
+	 */
+	public ConcurrentLruCache(int maxSize, int concurrency) {
+		int count = 1;
+		// 每段至少容纳 16 条，避免 maxSize 较小时过度分段
+		while (count < concurrency && count * 32 <= maxSize) {
+			count <<= 1;
+		}
+		int segmentSize = maxSize > 0 ? (maxSize + count - 1) / count : 0;
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		Segment<K, V>[] segments = new Segment[count];
+		for (int i = 0; i < count; i++) {
+			segments[i] = new Segment<>(segmentSize);
+		}
+		this.segments = segments;
+		this.segmentMask = count - 1;
+	}
+
+	public V get(K key) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			return segment.get(key);
+		}
+	}
+
+	public void put(K key, V value) {
+		Segment<K, V> segment = segmentFor(key);
+		if (segment.maxSize <= 0) {
+			return;
+		}
+		synchronized (segment) {
+			segment.put(key, value);
+		}
+	}
+
+	public V remove(K key) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			return segment.remove(key);
+		}
+	}
+
+	public boolean remove(K key, V value) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			return segment.remove(key, value);
+		}
+	}
+
+	/**
+	 * 移除所有满足条件的条目（逐段加锁遍历）
+	 * @param filter 条件
+	 */
+	public void removeIf(BiPredicate<? super K, ? super V> filter) {
+		for (Segment<K, V> segment : segments) {
+			synchronized (segment) {
+				segment.entrySet().removeIf(e -> filter.test(e.getKey(), e.getValue()));
+			}
+		}
+	}
+
+	public void clear() {
+		for (Segment<K, V> segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	public int size() {
+		int size = 0;
+		for (Segment<K, V> segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	private Segment<K, V> segmentFor(Object key) {
+		int h = key.hashCode();
+		h ^= (h >>> 16);
+		return segments[h & segmentMask];
+	}
+
+	static class Segment<K, V> extends LinkedHashMap<K, V> {
+
+		private static final long serialVersionUID = 1L;
+
+		final int maxSize;
+
+		Segment(int maxSize) {
+			super(16, 0.75f, true);
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+			return size() > maxSize;
+		}
+
+	}
+
+}
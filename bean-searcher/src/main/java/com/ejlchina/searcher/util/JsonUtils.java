@@ -0,0 +1,174 @@
+package com.ejlchina.searcher.util;
+
+import com.ejlchina.searcher.SearchResult;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * JSON 输出工具，只用于把检索结果直接写出为 JSON，不依赖任何 JSON 库
+ * 值的输出规则与 Jackson 的默认规则保持一致：
+ * {@link Date} 输出为时间戳，byte[] 输出为 Base64 字符串，NaN 与无穷大输出为 null，
+ * 其它非数字、非布尔类型（如 java.time 的各种类型与枚举）输出为字符串
+ *
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public class JsonUtils {
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	/**
+	 * 写出一个 JSON 值
+	 * @param writer 输出
+	 * @param value 值
+	 * @throws IOException 写出异常
+	 */
+	public static void writeValue(Writer writer, Object value) throws IOException {
+		if (value == null) {
+			writer.write("null");
+		} else if (value instanceof String) {
+			writeString(writer, (String) value);
+		} else if (value instanceof Number) {
+			writeNumber(writer, (Number) value);
+		} else if (value instanceof Boolean) {
+			writer.write(((Boolean) value) ? "true" : "false");
+		} else if (value instanceof Date) {
+			writer.write(Long.toString(((Date) value).getTime()));
+		} else if (value instanceof Enum) {
+			writeString(writer, ((Enum<?>) value).name());
+		} else if (value instanceof byte[]) {
+			writeString(writer, Base64.getEncoder().encodeToString((byte[]) value));
+		} else if (value instanceof Map) {
+			writer.write('{');
+			boolean first = true;
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				if (!first) {
+					writer.write(',');
+				}
+				writeString(writer, String.valueOf(entry.getKey()));
+				writer.write(':');
+				writeValue(writer, entry.getValue());
+				first = false;
+			}
+			writer.write('}');
+		} else if (value instanceof Collection) {
+			writer.write('[');
+			boolean first = true;
+			for (Object item : (Collection<?>) value) {
+				if (!first) {
+					writer.write(',');
+				}
+				writeValue(writer, item);
+				first = false;
+			}
+			writer.write(']');
+		} else if (value.getClass().isArray()) {
+			writer.write('[');
+			int length = Array.getLength(value);
+			for (int i = 0; i < length; i++) {
+				if (i > 0) {
+					writer.write(',');
+				}
+				writeValue(writer, Array.get(value, i));
+			}
+			writer.write(']');
+		} else {
+			writeString(writer, value.toString());
+		}
+	}
+
+	/**
+	 * 写出一个检索结果：{"totalCount":..,"summaries":[..],"dataList":[..]}，与直接写出 JSON 的检索方法输出的结构一致
+	 * @param writer 输出
+	 * @param result 检索结果
+	 * @throws IOException 写出异常
+	 * @since v3.3.0
+	 */
+	public static void writeResult(Writer writer, SearchResult<?> result) throws IOException {
+		writer.write("{\"totalCount\":");
+		writeValue(writer, result.getTotalCount());
+		if (result.isCountCapped()) {
+			writer.write(",\"countCapped\":true");
+		}
+		writer.write(",\"summaries\":");
+		writeValue(writer, result.getSummaries());
+		writer.write(",\"dataList\":");
+		writeValue(writer, result.getDataList());
+		if (result.getNextSeekValues() != null) {
+			writer.write(",\"nextSeekValues\":");
+			writeValue(writer, result.getNextSeekValues());
+		}
+		writer.write('}');
+	}
+
+	/**
+	 * @param out 输出流
+	 * @return 以 UTF-8 编码写出到该输出流的（带缓冲的）Writer，flush 时一并 flush 输出流
+	 * @since v3.3.0
+	 */
+	public static Writer utf8Writer(OutputStream out) {
+		return new BufferedWriter(new OutputStreamWriter(Objects.requireNonNull(out), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * 写出一个数字，NaN 与无穷大写出为 null
+	 */
+	public static void writeNumber(Writer writer, Number number) throws IOException {
+		if (number instanceof Double || number instanceof Float) {
+			double d = number.doubleValue();
+			if (Double.isNaN(d) || Double.isInfinite(d)) {
+				writer.write("null");
+				return;
+			}
+		}
+		writer.write(number.toString());
+	}
+
+	/**
+	 * 写出一个带引号的 JSON 字符串
+	 */
+	public static void writeString(Writer writer, String str) throws IOException {
+		writer.write('"');
+		int len = str.length();
+		int start = 0;
+		for (int i = 0; i < len; i++) {
+			char c = str.charAt(i);
+			if (c >= 0x20 && c != '"' && c != '\\') {
+				continue;
+			}
+			if (i > start) {
+				writer.write(str, start, i - start);
+			}
+			start = i + 1;
+			switch (c) {
+				case '"': writer.write("\\\""); break;
+				case '\\': writer.write("\\\\"); break;
+				case '\n': writer.write("\\n"); break;
+				case '\r': writer.write("\\r"); break;
+				case '\t': writer.write("\\t"); break;
+				case '\b': writer.write("\\b"); break;
+				case '\f': writer.write("\\f"); break;
+				default:
+					writer.write("\\u00");
+					writer.write(HEX[c >> 4]);
+					writer.write(HEX[c & 0xF]);
+			}
+		}
+		if (len > start) {
+			writer.write(str, start, len - start);
+		}
+		writer.write('"');
+	}
+
+}
@@ -1,5 +1,6 @@
 package com.ejlchina.searcher.util;
 
+import com.ejlchina.searcher.CancelToken;
 import com.ejlchina.searcher.SearchParam;
 import com.ejlchina.searcher.param.FieldParam;
 import com.ejlchina.searcher.param.Operator;
@@ -26,6 +27,9 @@ public class MapBuilder {
     public static final String FIELD_PARAM = FieldParam.class.getName();
     public static final String ONLY_SELECT = SearchParam.class.getName() + ".ONLY_SELECT";
     public static final String SELECT_EXCLUDE = SearchParam.class.getName() + ".SELECT_EXCLUDE";
+    public static final String QUERY_TIMEOUT = SearchParam.class.getName() + ".QUERY_TIMEOUT";
+    public static final String CANCEL_TOKEN = CancelToken.class.getName();
+    public static final String COUNT_LIMIT = SearchParam.class.getName() + ".COUNT_LIMIT";
 
     @FunctionalInterface
     public interface FieldFn<T, R> extends Function<T, R>, Serializable {  }
@@ -231,6 +235,65 @@ public class MapBuilder {
         return this;
     }
 
+    /**
+     * 键集（Seek）分页，翻页耗时与页码无关
+     * @param <T> 泛型
+     * @param seekFieldFn 唯一键字段表达式
+     * @param size 每页大小
+     * @param seekValues 上一页最后一条数据的键值（即上一页的 {@link com.ejlchina.searcher.SearchResult#getNextSeekValues()}），第一页时为空
+     * @return MapBuilder
+     * @since v3.3.0
+     */
+    public <T> MapBuilder seek(FieldFn<T, ?> seekFieldFn, int size, Object... seekValues) {
+        return seek(toFieldName(seekFieldFn), size, seekValues);
+    }
+
+    /**
+     * 键集（Seek）分页，翻页耗时与页码无关
+     * @param seekField 唯一键字段名
+     * @param size 每页大小
+     * @param seekValues 上一页最后一条数据的键值（即上一页的 {@link com.ejlchina.searcher.SearchResult#getNextSeekValues()}），第一页时为空
+     * @return MapBuilder
+     * @since v3.3.0
+     */
+    public MapBuilder seek(String seekField, int size, Object... seekValues) {
+        map.put(PAGING, new Paging(size, seekField, seekValues));
+        return this;
+    }
+
+    /**
+     * 指定本次检索 SQL 的执行超时时间，覆盖 {@link com.ejlchina.searcher.bean.SearchBean#queryTimeout()}
+     * @param seconds 超时时间（秒），为 0 时表示不限制
+     * @return MapBuilder
+     * @since v3.3.0
+     */
+    public MapBuilder queryTimeout(int seconds) {
+        map.put(QUERY_TIMEOUT, seconds);
+        return this;
+    }
+
+    /**
+     * 指定本次检索总数的上限，覆盖 {@link com.ejlchina.searcher.bean.SearchBean#countLimit()}
+     * @param countLimit 总数的上限，为 0 时表示不限制（精确计数）
+     * @return MapBuilder
+     * @since v3.3.0
+     */
+    public MapBuilder countLimit(long countLimit) {
+        map.put(COUNT_LIMIT, countLimit);
+        return this;
+    }
+
+    /**
+     * 指定本次检索的取消句柄
+     * @param cancelToken 取消句柄
+     * @return MapBuilder
+     * @since v3.3.0
+     */
+    public MapBuilder cancelToken(CancelToken cancelToken) {
+        map.put(CANCEL_TOKEN, cancelToken);
+        return this;
+    }
+
     /**
      * 构建参数
      * @return 检索参数
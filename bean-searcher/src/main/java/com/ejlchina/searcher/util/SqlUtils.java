@@ -0,0 +1,56 @@
+package com.ejlchina.searcher.util;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 工具
+ * @author Troy.Zhou
+ * @since v3.3.0
+ */
+public class SqlUtils {
+
+	/**
+	 * 匹配 表片段开头、逗号、from 与 join 之后的表名（可带 schema 前缀与引号）
+	 */
+	public static final Pattern TABLE_PATTERN = Pattern.compile(
+			"(?:^|,|\\bfrom\\b|\\bjoin\\b)\\s*[`\"\\[]?([A-Za-z_][\\w$]*(?:[`\"\\]]?\\.[`\"\\[]?[A-Za-z_][\\w$]*)*)",
+			Pattern.CASE_INSENSITIVE);
+
+	/**
+	 * 从 SearchBean 的表片段（例如：users u left join roles r on u.role_id = r.id）中解析出表名
+	 * 只做宽松的词法匹配，可能多解析出一些标识符，但不会遗漏普通写法的表名；嵌入参数（:name:）部分不参与解析
+	 * @param tables 表片段
+	 * @return 规范化后的表名集合（不可修改）
+	 */
+	public static Set<String> tableNames(String tables) {
+		if (StringUtils.isBlank(tables)) {
+			return Collections.emptySet();
+		}
+		Set<String> names = new HashSet<>();
+		Matcher matcher = TABLE_PATTERN.matcher(tables.trim());
+		while (matcher.find()) {
+			names.add(normalizeTable(matcher.group(1)));
+		}
+		return Collections.unmodifiableSet(names);
+	}
+
+	/**
+	 * 规范化表名：去掉 schema 前缀与引号，并转为小写
+	 * @param table 表名
+	 * @return 规范化后的表名
+	 */
+	public static String normalizeTable(String table) {
+		String name = table.trim();
+		int index = name.lastIndexOf('.');
+		if (index >= 0) {
+			name = name.substring(index + 1);
+		}
+		return name.replaceAll("[`\"\\[\\]]", "").toLowerCase(Locale.ROOT);
+	}
+
+}
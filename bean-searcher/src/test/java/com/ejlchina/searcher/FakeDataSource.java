@@ -0,0 +1,265 @@
+package com.ejlchina.searcher;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 测试用的数据源：由 {@link Query} 按 SQL 与参数生成结果集，
+ * 并记录执行过的 SQL、连接的获取与关闭、连接与语句上的调用
+ */
+public class FakeDataSource {
+
+    /**
+     * 生成结果集
+     */
+    public interface Query {
+
+        /**
+         * @param sql SQL
+         * @param params 参数（下标从 1 开始）
+         * @return 结果集
+         * @throws Exception 模拟查询出错
+         */
+        Rows execute(String sql, Map<Integer, Object> params) throws Exception;
+
+    }
+
+    /**
+     * 结果集数据
+     */
+    public static class Rows {
+
+        private final String[] labels;
+        private final List<Object[]> data;
+
+        public Rows(String[] labels, List<Object[]> data) {
+            this.labels = labels;
+            this.data = data;
+        }
+
+        int findColumn(String label) throws SQLException {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i].equalsIgnoreCase(label)) {
+                    return i + 1;
+                }
+            }
+            throw new SQLException("Column '" + label + "' not found");
+        }
+
+    }
+
+    /**
+     * @param labels 列名
+     * @param data 每行的值，与列名一一对应
+     * @return 结果集
+     */
+    public static Rows rows(String[] labels, Object[]... data) {
+        return new Rows(labels, Arrays.asList(data));
+    }
+
+    /**
+     * @param value 总数
+     * @return 只有一行一列的总数结果集
+     */
+    public static Rows count(Object value) {
+        return rows(new String[] { "s_count" }, new Object[] { value });
+    }
+
+    private final ClassLoader loader = getClass().getClassLoader();
+
+    private final Query query;
+
+    /**
+     * 执行过的 SQL
+     */
+    public final List<String> sqls = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * 连接与语句上被调用的方法名（按调用顺序，如 setReadOnly、commit、close、setFetchSize、cancel 等）
+     */
+    public final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * 语句上设置的查询超时
+     */
+    public final List<Object> queryTimeouts = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * 语句上设置的 fetchSize
+     */
+    public final List<Object> fetchSizes = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * 创建语句时指定的结果集类型
+     */
+    public final List<Object> resultSetTypes = Collections.synchronizedList(new ArrayList<>());
+
+    public final AtomicInteger opened = new AtomicInteger();
+    public final AtomicInteger closed = new AtomicInteger();
+
+    /**
+     * 语句被取消时执行
+     */
+    public volatile Runnable onCancel;
+
+    public FakeDataSource(Query query) {
+        this.query = query;
+    }
+
+    /**
+     * @param value 总数
+     * @return 所有查询都只返回一个总数的数据源
+     */
+    public static FakeDataSource ofCount(Object value) {
+        return new FakeDataSource((sql, params) -> count(value));
+    }
+
+    /**
+     * @return 数据源代理
+     */
+    public DataSource dataSource() {
+        return proxy(DataSource.class, (ds, m, a) -> {
+            if ("getConnection".equals(m.getName())) {
+                opened.incrementAndGet();
+                return connection();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * @return [获取的连接数, 关闭的连接数]
+     */
+    public int[] connections() {
+        return new int[] { opened.get(), closed.get() };
+    }
+
+    private Connection connection() {
+        return proxy(Connection.class, (conn, m, a) -> {
+            if ("prepareStatement".equals(m.getName())) {
+                String sql = (String) a[0];
+                sqls.add(sql);
+                resultSetTypes.add(a.length > 1 ? a[1] : ResultSet.TYPE_FORWARD_ONLY);
+                return statement(sql);
+            }
+            events.add(m.getName());
+            if ("close".equals(m.getName())) {
+                closed.incrementAndGet();
+            }
+            return defaultValue(m.getReturnType());
+        });
+    }
+
+    private PreparedStatement statement(String sql) {
+        Map<Integer, Object> params = new HashMap<>();
+        return proxy(PreparedStatement.class, (stmt, m, a) -> {
+            String name = m.getName();
+            if (name.startsWith("set") && a != null && a.length >= 2 && a[0] instanceof Integer) {
+                params.put((Integer) a[0], a[1]);
+                return null;
+            }
+            events.add(name);
+            switch (name) {
+                case "setQueryTimeout": queryTimeouts.add(a[0]); return null;
+                case "setFetchSize": fetchSizes.add(a[0]); return null;
+                case "cancel":
+                    Runnable callback = onCancel;
+                    if (callback != null) {
+                        callback.run();
+                    }
+                    return null;
+                case "executeQuery": return resultSet(query.execute(sql, params));
+            }
+            return defaultValue(m.getReturnType());
+        });
+    }
+
+    private ResultSet resultSet(Rows rows) {
+        int[] row = { 0 };
+        Object[] last = { null };
+        ResultSetMetaData metaData = proxy(ResultSetMetaData.class, (md, m, a) -> {
+            switch (m.getName()) {
+                case "getColumnCount": return rows.labels.length;
+                case "getColumnLabel":
+                case "getColumnName": return rows.labels[(int) a[0] - 1];
+            }
+            return defaultValue(m.getReturnType());
+        });
+        return proxy(ResultSet.class, (rs, m, a) -> {
+            String name = m.getName();
+            switch (name) {
+                case "next": return ++row[0] <= rows.data.size();
+                case "getMetaData": return metaData;
+                case "findColumn": return rows.findColumn((String) a[0]);
+                case "wasNull": return last[0] == null;
+                case "getType": return ResultSet.TYPE_FORWARD_ONLY;
+            }
+            if (name.startsWith("get") && a != null && a.length == 1) {
+                int index = a[0] instanceof String ? rows.findColumn((String) a[0]) : (int) a[0];
+                Object value = rows.data.get(row[0] - 1)[index - 1];
+                last[0] = value;
+                return convert(value, m.getReturnType());
+            }
+            return defaultValue(m.getReturnType());
+        });
+    }
+
+    private static Object convert(Object value, Class<?> type) {
+        if (value == null || type == Object.class) {
+            return value == null ? defaultValue(type) : value;
+        }
+        if (type == String.class) {
+            return value.toString();
+        }
+        if (value instanceof Number) {
+            Number number = (Number) value;
+            if (type == int.class) return number.intValue();
+            if (type == long.class) return number.longValue();
+            if (type == double.class) return number.doubleValue();
+            if (type == float.class) return number.floatValue();
+            if (type == short.class) return number.shortValue();
+            if (type == byte.class) return number.byteValue();
+            if (type == BigDecimal.class) return new BigDecimal(number.toString());
+        }
+        return value;
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0d;
+        if (type == float.class) return 0f;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(loader, new Class<?>[] { type }, (proxy, m, a) -> {
+            // 代理对象可能被作为 Map 的键
+            switch (m.getName()) {
+                case "hashCode": if (m.getParameterCount() == 0) return System.identityHashCode(proxy); break;
+                case "equals": if (m.getParameterCount() == 1) return proxy == a[0]; break;
+                case "toString": if (m.getParameterCount() == 0) return type.getSimpleName() + "@" + System.identityHashCode(proxy); break;
+            }
+            return handler.invoke(proxy, m, a);
+        });
+    }
+
+}
@@ -1,12 +1,47 @@
 package com.ejlchina.searcher;
 
+import com.ejlchina.searcher.implement.BoolValueFilter;
+import com.ejlchina.searcher.implement.ConvertorDispatcher;
+import com.ejlchina.searcher.implement.CsvRowWriter;
+import com.ejlchina.searcher.implement.DateFormatFieldConvertor;
+import com.ejlchina.searcher.implement.Bulkhead;
+import com.ejlchina.searcher.implement.DefaultMapSearcher;
+import com.ejlchina.searcher.implement.DefaultMetaResolver;
+import com.ejlchina.searcher.implement.DefaultParamResolver;
+import com.ejlchina.searcher.implement.DefaultResultCache;
+import com.ejlchina.searcher.implement.DefaultSnippetResolver;
+import com.ejlchina.searcher.implement.DefaultSqlExecutor;
+import com.ejlchina.searcher.implement.DefaultSqlResolver;
+import com.ejlchina.searcher.implement.FastBeanReflector;
+import com.ejlchina.searcher.implement.NumberFieldConvertor;
+import com.ejlchina.searcher.implement.SearchExporter;
+import com.ejlchina.searcher.implement.SlowSearchLog;
+import com.ejlchina.searcher.param.FetchType;
+import com.ejlchina.searcher.param.FieldParam;
+import com.ejlchina.searcher.param.Operator;
 import com.ejlchina.searcher.util.MapUtils;
+import com.ejlchina.searcher.util.SqlUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 
 public class TestCase1 {
 
@@ -134,4 +169,1018 @@ public class TestCase1 {
         beanSearcher.searchAll(SearchBean.class, params2);
     }
 
+    @Test
+    public void test4() {
+        List<List<Object>> listParams = new ArrayList<>();
+        List<String> listSqls = new ArrayList<>();
+        SqlExecutor sqlExecutor = new SqlExecutor() {
+            @Override
+            public <T> SqlResult<T> execute(SearchSql<T> searchSql) {
+                listSqls.add(searchSql.getListSqlString());
+                listParams.add(searchSql.getListSqlParams());
+                return new SqlResult<>(searchSql);
+            }
+        };
+        BeanSearcher beanSearcher = SearcherBuilder.beanSearcher().sqlExecutor(sqlExecutor).build();
+        beanSearcher.searchList(SearchBean.class, MapUtils.builder().field(SearchBean::getId, 1, 5).op("bt").build());
+        beanSearcher.searchList(SearchBean.class, MapUtils.builder().field(SearchBean::getId, 2, 8).op("bt").page(1, 10).build());
+        beanSearcher.searchList(SearchBean.class, MapUtils.builder().field(SearchBean::getId, null, 8).op("bt").build());
+
+        Assert.assertEquals("select name c_1, id c_0 from search_bean where (id between ? and ? ) limit ?, ?", listSqls.get(0));
+        Assert.assertEquals(listSqls.get(0), listSqls.get(1));
+        Assert.assertEquals("select name c_1, id c_0 from search_bean where (id <= ? ) limit ?, ?", listSqls.get(2));
+        Assert.assertEquals(Arrays.asList(1, 5, 0L, 15), listParams.get(0));
+        Assert.assertEquals(Arrays.asList(2, 8, 10L, 10), listParams.get(1));
+        Assert.assertEquals(Arrays.asList(8, 0L, 15), listParams.get(2));
+    }
+
+    @Test
+    public void test5() {
+        List<List<Object>> listParams = new ArrayList<>();
+        List<String> listSqls = new ArrayList<>();
+        SqlExecutor sqlExecutor = new SqlExecutor() {
+            @Override
+            public <T> SqlResult<T> execute(SearchSql<T> searchSql) {
+                listSqls.add(searchSql.getListSqlString());
+                listParams.add(searchSql.getListSqlParams());
+                return new SqlResult<>(searchSql);
+            }
+        };
+        BeanSearcher beanSearcher = SearcherBuilder.beanSearcher().sqlExecutor(sqlExecutor).build();
+        beanSearcher.searchList(SearchBean.class, MapUtils.builder().seek(SearchBean::getId, 10).build());
+        beanSearcher.searchList(SearchBean.class, MapUtils.builder().seek(SearchBean::getId, 10, 20L).build());
+        beanSearcher.searchList(SearchBean.class, MapUtils.builder().orderBy(SearchBean::getName, "desc")
+                .seek(SearchBean::getId, 10, "Jack", 20L).build());
+
+        Assert.assertEquals("select name c_1, id c_0 from search_bean order by c_0 asc limit ?, ?", listSqls.get(0));
+        Assert.assertEquals("select name c_1, id c_0 from search_bean where (id > ?) order by c_0 asc limit ?, ?", listSqls.get(1));
+        Assert.assertEquals("select name c_1, id c_0 from search_bean where (name < ? or (name = ? and id < ?)) order by c_1 desc, c_0 desc limit ?, ?", listSqls.get(2));
+        Assert.assertEquals(Arrays.asList(0L, 10), listParams.get(0));
+        Assert.assertEquals(Arrays.asList(20L, 0L, 10), listParams.get(1));
+        Assert.assertEquals(Arrays.asList("Jack", "Jack", 20L, 0L, 10), listParams.get(2));
+    }
+
+    @com.ejlchina.searcher.bean.SearchBean(clusterCacheTtl = 60)
+    public static class CachedBean {
+        private long id;
+    }
+
+    @Test
+    public void test6() {
+        List<String> clusterSqls = new ArrayList<>();
+        SqlExecutor sqlExecutor = new SqlExecutor() {
+            @Override
+            public <T> SqlResult<T> execute(SearchSql<T> searchSql) {
+                SqlResult<T> result = new SqlResult<>(searchSql);
+                if (searchSql.isShouldQueryCluster()) {
+                    clusterSqls.add(searchSql.getClusterSqlString());
+                    ResultSet clusterResult = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(),
+                            new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+                                if ("getObject".equals(method.getName())) {
+                                    return 100L;
+                                }
+                                return "next".equals(method.getName()) ? true : null;
+                            });
+                    result.setClusterResult(clusterResult, null);
+                }
+                return result;
+            }
+        };
+        BeanSearcher beanSearcher = SearcherBuilder.beanSearcher().sqlExecutor(sqlExecutor).build();
+        Map<String, Object> params1 = MapUtils.builder().field("id", 1).op("gt").page(0, 10).build();
+        Map<String, Object> params2 = MapUtils.builder().field("id", 1).op("gt").page(1, 10).build();
+        Map<String, Object> params3 = MapUtils.builder().field("id", 2).op("gt").page(0, 10).build();
+        Assert.assertEquals(100L, beanSearcher.search(CachedBean.class, params1).getTotalCount());
+        Assert.assertEquals(100L, beanSearcher.search(CachedBean.class, params2).getTotalCount());
+        Assert.assertEquals(100L, beanSearcher.searchCount(CachedBean.class, params1));
+        Assert.assertEquals(1, clusterSqls.size());
+        Assert.assertEquals(100L, beanSearcher.search(CachedBean.class, params3).getTotalCount());
+        Assert.assertEquals(2, clusterSqls.size());
+    }
+
+    @com.ejlchina.searcher.bean.SearchBean(tables = "app.users u left join `roles` r on u.role_id = r.id", autoMapTo = "u", resultCacheTtl = 60)
+    public static class UserBean {
+        private long id;
+    }
+
+    @Test
+    public void test7() {
+        List<String> listSqls = new ArrayList<>();
+        SqlExecutor sqlExecutor = new SqlExecutor() {
+            @Override
+            public <T> SqlResult<T> execute(SearchSql<T> searchSql) {
+                listSqls.add(searchSql.getListSqlString());
+                return new SqlResult<>(searchSql);
+            }
+        };
+        ResultCache resultCache = new DefaultResultCache();
+        BeanSearcher beanSearcher = SearcherBuilder.beanSearcher().sqlExecutor(sqlExecutor).resultCache(resultCache).build();
+        Map<String, Object> params = MapUtils.builder().field("id", 1).build();
+        beanSearcher.searchList(UserBean.class, params);
+        beanSearcher.searchList(UserBean.class, params);
+        Assert.assertEquals(1, listSqls.size());
+        beanSearcher.searchList(UserBean.class, MapUtils.builder().field("id", 2).build());
+        Assert.assertEquals(2, listSqls.size());
+        resultCache.evictByTable("departments");
+        beanSearcher.searchList(UserBean.class, params);
+        Assert.assertEquals(2, listSqls.size());
+        resultCache.evictByTable("ROLES");
+        beanSearcher.searchList(UserBean.class, params);
+        Assert.assertEquals(3, listSqls.size());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("users", "roles")),
+                SqlUtils.tableNames("app.users u left join `roles` r on u.role_id = r.id"));
+    }
+
+    @Test
+    public void test8() throws Exception {
+        List<String> threads = new ArrayList<>();
+        SqlExecutor sqlExecutor = new SqlExecutor() {
+            @Override
+            public <T> SqlResult<T> execute(SearchSql<T> searchSql) {
+                threads.add(Thread.currentThread().getName());
+                return new SqlResult<>(searchSql);
+            }
+        };
+        Executor executor = runnable -> new Thread(runnable, "async-search").start();
+        BeanSearcher beanSearcher = SearcherBuilder.beanSearcher().sqlExecutor(sqlExecutor).asyncExecutor(executor).build();
+        List<SearchBean> list = beanSearcher.searchListAsync(SearchBean.class, new HashMap<>()).get();
+        Assert.assertTrue(list.isEmpty());
+        Assert.assertEquals(Collections.singletonList("async-search"), threads);
+        // 默认不使用 ForkJoinPool.commonPool()，而使用有界的专用线程池
+        threads.clear();
+        BeanSearcher defaultSearcher = SearcherBuilder.beanSearcher().sqlExecutor(sqlExecutor).build();
+        defaultSearcher.searchListAsync(SearchBean.class, new HashMap<>()).get();
+        Assert.assertEquals(1, threads.size());
+        Assert.assertTrue(threads.get(0), threads.get(0).startsWith("bean-searcher-async-"));
+    }
+
+    @Test
+    public void test9() {
+        DefaultParamResolver paramResolver = new DefaultParamResolver();
+        BeanMeta<SearchBean> beanMeta = new DefaultMetaResolver().resolve(SearchBean.class);
+        Map<String, Object> paraMap = new HashMap<>();
+        paraMap.put("id-0", 1);
+        paraMap.put("id-1", 9);
+        paraMap.put("id-op", "bt");
+        paraMap.put("name", "Jack");
+        paraMap.put("name-0", null);
+        paraMap.put("name-ic", true);
+        paraMap.put("name-x", "ignored");
+        paraMap.put("name-12345678901", "ignored");
+        SearchParam searchParam = paramResolver.resolve(beanMeta, new FetchType(FetchType.ALL), paraMap);
+        List<FieldParam> fieldParams = searchParam.getFieldParams();
+        Assert.assertEquals(2, fieldParams.size());
+        Map<String, FieldParam> params = new HashMap<>();
+        fieldParams.forEach(p -> params.put(p.getName(), p));
+        Assert.assertEquals(Operator.Between, params.get("id").getOperator());
+        Assert.assertArrayEquals(new Object[] { 1, 9 }, params.get("id").getValues());
+        Assert.assertArrayEquals(new Object[] { "Jack" }, params.get("name").getValues());
+        Assert.assertTrue(params.get("name").isIgnoreCase());
+        // 修改分隔符后，参数名索引需重建
+        paramResolver.setSeparator("_");
+        fieldParams = paramResolver.resolve(beanMeta, new FetchType(FetchType.ALL), Collections.singletonMap("id_1", 5)).getFieldParams();
+        Assert.assertEquals(1, fieldParams.size());
+        Assert.assertArrayEquals(new Object[] { 5 }, fieldParams.get(0).getValues());
+    }
+
+    public static class BoolBean {
+        private long id;
+        private boolean active;
+        public long getId() {
+            return id;
+        }
+        public void setId(long id) {
+            this.id = id;
+        }
+        public boolean isActive() {
+            return active;
+        }
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+    }
+
+    @Test
+    public void test10() {
+        BoolValueFilter filter = new BoolValueFilter();
+        BeanMeta<BoolBean> beanMeta = new DefaultMetaResolver().resolve(BoolBean.class);
+        Assert.assertEquals(Collections.singleton("active"), beanMeta.getBoolFieldSet());
+        Map<String, Object> paraMap = new HashMap<>();
+        paraMap.put("id", 1);
+        paraMap.put("active", true);
+        // 无需改写时不复制
+        Assert.assertSame(paraMap, filter.doFilter(beanMeta, paraMap));
+        paraMap.remove("active");
+        paraMap.put("active-false", "");
+        paraMap.put("id-ic", "no");
+        Map<String, Object> filtered = filter.doFilter(beanMeta, paraMap);
+        Assert.assertNotSame(paraMap, filtered);
+        Assert.assertEquals(Boolean.FALSE, filtered.get("active"));
+        Assert.assertEquals(Boolean.FALSE, filtered.get("id-ic"));
+        Assert.assertFalse(filtered.containsKey("active-false"));
+        Assert.assertEquals("", paraMap.get("active-false"));
+    }
+
+    @Test
+    public void test11() {
+        SqlSnippet snippet = new DefaultSnippetResolver().resolve("order_:month: o, (select * from item where qty > :minQty) i, log_:month: l");
+        Map<String, Object> params = new HashMap<>();
+        params.put("month", 202110);
+        StringBuilder builder = new StringBuilder("from ");
+        snippet.appendTo(builder, params::get);
+        Assert.assertEquals("from order_202110 o, (select * from item where qty > ?) i, log_202110 l", builder.toString());
+        builder.setLength(0);
+        snippet.appendTo(builder, name -> null);
+        Assert.assertEquals("order_ o, (select * from item where qty > ?) i, log_ l", builder.toString());
+    }
+
+    @Test
+    public void test12() {
+        // 合并的 SQL 返回两行：(0, 10), (1, 20)，否则返回一行：10
+        FakeDataSource fake = new FakeDataSource((sql, params) -> !sql.contains("union all") ? FakeDataSource.count(10L)
+                : FakeDataSource.rows(new String[] { "b_i", "s_count" }, new Object[] { 0, 10L }, new Object[] { 1, 20L }));
+        DataSource dataSource = fake.dataSource();
+        BeanSearcher beanSearcher = SearcherBuilder.beanSearcher().sqlExecutor(new DefaultSqlExecutor(dataSource)).build();
+        SearchBatch<BeanSearcher> batch = beanSearcher.batch();
+        SearchBatch.Result<Number> count1 = batch.addCount(SearchBean.class, MapUtils.builder().field("id", 1).build());
+        SearchBatch.Result<Number> count2 = batch.addCount(SearchBean.class, MapUtils.builder().field("id", 2).build());
+        SearchBatch.Result<Number> count3 = batch.add(s -> s.searchCount(SearchBean.class, new HashMap<>()));
+        Assert.assertEquals(Arrays.asList(10L, 20L, 10L), batch.execute());
+        Assert.assertEquals(10L, count1.get());
+        Assert.assertEquals(20L, count2.get());
+        Assert.assertEquals(10L, count3.get());
+        // 两个总数合并为一条 SQL，且三个检索共用一个连接
+        Assert.assertEquals(2, fake.sqls.size());
+        Assert.assertTrue(fake.sqls.get(0).startsWith("select 0 b_i, t0.* from (select count(*)"));
+        Assert.assertArrayEquals(new int[] { 1, 1 }, fake.connections());
+    }
+
+    @Test
+    public void test13() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(1, 2, 5000);
+        bulkhead.acquire(0);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        Thread low = new Thread(() -> { bulkhead.acquire(-1); order.add("low"); bulkhead.release(); });
+        Thread high = new Thread(() -> { bulkhead.acquire(5); order.add("high"); bulkhead.release(); });
+        low.start();
+        while (bulkhead.getQueued() < 1) Thread.sleep(1);
+        high.start();
+        while (bulkhead.getQueued() < 2) Thread.sleep(1);
+        // 队列已满
+        Assert.assertThrows(SearchException.class, () -> bulkhead.acquire(10));
+        bulkhead.release();
+        low.join();
+        high.join();
+        Assert.assertEquals(Arrays.asList("high", "low"), order);
+        Assert.assertEquals(3, bulkhead.getAcquiredCount());
+        Assert.assertEquals(1, bulkhead.getRejectedCount());
+        Assert.assertEquals(0, bulkhead.getInFlight());
+        // 等待超时
+        Bulkhead bulkhead2 = new Bulkhead(1, 1, 20);
+        bulkhead2.acquire(0);
+        Assert.assertThrows(SearchException.class, () -> bulkhead2.acquire(0));
+        Assert.assertEquals(1, bulkhead2.getTimeoutCount());
+        Assert.assertEquals(0, bulkhead2.getQueued());
+    }
+
+    @Test
+    public void test14() throws Exception {
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        FakeDataSource fake = new FakeDataSource((sql, params) -> {
+            // 模拟耗时的查询，直到被取消
+            executing.countDown();
+            cancelled.await();
+            throw new SQLException("Query execution was interrupted");
+        });
+        fake.onCancel = cancelled::countDown;
+        DataSource dataSource = fake.dataSource();
+        BeanSearcher beanSearcher = SearcherBuilder.beanSearcher().sqlExecutor(new DefaultSqlExecutor(dataSource)).build();
+        CancelToken token = new CancelToken();
+        Map<String, Object> params = MapUtils.builder().queryTimeout(3).cancelToken(token).build();
+        Throwable[] error = { null };
+        Thread search = new Thread(() -> {
+            try {
+                beanSearcher.searchCount(SearchBean.class, params);
+            } catch (Throwable e) {
+                error[0] = e;
+            }
+        });
+        search.start();
+        executing.await();
+        token.cancel();
+        search.join();
+        Assert.assertTrue(error[0] instanceof SearchException);
+        Assert.assertEquals("The search has been cancelled!", error[0].getMessage());
+        Assert.assertEquals(Collections.singletonList(3), fake.queryTimeouts);
+        Assert.assertArrayEquals(new int[] { 1, 1 }, fake.connections());
+        // 已取消的句柄，不再获取连接
+        Assert.assertThrows(SearchException.class, () -> beanSearcher.searchCount(SearchBean.class, params));
+        Assert.assertArrayEquals(new int[] { 1, 1 }, fake.connections());
+    }
+
+    @Test
+    public void test15() {
+        DataSource dataSource = FakeDataSource.ofCount(10L).dataSource();
+        List<String> records = Collections.synchronizedList(new ArrayList<>());
+        SearchMetrics metrics = new SearchMetrics() {
+            @Override
+            public void recordTime(Class<?> beanClass, Stage stage, long nanos) {
+                Assert.assertTrue(nanos >= 0);
+                records.add(beanClass.getSimpleName() + ":" + stage);
+            }
+            @Override
+            public void recordRows(Class<?> beanClass, int rows) {
+                records.add(beanClass.getSimpleName() + ":" + rows);
+            }
+        };
+        BeanSearcher beanSearcher = SearcherBuilder.beanSearcher()
+                .sqlExecutor(new DefaultSqlExecutor(dataSource))
+                .metrics(metrics)
+                .build();
+        Assert.assertEquals(10L, beanSearcher.searchCount(SearchBean.class, new HashMap<>()));
+        Assert.assertEquals(Arrays.asList("SearchBean:PARAM_RESOLVE", "SearchBean:SQL_RESOLVE",
+                "SearchBean:CONNECTION_ACQUIRE", "SearchBean:CLUSTER_EXECUTE"), records);
+    }
+
+    @Test
+    public void test16() {
+        SlowSearchLog slowSearchLog = new SlowSearchLog();
+        slowSearchLog.setThreshold(0);
+        slowSearchLog.setTopN(1);
+        slowSearchLog.setParamRedactor(p -> "***");
+        BeanSearcher beanSearcher = SearcherBuilder.beanSearcher()
+                .sqlExecutor(new DefaultSqlExecutor(FakeDataSource.ofCount(10L).dataSource()))
+                .slowSearchLog(slowSearchLog)
+                .build();
+        beanSearcher.searchCount(SearchBean.class, MapUtils.builder().field("id", 1).build());
+        beanSearcher.searchCount(SearchBean.class, MapUtils.builder().field("id", 2).build());
+        List<SlowSearchLog.SlowSearch> slowest = slowSearchLog.getSlowest();
+        Assert.assertEquals(1, slowest.size());
+        SlowSearchLog.SlowSearch search = slowest.get(0);
+        // 参数值不同的检索属于同一个 SQL 形状
+        Assert.assertEquals(2, search.getCount());
+        Assert.assertEquals(SearchBean.class.getName(), search.getBeanClass());
+        Assert.assertEquals(Collections.singletonList("***"), search.getClusterParams());
+        Assert.assertNull(search.getListSql());
+        // 为 SearchBean 单独关闭
+        slowSearchLog.clear();
+        slowSearchLog.setThreshold(SearchBean.class, -1);
+        beanSearcher.searchCount(SearchBean.class, new HashMap<>());
+        Assert.assertTrue(slowSearchLog.getSlowest().isEmpty());
+    }
+
+    @Test
+    public void test17() {
+        int[] listRows = { 0 };
+        FakeDataSource fake = new FakeDataSource((sql, params) -> {
+            if (sql.contains("count(*)")) {
+                return FakeDataSource.count(99L);
+            }
+            List<Object[]> data = new ArrayList<>();
+            for (int i = 1; i <= listRows[0]; i++) {
+                data.add(new Object[] { (long) i, "n" + i });
+            }
+            return new FakeDataSource.Rows(new String[] { "c_0", "c_1" }, data);
+        });
+        List<String> sqls = fake.sqls;
+        MapSearcher mapSearcher = SearcherBuilder.mapSearcher()
+                .sqlExecutor(new DefaultSqlExecutor(fake.dataSource()))
+                .countElision(true)
+                .build();
+        // 第一页未取满，直接推算总数
+        listRows[0] = 3;
+        SearchResult<Map<String, Object>> result = mapSearcher.search(SearchBean.class, MapUtils.builder().page(0, 10).build());
+        Assert.assertEquals(3, result.getDataList().size());
+        Assert.assertEquals(3L, result.getTotalCount());
+        Assert.assertEquals(1, sqls.size());
+        // 非第一页未取满
+        result = mapSearcher.search(SearchBean.class, MapUtils.builder().page(2, 10).build());
+        Assert.assertEquals(23L, result.getTotalCount());
+        Assert.assertEquals(2, sqls.size());
+        // 本页已取满，仍需查询总数
+        listRows[0] = 10;
+        result = mapSearcher.search(SearchBean.class, MapUtils.builder().page(0, 10).build());
+        Assert.assertEquals(99L, result.getTotalCount());
+        Assert.assertEquals(4, sqls.size());
+        Assert.assertTrue(sqls.get(3).contains("count(*)"));
+        // 推算出的总数同样受总数上限的限制
+        listRows[0] = 3;
+        result = mapSearcher.search(SearchBean.class, MapUtils.builder().page(2, 10).countLimit(20).build());
+        Assert.assertEquals(20L, result.getTotalCount());
+        Assert.assertTrue(result.isCountCapped());
+        Assert.assertEquals(5, sqls.size());
+    }
+
+    @Test
+    public void test18() {
+        List<SearchSql<?>> searchSqls = new ArrayList<>();
+        SqlExecutor sqlExecutor = new SqlExecutor() {
+            @Override
+            public <T> SqlResult<T> execute(SearchSql<T> searchSql) {
+                searchSqls.add(searchSql);
+                SqlResult<T> result = new SqlResult<>(searchSql);
+                result.setClusterValues(new Number[] { 101L });
+                return result;
+            }
+        };
+        MapSearcher mapSearcher = SearcherBuilder.mapSearcher().sqlExecutor(sqlExecutor).build();
+        SearchResult<Map<String, Object>> result = mapSearcher.search(SearchBean.class, MapUtils.builder().countLimit(100).build());
+        Assert.assertEquals("select count(*) s_count from (select 1 from search_bean limit ?, ?) t_", searchSqls.get(0).getClusterSqlString());
+        Assert.assertEquals(Arrays.asList(0L, 101), searchSqls.get(0).getClusterSqlParams());
+        Assert.assertEquals(100L, result.getTotalCount());
+        Assert.assertTrue(result.isCountCapped());
+        // 未超过上限
+        result = mapSearcher.search(SearchBean.class, MapUtils.builder().countLimit(1000).build());
+        Assert.assertEquals(Arrays.asList(0L, 1001), searchSqls.get(1).getClusterSqlParams());
+        Assert.assertEquals(101L, result.getTotalCount());
+        Assert.assertFalse(result.isCountCapped());
+        // 不限制
+        result = mapSearcher.search(SearchBean.class, new HashMap<>());
+        Assert.assertEquals("select count(*) s_count from search_bean", searchSqls.get(2).getClusterSqlString());
+        Assert.assertFalse(result.isCountCapped());
+    }
+
+    @Test
+    public void test19() {
+        FieldMeta meta = new DefaultMetaResolver().resolve(SearchBean.class).requireFieldMeta("name");
+        int[] supports = { 0 };
+        FieldConvertor.MFieldConvertor upper = new FieldConvertor.MFieldConvertor() {
+            @Override
+            public boolean supports(FieldMeta meta, Class<?> valueType) {
+                supports[0]++;
+                return valueType == String.class;
+            }
+            @Override
+            public Object convert(FieldMeta meta, Object value) {
+                return value.toString().toUpperCase();
+            }
+        };
+        List<FieldConvertor.MFieldConvertor> convertors = new ArrayList<>();
+        convertors.add(upper);
+        ConvertorDispatcher<FieldConvertor.MFieldConvertor> dispatcher = new ConvertorDispatcher<>(convertors);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertSame(upper, dispatcher.find(meta, String.class));
+            Assert.assertNull(dispatcher.find(meta, Long.class));
+        }
+        Assert.assertEquals(2, supports[0]);
+        // 直接修改列表时，需调用 invalidate() 后才重新判断
+        DateFormatFieldConvertor dateFormat = new DateFormatFieldConvertor();
+        convertors.add(0, dateFormat);
+        Assert.assertSame(upper, dispatcher.find(meta, String.class));
+        Assert.assertEquals(2, supports[0]);
+        dispatcher.invalidate();
+        Assert.assertSame(upper, dispatcher.find(meta, String.class));
+        Assert.assertEquals(3, supports[0]);
+        // 替换列表后重新判断
+        dispatcher.setConvertors(new ArrayList<>(convertors));
+        Assert.assertSame(upper, dispatcher.find(meta, String.class));
+        Assert.assertEquals(4, supports[0]);
+        // 格式被修改后重新查找
+        java.time.LocalDate date = java.time.LocalDate.of(2021, 12, 1);
+        Assert.assertSame(dateFormat, dispatcher.find(meta, java.time.LocalDate.class));
+        Assert.assertSame(date, dateFormat.convert(meta, date));
+        dateFormat.setFormat(SearchBean.class.getName(), "yyyy/MM/dd");
+        Assert.assertEquals("2021/12/01", dateFormat.convert(meta, date));
+    }
+
+    @Test
+    public void test20() {
+        CompactMap.Schema schema = new CompactMap.Schema("id", "name");
+        CompactMap map = new CompactMap(schema, new Object[] { 1L, null });
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("id", 1L);
+        expected.put("name", null);
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+        Assert.assertTrue(map.containsKey("name"));
+        Assert.assertFalse(map.containsKey("age"));
+        // 键结构之外的键
+        map.put("age", 20);
+        expected.put("age", 20);
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(3, map.size());
+        // 移除键结构中的键
+        Assert.assertEquals(1L, map.remove("id"));
+        expected.remove("id");
+        Assert.assertEquals(expected, map);
+        Assert.assertFalse(map.containsKey("id"));
+        Assert.assertArrayEquals(new Object[] { null, null }, map.toArray());
+        map.entrySet().removeIf(e -> e.getKey().equals("age"));
+        Assert.assertEquals(Collections.singletonMap("name", null), map);
+        map.put("id", 2L);
+        Assert.assertArrayEquals(new Object[] { 2L, null }, map.toArray());
+        Assert.assertEquals(2, map.size());
+    }
+
+    @Test
+    public void test21() {
+        FakeDataSource fake = new FakeDataSource((sql, params) -> sql.contains("count(*)") ? FakeDataSource.count(2L)
+                : FakeDataSource.rows(new String[] { "c_0", "c_1" }, new Object[] { 1L, "a\"b\n1" }, new Object[] { 2L, "a\"b\n2" }));
+        DataSource dataSource = fake.dataSource();
+        MapSearcher mapSearcher = SearcherBuilder.mapSearcher()
+                .sqlExecutor(new DefaultSqlExecutor(dataSource))
+                .build();
+        java.io.StringWriter writer = new java.io.StringWriter();
+        mapSearcher.searchJson(SearchBean.class, MapUtils.builder().onlySelect("id", "name").build(), writer);
+        Assert.assertEquals("{\"totalCount\":2,\"summaries\":[],\"dataList\":[{\"id\":1,\"name\":\"a\\\"b\\n1\"},{\"id\":2,\"name\":\"a\\\"b\\n2\"}]}", writer.toString());
+        writer = new java.io.StringWriter();
+        mapSearcher.searchAllJson(SearchBean.class, MapUtils.builder().onlySelect("id").build(), writer);
+        Assert.assertEquals("[{\"id\":1},{\"id\":2}]", writer.toString());
+    }
+
+    @Test
+    public void test22() {
+        // 共 5 行数据，每块最多 2 行
+        FakeDataSource fake = new FakeDataSource((sql, params) -> {
+            long after = sql.contains(" > ?") ? ((Number) params.get(1)).longValue() : 0;
+            List<Object[]> data = new ArrayList<>();
+            for (long id = after + 1; id <= Math.min(after + 2, 5); id++) {
+                data.add(new Object[] { id, "n," + id });
+            }
+            return new FakeDataSource.Rows(new String[] { "c_0", "c_1" }, data);
+        });
+        List<String> sqls = fake.sqls;
+        DataSource dataSource = fake.dataSource();
+        MapSearcher mapSearcher = SearcherBuilder.mapSearcher()
+                .sqlExecutor(new DefaultSqlExecutor(dataSource))
+                .build();
+        SearchExporter exporter = new SearchExporter((DefaultMapSearcher) mapSearcher);
+        exporter.setChunkSize(2);
+        List<Long> progresses = new ArrayList<>();
+        exporter.setListener(p -> progresses.add(p.getRows()));
+        java.io.StringWriter writer = new java.io.StringWriter();
+        CsvRowWriter rowWriter = CsvRowWriter.csv(writer);
+        rowWriter.setLineSeparator("\n");
+        SearchExporter.Progress progress = exporter.export(SearchBean.class,
+                MapUtils.builder().onlySelect("id", "name").build(), "id", rowWriter);
+        Assert.assertEquals("id,name\n1,\"n,1\"\n2,\"n,2\"\n3,\"n,3\"\n4,\"n,4\"\n5,\"n,5\"\n", writer.toString());
+        Assert.assertEquals(5, progress.getRows());
+        Assert.assertEquals(3, progress.getChunks());
+        Assert.assertTrue(progress.isFinished());
+        Assert.assertEquals(Arrays.asList(2L, 4L, 5L), progresses);
+        Assert.assertEquals(3, sqls.size());
+        Assert.assertFalse(sqls.get(0).contains("id >"));
+        Assert.assertTrue(sqls.get(1).contains(" > ?"));
+    }
+
+    @Test
+    public void test23() {
+        int[] chunkSize = { 2 };
+        // 表中的 id 为 1 ~ 10，每次最多返回 chunkSize 行
+        FakeDataSource fake = new FakeDataSource((sql, params) -> {
+            List<Object[]> data = new ArrayList<>();
+            if (!sql.contains("between")) {
+                data.add(new Object[] { sql.contains("desc") ? 10L : 1L });
+            } else {
+                long from = ((Number) params.get(1)).longValue(), to = ((Number) params.get(2)).longValue();
+                long after = sql.contains(" > ?") ? ((Number) params.get(3)).longValue() : Long.MIN_VALUE;
+                for (long id = Math.max(from, after + 1); id <= to && data.size() < chunkSize[0]; id++) {
+                    data.add(new Object[] { id });
+                }
+            }
+            return new FakeDataSource.Rows(new String[] { "c_0" }, data);
+        });
+        List<String> sqls = fake.sqls;
+        DataSource dataSource = fake.dataSource();
+        MapSearcher mapSearcher = SearcherBuilder.mapSearcher()
+                .sqlExecutor(new DefaultSqlExecutor(dataSource))
+                .build();
+        SearchExporter exporter = new SearchExporter((DefaultMapSearcher) mapSearcher);
+        exporter.setChunkSize(chunkSize[0]);
+        java.io.StringWriter writer = new java.io.StringWriter();
+        CsvRowWriter rowWriter = CsvRowWriter.csv(writer);
+        rowWriter.setLineSeparator(" ");
+        SearchExporter.Progress progress = exporter.exportParallel(SearchBean.class,
+                MapUtils.builder().onlySelect("id").build(), "id", 3, true, rowWriter);
+        Assert.assertEquals("id 1 2 3 4 5 6 7 8 9 10 ", writer.toString());
+        Assert.assertEquals(10, progress.getRows());
+        Assert.assertEquals(3, sqls.stream().filter(sql -> sql.contains("between") && !sql.contains(" > ?")).count());
+        // 无序写出
+        writer.getBuffer().setLength(0);
+        chunkSize[0] = 3;
+        exporter.setChunkSize(chunkSize[0]);
+        exporter.exportParallel(SearchBean.class, MapUtils.builder().onlySelect("id").build(), "id", 4, false, rowWriter);
+        List<String> ids = new ArrayList<>(Arrays.asList(writer.toString().trim().split(" ")));
+        Assert.assertEquals("id", ids.remove(0));
+        ids.sort(java.util.Comparator.comparing(Integer::valueOf));
+        Assert.assertEquals(Arrays.asList("1", "2", "3", "4", "5", "6", "7", "8", "9", "10"), ids);
+        // 键字段不能再作为检索条件
+        try {
+            exporter.exportParallel(SearchBean.class, MapUtils.builder().field("id", 1).build(), "id", 2, false, rowWriter);
+            Assert.fail();
+        } catch (SearchException e) {
+            Assert.assertTrue(e.getMessage().contains("id"));
+        }
+    }
+
+    @Test
+    public void test24() {
+        FakeDataSource fake = new FakeDataSource((sql, params) -> sql.contains("count(*)") ? FakeDataSource.count(2L)
+                : FakeDataSource.rows(new String[] { "c_0", "c_1" }, new Object[] { 1L, "a" }, new Object[] { 2L, "b" }));
+        DefaultSqlExecutor sqlExecutor = new DefaultSqlExecutor(fake.dataSource());
+        java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newCachedThreadPool();
+        sqlExecutor.setConcurrentExecutor(pool);
+        // 只有一个许可：并行执行时借用的第二个连接不能再等待许可
+        Bulkhead bulkhead = new Bulkhead(1, 10, 300);
+        sqlExecutor.setBulkhead(null, bulkhead);
+        MapSearcher mapSearcher = SearcherBuilder.mapSearcher().sqlExecutor(sqlExecutor).build();
+        try {
+            for (int i = 0; i < 3; i++) {
+                SearchResult<Map<String, Object>> result = mapSearcher.search(SearchBean.class, new HashMap<>());
+                Assert.assertEquals(2L, result.getTotalCount());
+                Assert.assertEquals(2, result.getDataList().size());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        // 每次检索两个连接，只占用一个许可
+        Assert.assertArrayEquals(new int[] { 6, 6 }, fake.connections());
+        Assert.assertEquals(3, bulkhead.getAcquiredCount());
+        Assert.assertEquals(0, bulkhead.getTimeoutCount());
+        Assert.assertEquals(0, bulkhead.getInFlight());
+    }
+
+    @Test
+    public void test25() {
+        FakeDataSource fake = new FakeDataSource((sql, params) -> !sql.contains("union all") ? FakeDataSource.count(101L)
+                : FakeDataSource.rows(new String[] { "b_i", "s_count" }, new Object[] { 0, 101L }, new Object[] { 1, 50L }));
+        BeanSearcher beanSearcher = SearcherBuilder.beanSearcher().sqlExecutor(new DefaultSqlExecutor(fake.dataSource())).build();
+        Map<String, Object> capped = MapUtils.builder().countLimit(100).build();
+        // 总数查询多取的一行不能作为总数返回
+        Assert.assertEquals(100L, beanSearcher.searchCount(SearchBean.class, capped));
+        Assert.assertEquals(101L, beanSearcher.searchCount(SearchBean.class, new HashMap<>()));
+        // 合并执行的总数
+        SearchBatch<BeanSearcher> batch = beanSearcher.batch();
+        batch.addCount(SearchBean.class, capped);
+        batch.addCount(SearchBean.class, MapUtils.builder().countLimit(100).field("id", 1).build());
+        Assert.assertEquals(Arrays.asList(100L, 50L), batch.execute());
+        Assert.assertTrue(fake.sqls.get(2).contains("union all"));
+    }
+
+    public static class TypedBean {
+        private long id;
+        private int age;
+        private double score;
+        private long amount;
+        public long getId() {
+            return id;
+        }
+        public void setId(long id) {
+            this.id = id;
+        }
+        public int getAge() {
+            return age;
+        }
+        public void setAge(int age) {
+            this.age = age;
+        }
+        public double getScore() {
+            return score;
+        }
+        public void setScore(double score) {
+            this.score = score;
+        }
+        public long getAmount() {
+            return amount;
+        }
+        public void setAmount(long amount) {
+            this.amount = amount;
+        }
+    }
+
+    @Test
+    public void test26() {
+        FakeDataSource fake = new FakeDataSource((sql, params) -> FakeDataSource.rows(new String[] { "c_0", "c_1", "c_2", "c_3" },
+                new Object[] { 1L, 20, 1.5, new BigDecimal("12.7") },
+                new Object[] { 2L, null, null, new BigDecimal("3.2") },
+                new Object[] { 3L, 30, 2.5, null }));
+        // 用户的转换器：id 乘以 100，金额四舍五入
+        FieldConvertor.BFieldConvertor userConvertor = new FieldConvertor.BFieldConvertor() {
+            @Override
+            public boolean supports(FieldMeta meta, Class<?> valueType) {
+                return "id".equals(meta.getName()) && valueType == Long.class || valueType == BigDecimal.class;
+            }
+            @Override
+            public Object convert(FieldMeta meta, Object value) {
+                if (value instanceof BigDecimal) {
+                    return ((BigDecimal) value).setScale(0, RoundingMode.HALF_UP).longValue();
+                }
+                return (Long) value * 100;
+            }
+        };
+        FastBeanReflector reflector = new FastBeanReflector(new ArrayList<>(Arrays.asList(userConvertor, new NumberFieldConvertor())));
+        BeanSearcher beanSearcher = SearcherBuilder.beanSearcher()
+                .sqlExecutor(new DefaultSqlExecutor(fake.dataSource()))
+                .beanReflector(reflector)
+                .build();
+        // 第二次检索时 age 与 score 已使用类型化取值
+        for (int i = 0; i < 2; i++) {
+            List<TypedBean> beans = beanSearcher.searchAll(TypedBean.class, new HashMap<>());
+            Assert.assertEquals(Arrays.asList(100L, 200L, 300L), beans.stream().map(TypedBean::getId).collect(Collectors.toList()));
+            Assert.assertEquals(Arrays.asList(20, 0, 30), beans.stream().map(TypedBean::getAge).collect(Collectors.toList()));
+            Assert.assertEquals(Arrays.asList(1.5, 0.0, 2.5), beans.stream().map(TypedBean::getScore).collect(Collectors.toList()));
+            Assert.assertEquals(Arrays.asList(13L, 3L, 0L), beans.stream().map(TypedBean::getAmount).collect(Collectors.toList()));
+        }
+        // 去掉用户的转换器后，DECIMAL 列仍经过 NumberFieldConvertor 转换
+        reflector.setConvertors(new ArrayList<>(Collections.singletonList(new NumberFieldConvertor())));
+        List<TypedBean> beans = beanSearcher.searchAll(TypedBean.class, new HashMap<>());
+        Assert.assertEquals(Arrays.asList(1L, 2L, 3L), beans.stream().map(TypedBean::getId).collect(Collectors.toList()));
+        Assert.assertEquals(Arrays.asList(12L, 3L, 0L), beans.stream().map(TypedBean::getAmount).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void test27() throws Exception {
+        BeanMeta<SearchBean> beanMeta = new DefaultMetaResolver().resolve(SearchBean.class);
+        List<String> fetchFields = Arrays.asList("id", "name");
+        String[][] labels = { null };
+        DataSource dataSource = new FakeDataSource((sql, params) ->
+                FakeDataSource.rows(labels[0], labels[0][0].equalsIgnoreCase("c_0") ? new Object[] { 1L, "a" } : new Object[] { "a", 1L })).dataSource();
+        BiFunction<int[], String[], int[]> indexes = (planned, columns) -> {
+            labels[0] = columns;
+            SearchSql<SearchBean> searchSql = new SearchSql<>(beanMeta, fetchFields);
+            searchSql.setListColumnIndexes(planned);
+            try (SqlResult<SearchBean> result = new SqlResult<>(searchSql)) {
+                ResultSet resultSet = dataSource.getConnection().prepareStatement("").executeQuery();
+                result.setListResult(resultSet, null);
+                Assert.assertTrue(resultSet.next());
+                int[] columnIndexes = result.getListColumnIndexes();
+                // 按列下标反射
+                SearchBean bean = new FastBeanReflector().reflect(beanMeta, fetchFields, columnIndexes, resultSet);
+                Assert.assertEquals(1L, bean.getId());
+                Assert.assertEquals("a", bean.getName());
+                return columnIndexes;
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        // 计划与列名一致（忽略大小写）
+        Assert.assertArrayEquals(new int[] { 1, 2 }, indexes.apply(new int[] { 1, 2 }, new String[] { "c_0", "c_1" }));
+        Assert.assertArrayEquals(new int[] { 1, 2 }, indexes.apply(new int[] { 1, 2 }, new String[] { "C_0", "C_1" }));
+        // 列的顺序与计划不同时，按列名查找
+        Assert.assertArrayEquals(new int[] { 2, 1 }, indexes.apply(new int[] { 1, 2 }, new String[] { "C_1", "c_0" }));
+        // 计划超出列数 或 没有计划
+        Assert.assertArrayEquals(new int[] { 2, 1 }, indexes.apply(new int[] { 3, 1 }, new String[] { "c_1", "c_0" }));
+        Assert.assertArrayEquals(new int[] { 2, 1 }, indexes.apply(null, new String[] { "c_1", "C_0" }));
+    }
+
+    @Test
+    public void test28() {
+        FakeDataSource fake = new FakeDataSource((sql, params) -> FakeDataSource.rows(new String[] { "c_0", "c_1" },
+                new Object[] { 1L, "a" }, new Object[] { 2L, "b" }));
+        DefaultSqlExecutor sqlExecutor = new DefaultSqlExecutor(fake.dataSource());
+        sqlExecutor.setTransactional(true);
+        sqlExecutor.setStreamFetchSize(200);
+        MapSearcher mapSearcher = SearcherBuilder.mapSearcher().sqlExecutor(sqlExecutor).build();
+        try (java.util.stream.Stream<Map<String, Object>> stream = mapSearcher.searchStream(SearchBean.class, new HashMap<>())) {
+            // 读取期间只读事务未结束，连接未关闭
+            Assert.assertEquals(Collections.singletonList(200), fake.fetchSizes);
+            Assert.assertEquals(Collections.singletonList(ResultSet.TYPE_FORWARD_ONLY), fake.resultSetTypes);
+            Assert.assertTrue(fake.events.contains("setReadOnly"));
+            Assert.assertFalse(fake.events.contains("commit"));
+            Assert.assertEquals(Arrays.asList(1L, 2L), stream.map(m -> m.get("id")).collect(Collectors.toList()));
+            Assert.assertArrayEquals(new int[] { 1, 0 }, fake.connections());
+        }
+        // 关闭时先结束事务，再关闭连接
+        List<String> events = fake.events;
+        Assert.assertTrue(events.indexOf("commit") > events.indexOf("executeQuery"));
+        Assert.assertEquals("close", events.get(events.size() - 1));
+        Assert.assertArrayEquals(new int[] { 1, 1 }, fake.connections());
+        // 非流式检索在执行后立即结束事务
+        fake.events.clear();
+        mapSearcher.searchAll(SearchBean.class, new HashMap<>());
+        Assert.assertTrue(events.indexOf("commit") < events.indexOf("close"));
+        Assert.assertEquals(Collections.singletonList(200), fake.fetchSizes);
+    }
+
+    @Test
+    public void test29() throws Exception {
+        // 出错的查询：list 或 count，它在另一个查询开始执行后出错，另一个查询阻塞直到被取消
+        String[] failing = { null };
+        CountDownLatch[] executing = { null };
+        CountDownLatch[] cancelled = { null };
+        FakeDataSource fake = new FakeDataSource((sql, params) -> {
+            boolean count = sql.contains("count(*)");
+            if (failing[0] != null) {
+                if (failing[0].equals(count ? "count" : "list")) {
+                    executing[0].await(5, java.util.concurrent.TimeUnit.SECONDS);
+                    throw new SQLException(failing[0] + " failed");
+                }
+                executing[0].countDown();
+                if (!cancelled[0].await(5, java.util.concurrent.TimeUnit.SECONDS)) {
+                    throw new SQLException("not cancelled");
+                }
+                throw new SQLException("cancelled");
+            }
+            return count ? FakeDataSource.count(2L) : FakeDataSource.rows(new String[] { "c_0", "c_1" },
+                    new Object[] { 1L, "a" }, new Object[] { 2L, "b" });
+        });
+        fake.onCancel = () -> cancelled[0].countDown();
+        DefaultSqlExecutor sqlExecutor = new DefaultSqlExecutor(fake.dataSource());
+        java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newCachedThreadPool();
+        sqlExecutor.setConcurrentExecutor(pool);
+        MapSearcher mapSearcher = SearcherBuilder.mapSearcher().sqlExecutor(sqlExecutor).build();
+        try {
+            SearchResult<Map<String, Object>> result = mapSearcher.search(SearchBean.class, new HashMap<>());
+            Assert.assertEquals(2L, result.getTotalCount());
+            Assert.assertEquals(2, result.getDataList().size());
+            Assert.assertArrayEquals(new int[] { 2, 2 }, fake.connections());
+            for (String query : new String[] { "list", "count" }) {
+                failing[0] = query;
+                executing[0] = new CountDownLatch(1);
+                cancelled[0] = new CountDownLatch(1);
+                fake.opened.set(0);
+                fake.closed.set(0);
+                try {
+                    mapSearcher.search(SearchBean.class, new HashMap<>());
+                    Assert.fail();
+                } catch (SearchException e) {
+                    // 抛出出错的查询的异常，另一个查询被取消
+                    Assert.assertEquals(query + " failed", e.getCause().getMessage());
+                    Assert.assertEquals(1, e.getCause().getSuppressed().length);
+                    Assert.assertEquals("cancelled", e.getCause().getSuppressed()[0].getMessage());
+                }
+                // 两个连接各关闭一次
+                Assert.assertArrayEquals(new int[] { 2, 2 }, fake.connections());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void test30() {
+        ResultCache resultCache = new DefaultResultCache();
+        List<String> listSqls = new ArrayList<>();
+        SqlExecutor sqlExecutor = new SqlExecutor() {
+            @Override
+            public <T> SqlResult<T> execute(SearchSql<T> searchSql) {
+                listSqls.add(searchSql.getListSqlString());
+                if (listSqls.size() == 1) {
+                    // 检索执行期间，其它线程写入了 roles 表并使其缓存失效
+                    resultCache.evictByTable("roles");
+                }
+                return new SqlResult<>(searchSql);
+            }
+        };
+        BeanSearcher beanSearcher = SearcherBuilder.beanSearcher().sqlExecutor(sqlExecutor).resultCache(resultCache).build();
+        Map<String, Object> params = MapUtils.builder().field("id", 1).build();
+        // 失效前查出的结果不会被缓存
+        beanSearcher.searchList(UserBean.class, params);
+        beanSearcher.searchList(UserBean.class, params);
+        Assert.assertEquals(2, listSqls.size());
+        beanSearcher.searchList(UserBean.class, params);
+        Assert.assertEquals(2, listSqls.size());
+        // 缓存层面：版本在获取之后改变，则不写入
+        ResultCache.Key key = new ResultCache.Key(BeanSearcher.class, new SearchSql<>(new DefaultMetaResolver().resolve(UserBean.class), Collections.emptyList()));
+        Set<String> tags = Collections.singleton("users");
+        long version = resultCache.version(tags);
+        resultCache.clear();
+        resultCache.put(key, new SearchResult<>(), tags, 60, version);
+        Assert.assertNull(resultCache.get(key));
+        resultCache.put(key, new SearchResult<>(), tags, 60, resultCache.version(tags));
+        Assert.assertNotNull(resultCache.get(key));
+        // 其它表失效不影响
+        version = resultCache.version(tags);
+        resultCache.evictByTable("roles");
+        Assert.assertEquals(version, resultCache.version(tags));
+    }
+
+    @Test
+    public void test31() throws Exception {
+        FakeDataSource fake = new FakeDataSource((sql, params) -> sql.contains("count(*)") ? FakeDataSource.count(2L)
+                : FakeDataSource.rows(new String[] { "c_0", "c_1" }, new Object[] { 1L, "张三" }, new Object[] { 2L, "李四" }));
+        MapSearcher target = SearcherBuilder.mapSearcher()
+                .sqlExecutor(new DefaultSqlExecutor(fake.dataSource()))
+                .build();
+        // 只实现 v3.3.0 之前的方法的检索器（如装饰器），其它方法使用默认实现
+        MapSearcher decorator = new MapSearcher() {
+            @Override
+            public <T> SearchResult<Map<String, Object>> search(Class<T> beanClass, Map<String, Object> paraMap) {
+                return target.search(beanClass, paraMap);
+            }
+            @Override
+            public <T> SearchResult<Map<String, Object>> search(Class<T> beanClass, Map<String, Object> paraMap, String[] summaryFields) {
+                return target.search(beanClass, paraMap, summaryFields);
+            }
+            @Override
+            public <T> Map<String, Object> searchFirst(Class<T> beanClass, Map<String, Object> paraMap) {
+                return target.searchFirst(beanClass, paraMap);
+            }
+            @Override
+            public <T> List<Map<String, Object>> searchList(Class<T> beanClass, Map<String, Object> paraMap) {
+                return target.searchList(beanClass, paraMap);
+            }
+            @Override
+            public <T> List<Map<String, Object>> searchAll(Class<T> beanClass, Map<String, Object> paraMap) {
+                return target.searchAll(beanClass, paraMap);
+            }
+            @Override
+            public <T> Number searchCount(Class<T> beanClass, Map<String, Object> paraMap) {
+                return target.searchCount(beanClass, paraMap);
+            }
+            @Override
+            public <T> Number searchSum(Class<T> beanClass, Map<String, Object> paraMap, String field) {
+                return target.searchSum(beanClass, paraMap, field);
+            }
+            @Override
+            public <T> Number[] searchSum(Class<T> beanClass, Map<String, Object> paraMap, String[] fields) {
+                return target.searchSum(beanClass, paraMap, fields);
+            }
+        };
+        Map<String, Object> params = MapUtils.builder().onlySelect("name").build();
+        // 默认的 JSON 输出与直接写出的结构一致，输出流以 UTF-8 编码
+        java.io.StringWriter expected = new java.io.StringWriter();
+        target.searchJson(SearchBean.class, params, expected);
+        java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream();
+        decorator.searchJson(SearchBean.class, params, out);
+        Assert.assertEquals(expected.toString(), new String(out.toByteArray(), java.nio.charset.StandardCharsets.UTF_8));
+        out.reset();
+        target.searchAllJson(SearchBean.class, params, out);
+        Assert.assertEquals("[{\"name\":\"张三\"},{\"name\":\"李四\"}]", new String(out.toByteArray(), java.nio.charset.StandardCharsets.UTF_8));
+        out.reset();
+        decorator.searchAllJson(SearchBean.class, params, out);
+        Assert.assertEquals("[{\"name\":\"张三\"},{\"name\":\"李四\"}]", new String(out.toByteArray(), java.nio.charset.StandardCharsets.UTF_8));
+        // 异步与批量检索
+        Assert.assertEquals(2, decorator.searchListAsync(SearchBean.class, params).get().size());
+        Assert.assertEquals(2L, decorator.searchCountAsync(SearchBean.class, params).get());
+        SearchBatch<MapSearcher> batch = decorator.batch();
+        SearchBatch.Result<Number> count = batch.addCount(SearchBean.class, params);
+        SearchBatch.Result<List<Map<String, Object>>> list = batch.add(s -> s.searchList(SearchBean.class, params));
+        batch.execute();
+        Assert.assertEquals(2L, count.get());
+        Assert.assertEquals(2, list.get().size());
+        // 默认不支持流式检索
+        try {
+            decorator.forEach(SearchBean.class, params, map -> { });
+            Assert.fail();
+        } catch (SearchException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("does not support streaming"));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void test32() {
+        // 覆盖了 v3.3.0 之前的扩展方法的子类仍然生效
+        DefaultSqlResolver sqlResolver = new DefaultSqlResolver() {
+            @Override
+            protected String resolveTables(SqlSnippet tableSnippet, SearchParam searchParam, List<String> jdbcParams) {
+                return "app." + super.resolveTables(tableSnippet, searchParam, jdbcParams);
+            }
+            @Override
+            protected String resolveDbField(SqlSnippet dbFieldSnippet, SearchParam searchParam, List<String> jdbcParams) {
+                return "t." + super.resolveDbField(dbFieldSnippet, searchParam, jdbcParams);
+            }
+        };
+        List<String> listSqls = new ArrayList<>();
+        SqlExecutor sqlExecutor = new SqlExecutor() {
+            @Override
+            public <T> SqlResult<T> execute(SearchSql<T> searchSql) {
+                listSqls.add(searchSql.getListSqlString());
+                return new SqlResult<>(searchSql);
+            }
+        };
+        BeanSearcher beanSearcher = SearcherBuilder.beanSearcher().sqlResolver(sqlResolver).sqlExecutor(sqlExecutor).build();
+        beanSearcher.searchAll(SearchBean.class, MapUtils.builder().onlySelect("id").build());
+        Assert.assertEquals(Collections.singletonList("select t.id c_0 from app.search_bean"), listSqls);
+    }
+
+    @Test
+    public void test33() {
+        FakeDataSource fake = new FakeDataSource((sql, params) -> FakeDataSource.rows(new String[] { "c_0", "c_1" },
+                new Object[] { 1L, "a" }, new Object[] { 2L, "b" }));
+        List<String> records = Collections.synchronizedList(new ArrayList<>());
+        SearchMetrics metrics = new SearchMetrics() {
+            @Override
+            public void recordTime(Class<?> beanClass, Stage stage, long nanos) {
+                Assert.assertTrue(nanos >= 0);
+                records.add(beanClass.getSimpleName() + ":" + stage);
+            }
+            @Override
+            public void recordRows(Class<?> beanClass, int rows) {
+                records.add(beanClass.getSimpleName() + ":" + rows);
+            }
+        };
+        SlowSearchLog slowSearchLog = new SlowSearchLog();
+        slowSearchLog.setThreshold(0);
+        BeanSearcher beanSearcher = SearcherBuilder.beanSearcher()
+                .sqlExecutor(new DefaultSqlExecutor(fake.dataSource()))
+                .metrics(metrics)
+                .slowSearchLog(slowSearchLog)
+                .build();
+        List<Long> ids = new ArrayList<>();
+        beanSearcher.forEach(SearchBean.class, new HashMap<>(), bean -> {
+            // 消费数据时还未记录结果映射
+            Assert.assertFalse(records.contains("SearchBean:RESULT_MAPPING"));
+            ids.add(bean.getId());
+        });
+        Assert.assertEquals(Arrays.asList(1L, 2L), ids);
+        // 数据流关闭时记录结果映射的耗时、行数与慢检索
+        Assert.assertEquals(Arrays.asList("SearchBean:RESULT_MAPPING", "SearchBean:2"), records.subList(records.size() - 2, records.size()));
+        Assert.assertEquals(1, slowSearchLog.getSlowest().size());
+        Assert.assertEquals(2, slowSearchLog.getSlowest().get(0).getRows());
+        Assert.assertArrayEquals(new int[] { 1, 1 }, fake.connections());
+    }
+
 }